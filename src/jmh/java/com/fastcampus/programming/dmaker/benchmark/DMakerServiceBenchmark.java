@@ -0,0 +1,198 @@
+package com.fastcampus.programming.dmaker.benchmark;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperPage;
+import com.fastcampus.programming.dmaker.dto.EditDeveloper;
+import com.fastcampus.programming.dmaker.dto.SearchDeveloper;
+import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
+import com.fastcampus.programming.dmaker.service.DMakerService;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEFAULT_PAGE_LIMIT;
+
+/**
+ * @Author: kbs
+ */
+//H2에 rows건이 있을 때 service 주요 경로의 latency.
+//- createDeveloper: unique index가 커져도 INSERT 비용이 유지되는지
+//  createDeveloperWithSelectFirst: 예전 방식 (memberId로 SELECT 해서 중복 확인 후 save, round trip 2번).
+//  지금은 memberId index가 있으므로 SELECT도 index를 탐 (index가 없던 예전에는 full scan)
+//- getEmployedDevelopers: 메모리 roster snapshot vs 같은 페이지를 repository(DB)에서 읽는 경우
+//  FromEntities: 같은 페이지를 entity로 읽어서 DeveloperDto로 바꾸는 예전 방식.
+//  -prof gc로 돌려서 FromRepository(DTO projection)와 gc.alloc.rate.norm 비교
+//- getDeveloperDetail: 임의의 memberId (cache 크기보다 rows가 크면 대부분 miss)
+//- searchDevelopers: 복합 index를 타는 검색
+//- *WithWrites group: 다른 thread가 계속 수정하는 중에 목록 조회 (snapshot은 lock 없이 읽음)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DMakerServiceBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private DMakerService dMakerService;
+    private DeveloperRepository developerRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate readOnlyTransactionTemplate;
+    private final AtomicLong createdCount = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededApplication.start(rows);
+        dMakerService = context.getBean(DMakerService.class);
+        developerRepository = context.getBean(DeveloperRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+
+    @Benchmark
+    public CreateDeveloper.Response createDeveloper() {
+        return dMakerService.createDeveloper(CreateDeveloper.Request.builder()
+                .developerLevel(DeveloperLevel.SENIOR)
+                .developerSkillType(DeveloperSkillType.BACK_END)
+                .experienceYears(12)
+                .memberId("bench" + createdCount.incrementAndGet())
+                .name("name")
+                .age(32)
+                .build());
+    }
+
+    //예전 createDeveloper: findByMemberId로 중복 확인 -> save (flush는 commit 때)
+    @Benchmark
+    public CreateDeveloper.Response createDeveloperWithSelectFirst() {
+        String memberId = "bench" + createdCount.incrementAndGet();
+        return transactionTemplate.execute(status -> {
+            if (!entityManager.createQuery(
+                    "select d from Developer d where d.memberId = :memberId", Developer.class)
+                    .setParameter("memberId", memberId)
+                    .getResultList().isEmpty())
+                throw new IllegalStateException("duplicated memberId: " + memberId);
+            return CreateDeveloper.Response.fromEntity(developerRepository.save(Developer.builder()
+                    .developerLevel(DeveloperLevel.SENIOR)
+                    .developerSkillType(DeveloperSkillType.BACK_END)
+                    .experienceYears(12)
+                    .memberId(memberId)
+                    .statusCode(StatusCode.EMPLOYED)
+                    .name("name")
+                    .age(32)
+                    .build()));
+        });
+    }
+
+    @Benchmark
+    public DeveloperPage getEmployedDevelopersFromRoster() {
+        return dMakerService.getEmployedDevelopers(randomId(), DEFAULT_PAGE_LIMIT);
+    }
+
+    @Benchmark
+    public List<DeveloperDto> getEmployedDevelopersFromRepository() {
+        return developerRepository.findDtosByStatusCodeAndIdGreaterThan(
+                StatusCode.EMPLOYED, randomId(), PageRequest.of(0, DEFAULT_PAGE_LIMIT));
+    }
+
+    //findDtosByStatusCodeAndIdGreaterThan과 같은 페이지를 entity로 읽음 (persistence context에 올라감)
+    @Benchmark
+    public List<DeveloperDto> getEmployedDevelopersFromEntities() {
+        long id = randomId();
+        return readOnlyTransactionTemplate.execute(status -> entityManager.createQuery(
+                "select d from Developer d where d.statusCode = :statusCode and d.id > :id "
+                        + "order by d.statusCode, d.id", Developer.class)
+                .setParameter("statusCode", StatusCode.EMPLOYED)
+                .setParameter("id", id)
+                .setMaxResults(DEFAULT_PAGE_LIMIT)
+                .getResultList().stream()
+                .map(DeveloperDto::fromEntity)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public DeveloperDetailDto getDeveloperDetail() {
+        return dMakerService.getDeveloperDetail("member" + randomId());
+    }
+
+    @Benchmark
+    public DeveloperPage searchDevelopers() {
+        return dMakerService.searchDevelopers(SearchDeveloper.Request.builder()
+                .level(DeveloperLevel.SENIOR)
+                .skill(DeveloperSkillType.BACK_END)
+                .minYears(10)
+                .maxYears(15)
+                .status(StatusCode.EMPLOYED)
+                .limit(DEFAULT_PAGE_LIMIT)
+                .build());
+    }
+
+    //읽기 3 thread + 수정 1 thread
+    @Benchmark
+    @Group("rosterWithWrites")
+    @GroupThreads(3)
+    public DeveloperPage readRosterWhileWriting() {
+        return getEmployedDevelopersFromRoster();
+    }
+
+    @Benchmark
+    @Group("rosterWithWrites")
+    @GroupThreads(1)
+    public DeveloperDetailDto writeWhileReadingRoster() {
+        return editRandomDeveloper();
+    }
+
+    @Benchmark
+    @Group("repositoryWithWrites")
+    @GroupThreads(3)
+    public List<DeveloperDto> readRepositoryWhileWriting() {
+        return getEmployedDevelopersFromRepository();
+    }
+
+    @Benchmark
+    @Group("repositoryWithWrites")
+    @GroupThreads(1)
+    public DeveloperDetailDto writeWhileReadingRepository() {
+        return editRandomDeveloper();
+    }
+
+    //SENIOR 연차 10~20 사이에서 바꿈 (퇴직자는 seed에서 10의 배수이므로 피함)
+    private DeveloperDetailDto editRandomDeveloper() {
+        long id = randomId();
+        if (id % 10 == 0) id--;
+        return dMakerService.editDeveloper("member" + id, EditDeveloper.Request.builder()
+                .developerLevel(DeveloperLevel.SENIOR)
+                .developerSkillType(DeveloperSkillType.FULL_STACK)
+                .experienceYears(10 + (int) (id % 11))
+                .build(), null);
+    }
+}
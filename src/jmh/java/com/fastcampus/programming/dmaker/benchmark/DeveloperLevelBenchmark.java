@@ -0,0 +1,62 @@
+package com.fastcampus.programming.dmaker.benchmark;
+
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.LEVEL_EXPERIENCE_YEARS_NOT_MATCHED;
+
+/**
+ * @Author: kbs
+ */
+//생성/수정 요청마다 호출되는 레벨-연차 검증.
+//연차가 맞지 않으면 exception을 던지므로 성공/실패 비용을 따로 잼.
+//-prof gc (build.gradle의 jmh profilers)로 gc.alloc.rate.norm(B/op)을 같이 보면
+//검증/실패 한 번에 할당이 얼마나 생기는지 알 수 있음 (int 범위 비교 + 미리 만든 exception이면 0)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeveloperLevelBenchmark {
+    @Param({"NEW", "JUNIOR", "JUNGNIOR", "SENIOR"})
+    private DeveloperLevel developerLevel;
+
+    //0~20년 (request validation 범위)
+    private static final int YEARS = 21;
+    private int index;
+
+    private int nextYears() {
+        index = (index + 1) % YEARS;
+        return index;
+    }
+
+    @Benchmark
+    public void validateMatched() {
+        //레벨별로 항상 맞는 연차
+        developerLevel.validateExperienceYears(
+                developerLevel == DeveloperLevel.NEW ? 0
+                        : developerLevel == DeveloperLevel.JUNIOR ? 3
+                        : developerLevel == DeveloperLevel.JUNGNIOR ? 7 : 15);
+    }
+
+    //0~20년을 돌면서 검증 (일부는 실패 -> exception 생성 비용 포함)
+    @Benchmark
+    public void validateMixed(Blackhole blackhole) {
+        try {
+            developerLevel.validateExperienceYears(nextYears());
+        } catch (DMakerException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    //비교용: stack trace를 채우는 일반 exception (예전 DMakerException 생성 비용)
+    @Benchmark
+    public Object stackTraceException() {
+        return new RuntimeException(LEVEL_EXPERIENCE_YEARS_NOT_MATCHED.getMessage());
+    }
+}
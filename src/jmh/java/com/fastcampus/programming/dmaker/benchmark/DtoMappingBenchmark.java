@@ -0,0 +1,56 @@
+package com.fastcampus.programming.dmaker.benchmark;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Author: kbs
+ */
+//entity -> 응답 DTO 변환. 목록/상세/생성 응답마다 한번씩 (목록은 건수만큼) 일어남.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+    private Developer developer;
+
+    @Setup
+    public void setUp() {
+        developer = Developer.builder()
+                .id(1L)
+                .developerLevel(DeveloperLevel.SENIOR)
+                .developerSkillType(DeveloperSkillType.BACK_END)
+                .experienceYears(12)
+                .memberId("memberId1")
+                .name("name")
+                .age(32)
+                .statusCode(StatusCode.EMPLOYED)
+                .version(0L)
+                .build();
+    }
+
+    @Benchmark
+    public DeveloperDto developerDto() {
+        return DeveloperDto.fromEntity(developer);
+    }
+
+    @Benchmark
+    public DeveloperDetailDto developerDetailDto() {
+        return DeveloperDetailDto.fromEntity(developer);
+    }
+
+    @Benchmark
+    public CreateDeveloper.Response createDeveloperResponse() {
+        return CreateDeveloper.Response.fromEntity(developer);
+    }
+}
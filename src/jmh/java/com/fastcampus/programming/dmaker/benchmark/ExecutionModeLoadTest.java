@@ -0,0 +1,134 @@
+package com.fastcampus.programming.dmaker.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @Author: kbs
+ */
+//dmaker.execution.mode 별 처리량 비교 (JMH가 아닌 HTTP 부하 테스트)
+//mode 마다 application을 띄우고, clients개의 client가 응답을 받자마자 다음 요청을 보냄 (closed loop).
+//요청: GET /developers/search (항상 DB 조회)
+//
+//./gradlew loadTest -Pclients=2000 -Pseconds=30 -Pmodes=direct,platform,virtual
+//virtual은 JDK 21 이상에서 실행해야 의미 있음 (아니면 platform으로 동작)
+public class ExecutionModeLoadTest {
+    private static final int ROWS = 100_000;
+    //latency 분포: 1ms 단위, 60초 이상은 마지막 칸
+    private static final int LATENCY_BUCKETS = 60_000;
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.parseInt(System.getProperty("clients", "2000"));
+        int seconds = Integer.parseInt(System.getProperty("seconds", "30"));
+        String[] modes = System.getProperty("modes", "direct,platform,virtual").split(",");
+
+        System.out.printf("%-10s %8s %10s %8s %8s %8s %8s%n",
+                "mode", "clients", "ok/s", "429", "errors", "p50(ms)", "p99(ms)");
+        for (String mode : modes) {
+            ConfigurableApplicationContext context = SeededApplication.start(
+                    ROWS, WebApplicationType.SERVLET,
+                    "--server.port=0",
+                    //2000 connection을 받을 수 있게
+                    "--server.tomcat.max-connections=10000",
+                    "--server.tomcat.accept-count=2000",
+                    //모든 client가 localhost라 rate limit/load shedding은 끄고 execution mode만 비교
+                    "--dmaker.rate-limit.enabled=false",
+                    "--dmaker.load-shedding.max-concurrent-requests=0",
+                    "--dmaker.execution.mode=" + mode);
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                //warm up 후 측정
+                run(port, clients, Math.max(5, seconds / 5));
+                Result result = run(port, clients, seconds);
+                System.out.printf("%-10s %8d %10.1f %8d %8d %8d %8d%n",
+                        mode, clients, (double) result.okCount.get() / seconds, result.rejectedCount.get(),
+                        result.errorCount.get(), result.percentile(0.5), result.percentile(0.99));
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static Result run(int port, int clients, int seconds) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        Result result = new Result();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            loops[i] = loop(httpClient, port, deadline, result);
+        }
+        CompletableFuture.allOf(loops).join();
+        return result;
+    }
+
+    //응답이 오면 deadline 전까지 다음 요청을 계속 보냄
+    private static CompletableFuture<Void> loop(
+            HttpClient httpClient, int port, long deadline, Result result
+    ) {
+        if (System.nanoTime() >= deadline) return CompletableFuture.completedFuture(null);
+
+        long after = ThreadLocalRandom.current().nextLong(ROWS);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/developers/search?level=SENIOR&minYears=10&maxYears=15&limit=20&after=" + after))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, e) -> {
+                    result.record(response == null ? -1 : response.statusCode(),
+                            System.nanoTime() - start);
+                    return null;
+                })
+                .thenCompose(ignored -> loop(httpClient, port, deadline, result));
+    }
+
+    private static class Result {
+        private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_BUCKETS);
+        private final AtomicLong okCount = new AtomicLong();
+        private final AtomicLong rejectedCount = new AtomicLong();
+        private final AtomicLong errorCount = new AtomicLong();
+
+        void record(int status, long elapsedNanos) {
+            if (status == 200) {
+                okCount.incrementAndGet();
+                int bucket = (int) Math.min(elapsedNanos / 1_000_000, LATENCY_BUCKETS - 1);
+                latencies.incrementAndGet(bucket);
+            } else if (status == 429) {
+                rejectedCount.incrementAndGet();
+            } else {
+                errorCount.incrementAndGet();
+            }
+        }
+
+        //성공한 요청의 latency percentile (ms)
+        long percentile(double percentile) {
+            long[] counts = new long[LATENCY_BUCKETS];
+            for (int i = 0; i < counts.length; i++) counts[i] = latencies.get(i);
+            long total = Arrays.stream(counts).sum();
+            long target = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target && seen > 0) return i;
+            }
+            return LATENCY_BUCKETS - 1;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.fastcampus.programming.dmaker.benchmark;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Author: kbs
+ */
+//목록 응답 JSON 직렬화. 한 페이지(100) ~ 최대 페이지(1000) 크기.
+//- listAsBytes: 일반 GET /developers 응답 (List 전체를 한번에)
+//- listAsStream: GET /developers/stream 처럼 generator로 한 건씩 써서 내려보내는 경우
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<DeveloperDto> developers;
+    private ByteArrayOutputStream outputStream;
+
+    @Setup
+    public void setUp() {
+        //spring boot가 만드는 ObjectMapper와 같은 기본 설정
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(
+                objectMapper.getTypeFactory().constructCollectionType(List.class, DeveloperDto.class));
+        developers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            developers.add(DeveloperDto.builder()
+                    .id((long) i)
+                    .developerLevel(DeveloperLevel.values()[i % DeveloperLevel.values().length])
+                    .developerSkillType(DeveloperSkillType.values()[i % DeveloperSkillType.values().length])
+                    .memberId("memberId" + i)
+                    .build());
+        }
+        outputStream = new ByteArrayOutputStream(size * 128);
+    }
+
+    @Benchmark
+    public byte[] listAsBytes() throws IOException {
+        return listWriter.writeValueAsBytes(developers);
+    }
+
+    @Benchmark
+    public int listAsStream() throws IOException {
+        outputStream.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            for (DeveloperDto developer : developers) generator.writeObject(developer);
+            generator.writeEndArray();
+        }
+        return outputStream.size();
+    }
+}
@@ -0,0 +1,125 @@
+package com.fastcampus.programming.dmaker.benchmark;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
+import com.fastcampus.programming.dmaker.dto.EditDeveloper;
+import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
+import com.fastcampus.programming.dmaker.service.DMakerService;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Author: kbs
+ */
+//hibernate 2차 cache on/off 별 memberId 조회(수정/퇴직에서 entity를 읽는 경로)와 수정의 latency.
+//- findByMemberIdHot: 자주 쓰이는 HOT_MEMBERS명 안에서 (cache에 다 들어감 -> 대부분 hit)
+//- findByMemberIdUniform: 전체 rows에서 임의로 (maximum-size보다 rows가 크면 대부분 miss)
+//  miss면 memberId -> id, id -> entity SQL 두번이라 cache가 꺼져 있을 때(query 한번)보다 느림
+//- editDeveloper: 읽기 + UPDATE. cache가 켜져 있으면 commit 후 cache 갱신 비용이 더해짐
+//iteration 별 hit/miss, SQL 수는 CacheCounters로 결과에 같이 남음 (results.json의 secondaryMetrics)
+//./gradlew jmh -PjmhIncludes=SecondLevelCacheBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SecondLevelCacheBenchmark {
+    private static final int HOT_MEMBERS = 1000;
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private DMakerService dMakerService;
+    private DeveloperRepository developerRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededApplication.start(rows, WebApplicationType.NONE,
+                "--dmaker.cache.second-level.enabled=" + secondLevelCache);
+        dMakerService = context.getBean(DMakerService.class);
+        developerRepository = context.getBean(DeveloperRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    //iteration 동안의 hibernate statistics. 숫자로 남아야 run 별로 비교할 수 있음
+    //(thread 하나로 돌리므로 statistics 전체가 이 thread의 값)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CacheCounters {
+        public long naturalIdHits;
+        public long naturalIdMisses;
+        public long entityHits;
+        public long entityMisses;
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void clear(SecondLevelCacheBenchmark benchmark) {
+            benchmark.statistics.clear();
+        }
+
+        @TearDown(Level.Iteration)
+        public void read(SecondLevelCacheBenchmark benchmark) {
+            Statistics statistics = benchmark.statistics;
+            naturalIdHits = statistics.getNaturalIdCacheHitCount();
+            naturalIdMisses = statistics.getNaturalIdCacheMissCount();
+            entityHits = statistics.getSecondLevelCacheHitCount();
+            entityMisses = statistics.getSecondLevelCacheMissCount();
+            statements = statistics.getPrepareStatementCount();
+        }
+    }
+
+    //퇴직자는 seed에서 10의 배수이므로 피함 (수정 가능한 재직자만)
+    private static long employedId(long id) {
+        return id % 10 == 0 ? id - 1 : id;
+    }
+
+    private Developer find(long id) {
+        return transactionTemplate.execute(status ->
+                developerRepository.findByMemberId("member" + id).orElseThrow(IllegalStateException::new));
+    }
+
+    @Benchmark
+    public Developer findByMemberIdHot(CacheCounters counters) {
+        return find(employedId(ThreadLocalRandom.current().nextLong(1, HOT_MEMBERS + 1)));
+    }
+
+    @Benchmark
+    public Developer findByMemberIdUniform(CacheCounters counters) {
+        return find(ThreadLocalRandom.current().nextLong(1, rows + 1));
+    }
+
+    //SENIOR 연차 10~20 사이에서 바꿈 (값이 같으면 UPDATE가 안 나감)
+    @Benchmark
+    public DeveloperDetailDto editDeveloper(CacheCounters counters) {
+        long id = employedId(ThreadLocalRandom.current().nextLong(1, HOT_MEMBERS + 1));
+        return dMakerService.editDeveloper("member" + id, EditDeveloper.Request.builder()
+                .developerLevel(DeveloperLevel.SENIOR)
+                .developerSkillType(DeveloperSkillType.FULL_STACK)
+                .experienceYears(10 + ThreadLocalRandom.current().nextInt(11))
+                .build(), null);
+    }
+}
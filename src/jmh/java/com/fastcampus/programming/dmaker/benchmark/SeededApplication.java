@@ -0,0 +1,65 @@
+package com.fastcampus.programming.dmaker.benchmark;
+
+import com.fastcampus.programming.dmaker.DmakerApplication;
+import com.fastcampus.programming.dmaker.service.EmployedDeveloperRoster;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ID_ALLOCATION_SIZE;
+
+/**
+ * @Author: kbs
+ */
+//benchmark용으로 application을 띄우고 H2에 개발자 rows건을 넣어둠.
+//JPA로 한 건씩 넣으면 1M건에 너무 오래 걸리므로 INSERT ... SELECT 한번으로 생성.
+//- memberId: member1 ~ member{rows}
+//- 연차 0~20년을 돌아가며, 레벨은 연차에 맞게. 10명 중 1명은 퇴직(RETIRED)
+final class SeededApplication {
+    private SeededApplication() {
+    }
+
+    static ConfigurableApplicationContext start(int rows) {
+        return start(rows, WebApplicationType.NONE);
+    }
+
+    //args: 추가 설정 (ex. --server.port=0)
+    static ConfigurableApplicationContext start(
+            int rows, WebApplicationType webApplicationType, String... args
+    ) {
+        SpringApplication application = new SpringApplication(DmakerApplication.class);
+        application.setWebApplicationType(webApplicationType);
+        String[] defaultArgs = {
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                "--logging.level.root=warn"
+        };
+        String[] allArgs = Arrays.copyOf(defaultArgs, defaultArgs.length + args.length);
+        System.arraycopy(args, 0, allArgs, defaultArgs.length, args.length);
+        ConfigurableApplicationContext context = application.run(allArgs);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into developer (id, member_id, name, age, "
+                + "developer_level, developer_skill_type, experience_years, status_code, "
+                + "version, created_at, updated_at) "
+                + "select x, 'member' || x, 'name' || x, 20 + mod(x, 40), "
+                + "case when mod(x, 21) = 0 then 'NEW' when mod(x, 21) <= 4 then 'JUNIOR' "
+                + "when mod(x, 21) < 10 then 'JUNGNIOR' else 'SENIOR' end, "
+                + "mod(x, 3), mod(x, 21), "
+                + "case when mod(x, 10) = 0 then 'RETIRED' else 'EMPLOYED' end, "
+                + "0, current_timestamp, current_timestamp "
+                + "from system_range(1, ?)", rows);
+        //pooled sequence: 다음 값 - allocationSize 부터 id로 쓰므로 그만큼 띄워서 시작
+        jdbcTemplate.execute("alter sequence developer_seq restart with "
+                + (rows + ID_ALLOCATION_SIZE + 1));
+        jdbcTemplate.execute("analyze");
+
+        //시작할 때 만든 roster는 빈 DB 기준이므로 다시 만듦
+        context.getBean(EmployedDeveloperRoster.class).rebuild();
+        return context;
+    }
+}
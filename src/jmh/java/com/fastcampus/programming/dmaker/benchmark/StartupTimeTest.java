@@ -0,0 +1,114 @@
+package com.fastcampus.programming.dmaker.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Author: kbs
+ */
+//기동 설정 별 time-to-first-request 비교 (JMH가 아닌 별도 JVM을 띄워서 측정)
+//process 시작부터 GET /developers가 처음 200을 받을 때까지 (JVM 기동 + spring 기동 + 첫 요청 처리).
+//- default: 기본 설정 (flyway + validate, SQL log)
+//- prod: prod profile (lazy initialization, deferred repository, SQL log 끔)
+//- prod-cds: prod + AppCDS archive (./gradlew cdsArchive 로 먼저 만들어야 함)
+//
+//./gradlew cdsArchive startupTest -Pruns=10 -Pvariants=default,prod,prod-cds
+public class StartupTimeTest {
+    private static final String MAIN_CLASS = "com.fastcampus.programming.dmaker.DmakerApplication";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.parseInt(System.getProperty("runs", "10"));
+        String[] variants = System.getProperty("variants", "default,prod,prod-cds").split(",");
+        String appClasspath = System.getProperty("appClasspath", System.getProperty("java.class.path"));
+        String cdsArchive = System.getProperty("cdsArchive", "build/cds/dmaker.jsa");
+
+        System.out.printf("%-10s %6s %8s %8s %8s%n", "variant", "runs", "min(ms)", "p50(ms)", "max(ms)");
+        for (String variant : variants) {
+            if (variant.endsWith("cds") && !Files.exists(Paths.get(cdsArchive))) {
+                System.out.printf("%-10s skipped: %s not found (./gradlew cdsArchive)%n", variant, cdsArchive);
+                continue;
+            }
+            //첫 번째는 OS file cache를 채우는 용도로 버림
+            timeToFirstRequest(command(variant, appClasspath, cdsArchive));
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstRequest(command(variant, appClasspath, cdsArchive));
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-10s %6d %8d %8d %8d%n",
+                    variant, runs, millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+    }
+
+    private static List<String> command(String variant, String appClasspath, String cdsArchive)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (variant.endsWith("cds")) {
+            //archive를 못 쓰면 조용히 넘어가지 않고 실패하도록 on
+            command.add("-Xshare:on");
+            command.add("-XX:SharedArchiveFile=" + cdsArchive);
+        }
+        command.add("-cp");
+        command.add(appClasspath);
+        command.add(MAIN_CLASS);
+        if (variant.startsWith("prod")) command.add("--spring.profiles.active=prod");
+        command.add("--server.port=" + freePort());
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+
+    //첫 200 응답까지 걸린 시간 (ms). 띄운 process는 측정 후 종료
+    private static long timeToFirstRequest(List<String> command) throws Exception {
+        String port = command.get(command.size() - 1).substring("--server.port=".length());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/developers"))
+                .timeout(STARTUP_TIMEOUT)
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive())
+                    throw new IllegalStateException("application exited with " + process.exitValue());
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                } catch (ConnectException e) {
+                    //아직 port가 안 열림
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("no response within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.fastcampus.programming.dmaker.benchmark;
+
+import com.fastcampus.programming.dmaker.config.DeveloperColumnsCborConverter;
+import com.fastcampus.programming.dmaker.dto.DeveloperColumns;
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @Author: kbs
+ */
+//GET /developers 응답 형식 별 직렬화 CPU와 byte 수 (gzip은 Tomcat 압축과 같은 기본 level)
+//- json: 지금까지의 [{"developerLevel":..,"developerSkillType":..,"memberId":..}, ...]
+//- columnar: application/vnd.dmaker.columnar+json (필드 이름 한번)
+//- cbor: application/cbor (열 단위 + enum ordinal)
+//byte 수는 ResponseSize로 결과에 같이 남음 (results.json의 secondaryMetrics)
+//./gradlew jmh -PjmhIncludes=WireFormatBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"json", "columnar", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectWriter writer;
+    private Object body;
+    private ByteArrayOutputStream outputStream;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<DeveloperDto> developers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            developers.add(DeveloperDto.builder()
+                    .id((long) i)
+                    .developerLevel(DeveloperLevel.values()[i % DeveloperLevel.values().length])
+                    .developerSkillType(DeveloperSkillType.values()[i % DeveloperSkillType.values().length])
+                    .memberId("memberId" + i)
+                    .build());
+        }
+
+        //spring boot 기본 ObjectMapper 설정, CBOR은 실제 converter의 ObjectMapper
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        switch (format) {
+            case "json":
+                writer = jsonMapper.writerFor(jsonMapper.getTypeFactory()
+                        .constructCollectionType(List.class, DeveloperDto.class));
+                body = developers;
+                break;
+            case "columnar":
+                writer = jsonMapper.writerFor(DeveloperColumns.class);
+                body = DeveloperColumns.from(developers);
+                break;
+            default:
+                ObjectMapper cborMapper = new DeveloperColumnsCborConverter().getObjectMapper();
+                writer = cborMapper.writerFor(DeveloperColumns.class);
+                body = DeveloperColumns.from(developers);
+        }
+        outputStream = new ByteArrayOutputStream(size * 128);
+    }
+
+    //응답 body 하나의 byte 수. 입력이 고정이라 매번 같은 값
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ResponseSize {
+        public long bytes;
+    }
+
+    @Benchmark
+    public int serialize(ResponseSize responseSize) throws IOException {
+        outputStream.reset();
+        if (gzip) {
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+                writer.writeValue(gzipOutputStream, body);
+            }
+        } else {
+            writer.writeValue(outputStream, body);
+        }
+        responseSize.bytes = outputStream.size();
+        return outputStream.size();
+    }
+}
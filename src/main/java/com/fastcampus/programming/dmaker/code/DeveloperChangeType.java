@@ -0,0 +1,18 @@
+package com.fastcampus.programming.dmaker.code;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @Author: kbs
+ */
+//GET /developers/changes, DeveloperChangeSink로 나가는 변경 이벤트 종류
+@Getter
+@AllArgsConstructor
+public enum DeveloperChangeType {
+    DEVELOPER_CREATED("생성"),
+    DEVELOPER_EDITED("수정"),
+    DEVELOPER_RETIRED("퇴직 처리");
+
+    private final String description;
+}
@@ -0,0 +1,16 @@
+package com.fastcampus.programming.dmaker.code;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @Author: kbs
+ */
+//outbox에 쌓이는 이벤트 종류. 처리는 RetirementOutboxProcessor
+@Getter
+@AllArgsConstructor
+public enum OutboxEventType {
+    DEVELOPER_RETIRED("퇴직 처리");
+
+    private final String description;
+}
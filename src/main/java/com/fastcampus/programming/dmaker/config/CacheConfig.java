@@ -0,0 +1,43 @@
+package com.fastcampus.programming.dmaker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEVELOPER_DETAIL_CACHE;
+
+/**
+ * @Author: kbs
+ */
+//Caffeine(W-TinyLFU) 기반 in-process cache.
+//TransactionAwareCacheManagerProxy로 감싸서 transaction 안에서의 put/evict는 commit 이후에만 반영됨.
+//-> rollback된 수정이 cache에 남지 않음.
+//recordStats 켜두면 actuator /actuator/metrics/cache.gets, cache.evictions 로 hit/miss/eviction 확인 가능
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${dmaker.cache.developer-detail.spec}") String developerDetailSpec
+    ) {
+        //상세 cache는 version이 낮은 값으로 덮어쓰지 않음 (DeveloperDetailCache)
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(DEVELOPER_DETAIL_CACHE) {
+            @Override
+            protected Cache adaptCaffeineCache(
+                    String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache
+            ) {
+                if (!DEVELOPER_DETAIL_CACHE.equals(name)) return super.adaptCaffeineCache(name, cache);
+                return new DeveloperDetailCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCacheSpecification(developerDetailSpec);
+        //null(없는 개발자)은 cache하지 않음. NO_DEVELOPER는 exception으로 나가므로 저장될 일도 없음.
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
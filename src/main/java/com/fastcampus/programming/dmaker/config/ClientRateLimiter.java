@@ -0,0 +1,59 @@
+package com.fastcampus.programming.dmaker.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * @Author: kbs
+ */
+//client 별 token bucket (초당 tokensPerSecond 개 충전, 최대 burst 개).
+//bucket 상태를 "bucket이 가득 차는 시각(nanoTime)" long 하나로 표현 (GCRA)
+//-> token 계산과 차감이 CAS 한번이라 lock이 없음. client 목록은 Caffeine(내부적으로 striped)에 보관
+//오래 안 쓴 client는 지움 (지워지면 다음 요청 때 가득 찬 bucket으로 다시 시작)
+public class ClientRateLimiter {
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    public ClientRateLimiter(int tokensPerSecond, int burst, LongSupplier nanoClock) {
+        if (tokensPerSecond <= 0 || burst <= 0)
+            throw new IllegalArgumentException("tokens-per-second and burst must be positive");
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / tokensPerSecond;
+        this.burstNanos = nanosPerToken * burst;
+        this.nanoClock = nanoClock;
+        //비어 있던 bucket이 다시 가득 차는 시간보다 길게 보관
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(burstNanos).plusMinutes(1))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public ClientRateLimiter(int tokensPerSecond, int burst) {
+        this(tokensPerSecond, burst, System::nanoTime);
+    }
+
+    //cost 만큼 token을 쓸 수 있으면 0. 아니면 그만큼 token이 찰 때까지 기다려야 하는 시간(nanos)
+    public long tryAcquire(String clientKey, int cost) {
+        long increment = nanosPerToken * cost;
+        AtomicLong fullAt = buckets.get(clientKey, key -> new AtomicLong(nanoClock.getAsLong()));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            //이미 가득 찬 bucket이면 지금부터
+            long next = (current - now > 0 ? current : now) + increment;
+            long waitNanos = next - now - burstNanos;
+            if (waitNanos > 0) return waitNanos;
+            if (fullAt.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    public boolean allows(int cost) {
+        return nanosPerToken * cost <= burstNanos;
+    }
+}
@@ -0,0 +1,136 @@
+package com.fastcampus.programming.dmaker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * @Author: kbs
+ */
+//DB를 쓰는 controller 작업을 어디서 실행할지 (dmaker.execution.mode)
+//- direct: 요청을 받은 Tomcat worker thread에서 바로 실행 (기존 방식)
+//- platform: DB 전용 thread pool(pool-size) + 크기 제한 queue(queue-capacity).
+//  Tomcat thread는 바로 반납되고, queue가 꽉 차면 RejectedExecutionException -> 429
+//- virtual: 작업마다 virtual thread (JDK 21 이상). 동시에 pool-size + queue-capacity 개까지만 받고 넘으면 429.
+//  JDK가 지원하지 않으면 platform으로 동작.
+@Slf4j
+@Component
+public class DbRequestExecutor {
+    public enum Mode { DIRECT, PLATFORM, VIRTUAL }
+
+    private final Mode mode;
+    //direct면 null
+    private final ExecutorService executorService;
+    //virtual일 때 동시에 실행 가능한 작업 수 제한
+    private final Semaphore permits;
+
+    public DbRequestExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${dmaker.execution.mode}") Mode mode,
+            @Value("${dmaker.execution.pool-size}") int poolSize,
+            @Value("${dmaker.execution.queue-capacity}") int queueCapacity
+    ) {
+        ExecutorService virtualThreadExecutor =
+                mode == Mode.VIRTUAL ? newVirtualThreadExecutor() : null;
+        if (mode == Mode.VIRTUAL && virtualThreadExecutor == null) {
+            log.warn("virtual threads are not supported on java {}. fall back to platform mode",
+                    System.getProperty("java.version"));
+            mode = Mode.PLATFORM;
+        }
+        this.mode = mode;
+
+        if (mode == Mode.VIRTUAL) {
+            this.executorService = virtualThreadExecutor;
+            this.permits = new Semaphore(poolSize + queueCapacity);
+        } else if (mode == Mode.PLATFORM) {
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                    poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    new CustomizableThreadFactory("db-request-"),
+                    //queue가 꽉 차면 기다리지 않고 바로 거절
+                    new ThreadPoolExecutor.AbortPolicy());
+            //executor_active_threads, executor_queued_tasks 등
+            this.executorService = ExecutorServiceMetrics.monitor(
+                    meterRegistry, threadPoolExecutor, "dbRequest", Tags.empty());
+            this.permits = null;
+        } else {
+            this.executorService = null;
+            this.permits = null;
+        }
+        log.info("db request execution mode: {}", this.mode);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    //작업을 executor에 넘기고 future를 돌려줌. 넘길 수 없으면 RejectedExecutionException (-> 429)
+    //direct면 지금 thread에서 실행해서 끝난 future를 돌려줌 (exception은 그대로 던짐)
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        if (executorService == null) return CompletableFuture.completedFuture(task.get());
+        task = countingQueries(task);
+        if (permits == null) return CompletableFuture.supplyAsync(task, executorService);
+
+        if (!permits.tryAcquire())
+            throw new RejectedExecutionException("too many concurrent db requests");
+        try {
+            return CompletableFuture.supplyAsync(task, executorService)
+                    .whenComplete((result, e) -> permits.release());
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    //executor thread에서 나간 SQL 개수는 요청 thread의 QueryCountInspector가 모르므로
+    //작업이 끝나면 request attribute에 더해둠 (QueryCountInterceptor가 합쳐서 기록)
+    private static <T> Supplier<T> countingQueries(Supplier<T> task) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) return task;
+        HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
+        return () -> {
+            QueryCountInspector.reset();
+            try {
+                return task.get();
+            } finally {
+                QueryCountInterceptor.addQueryCount(request, QueryCountInspector.getCount());
+                QueryCountInspector.reset();
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executorService != null) executorService.shutdown();
+    }
+
+    //java 11로 build하므로 JDK 21의 Executors.newVirtualThreadPerTaskExecutor()를 reflection으로 호출
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.fastcampus.programming.dmaker.config;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperColumns;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Type;
+
+/**
+ * @Author: kbs
+ */
+//Accept: application/cbor 인 목록 응답(DeveloperColumns)만 CBOR(binary JSON)로 씀.
+//enum은 이름 대신 ordinal로 써서 더 작게 -> DeveloperLevel, DeveloperSkillType은 순서를 바꾸지 말고 뒤에 추가만
+//다른 type(에러 응답 등)은 spring 기본 CBOR converter가 enum 이름 그대로 씀 (error code가 ordinal로 나가지 않게)
+//HttpMessageConverter bean은 spring boot가 기본 converter 앞에 등록해줌
+@Component
+public class DeveloperColumnsCborConverter extends MappingJackson2CborHttpMessageConverter {
+    public DeveloperColumnsCborConverter() {
+        super(Jackson2ObjectMapperBuilder.cbor()
+                .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                .build());
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return DeveloperColumns.class.isAssignableFrom(clazz) && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return DeveloperColumns.class.isAssignableFrom(clazz) && super.canWrite(type, clazz, mediaType);
+    }
+}
@@ -0,0 +1,34 @@
+package com.fastcampus.programming.dmaker.config;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * @Author: kbs
+ */
+//개발자 상세 cache. 같은 memberId에 이미 더 높은 version이 있으면 put을 무시함.
+//@Cacheable(조회)의 put도 commit 후에 반영되므로, 수정이 commit 되기 전에 옛 row를 읽은 조회가
+//수정의 @CachePut보다 늦게 put 할 수 있음 -> version을 비교해서 새 값이 옛 값으로 덮이지 않게 함
+//(bulk 수정처럼 evict 후에 늦게 도착한 옛 값은 비교할 대상이 없으므로 expire까지 남을 수 있음)
+public class DeveloperDetailCache extends CaffeineCache {
+    public DeveloperDetailCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!(value instanceof DeveloperDetailDto)) {
+            super.put(key, value);
+            return;
+        }
+        getNativeCache().asMap().merge(key, value, (cached, fresh) ->
+                versionOf(cached) >= versionOf(fresh) ? cached : fresh);
+    }
+
+    private static long versionOf(Object value) {
+        Long version = value instanceof DeveloperDetailDto
+                ? ((DeveloperDetailDto) value).getVersion() : null;
+        return version == null ? -1 : version;
+    }
+}
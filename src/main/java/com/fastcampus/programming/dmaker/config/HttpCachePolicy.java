@@ -0,0 +1,27 @@
+package com.fastcampus.programming.dmaker.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Author: kbs
+ */
+//조회 endpoint 별 Cache-Control 값 (dmaker.http.cache-control.*). 비워두면 header를 안 붙임
+@Getter
+@Component
+public class HttpCachePolicy {
+    private final String developers;
+    private final String developerDetail;
+    private final String developerStats;
+
+    public HttpCachePolicy(
+            @Value("${dmaker.http.cache-control.developers:}") String developers,
+            @Value("${dmaker.http.cache-control.developer-detail:}") String developerDetail,
+            @Value("${dmaker.http.cache-control.developer-stats:}") String developerStats
+    ) {
+        this.developers = developers;
+        this.developerDetail = developerDetail;
+        this.developerStats = developerStats;
+    }
+}
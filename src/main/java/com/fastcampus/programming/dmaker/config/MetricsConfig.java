@@ -0,0 +1,34 @@
+package com.fastcampus.programming.dmaker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * @Author: kbs
+ */
+//어디서 시간이 걸리는지 보기 위한 metric. 모두 /actuator/prometheus 로 나감.
+//- endpoint: http.server.requests (spring boot 기본)
+//- service: @Timed(SERVICE_TIMER) 붙인 method
+//- repository: spring.data.repository.invocations (spring boot 기본)
+//- hibernate: hibernate.* (generate_statistics), 요청별 SQL 개수
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+    private final MeterRegistry meterRegistry;
+
+    //@Timed annotation을 AOP로 처리
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor(meterRegistry));
+    }
+}
@@ -0,0 +1,27 @@
+package com.fastcampus.programming.dmaker.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * @Author: kbs
+ */
+//Hibernate가 SQL을 보내기 직전에 호출됨. thread(=요청) 별로 몇 번 나갔는지 세기만 함.
+//hibernate.session_factory.statement_inspector 로 등록 (Hibernate가 class 이름으로 직접 생성)
+public class QueryCountInspector implements StatementInspector {
+    //요청 하나는 thread 하나에서 처리되므로 thread 별로 셈 (int[]는 boxing 없이 증가시키려고)
+    private static final ThreadLocal<int[]> QUERY_COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        QUERY_COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        QUERY_COUNT.get()[0] = 0;
+    }
+
+    public static int getCount() {
+        return QUERY_COUNT.get()[0];
+    }
+}
@@ -0,0 +1,77 @@
+package com.fastcampus.programming.dmaker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.QUERY_COUNT_ATTRIBUTE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.QUERY_COUNT_WARN_THRESHOLD;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.REQUEST_QUERY_SUMMARY;
+
+/**
+ * @Author: kbs
+ */
+//요청 하나에서 나간 SQL 개수를 endpoint 별로 기록. 평소보다 늘어나면 N+1을 의심할 수 있음.
+//CompletableFuture를 돌려주는 endpoint는 async로 처리됨 (처음 dispatch -> 작업 완료 -> ASYNC dispatch).
+//- 처음 dispatch에서 센 것은 async가 시작될 때 request attribute로 옮겨둠
+//- DbRequestExecutor thread에서 센 것은 DbRequestExecutor가 request attribute에 더함
+//- 마지막 dispatch의 afterCompletion에서 attribute와 지금 thread에서 센 것을 합쳐서 기록
+//(streaming 응답처럼 MVC task thread에서 쿼리가 나가는 경우는 세지 못함)
+@Slf4j
+@RequiredArgsConstructor
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+    private final MeterRegistry meterRegistry;
+
+    //executor thread처럼 요청 thread가 아닌 곳에서 센 개수를 요청에 더해둠
+    public static void addQueryCount(HttpServletRequest request, int queryCount) {
+        request.setAttribute(QUERY_COUNT_ATTRIBUTE, queryCountOf(request) + queryCount);
+    }
+
+    private static int queryCountOf(HttpServletRequest request) {
+        Object queryCount = request.getAttribute(QUERY_COUNT_ATTRIBUTE);
+        return queryCount == null ? 0 : (Integer) queryCount;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                             Object handler) {
+        //ASYNC dispatch는 같은 요청의 연속이라 reset하지 않음
+        //(요청이 끝날 때마다 reset하므로 다른 요청에서 센 값이 남아있지 않음)
+        if (request.getDispatcherType() != DispatcherType.ASYNC) QueryCountInspector.reset();
+        return true;
+    }
+
+    //처음 dispatch가 끝나고 async 처리로 넘어감. ASYNC dispatch는 다른 thread에서 올 수 있으므로 attribute로 옮김
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        addQueryCount(request, QueryCountInspector.getCount());
+        QueryCountInspector.reset();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        int queryCount = QueryCountInspector.getCount() + queryCountOf(request);
+        QueryCountInspector.reset();
+        //uri는 /developers/{memberId} 처럼 pattern으로 (memberId마다 metric이 생기지 않게)
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder(REQUEST_QUERY_SUMMARY)
+                .baseUnit("queries")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(queryCount);
+        if (queryCount > QUERY_COUNT_WARN_THRESHOLD)
+            log.warn("too many queries. {} {} queries: {}", request.getMethod(), uri, queryCount);
+    }
+}
@@ -0,0 +1,52 @@
+package com.fastcampus.programming.dmaker.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * @Author: kbs
+ */
+//최근 read-your-writes-window 안에 수정한 memberId는 replica 대신 primary에서 읽음.
+//(replica에 아직 반영 안 된 예전 값을 돌려주지 않도록)
+//인스턴스 메모리에만 기록하므로 같은 인스턴스로 온 요청에만 적용됨. window가 0이면 사용 안 함
+@Component
+public class ReadYourWrites {
+    private static final ReplicaRoutingDataSource.Scope NO_SCOPE = () -> { };
+
+    //memberId -> 마지막으로 쓴 시각은 필요 없고, window 동안 있기만 하면 됨
+    private final Cache<String, Boolean> recentWrites;
+
+    //Ticker bean이 있으면 그 시계로 window를 잼 (test에서 기다리지 않고 시간을 넘기려고). 없으면 system 시계
+    public ReadYourWrites(
+            @Value("${dmaker.datasource.routing.read-your-writes-window}") Duration window,
+            ObjectProvider<Ticker> ticker
+    ) {
+        this.recentWrites = window.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .ticker(ticker.getIfAvailable(Ticker::systemTicker))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void recordWrite(String memberId) {
+        if (recentWrites != null) recentWrites.put(memberId, Boolean.TRUE);
+    }
+
+    public void recordWrites(Collection<String> memberIds) {
+        if (recentWrites == null) return;
+        for (String memberId : memberIds) recentWrites.put(memberId, Boolean.TRUE);
+    }
+
+    //try (ReplicaRoutingDataSource.Scope ignored = readYourWrites.primaryIfRecentlyWritten(memberId)) {...}
+    public ReplicaRoutingDataSource.Scope primaryIfRecentlyWritten(String memberId) {
+        if (recentWrites == null || recentWrites.getIfPresent(memberId) == null) return NO_SCOPE;
+        return ReplicaRoutingDataSource.forcePrimary();
+    }
+}
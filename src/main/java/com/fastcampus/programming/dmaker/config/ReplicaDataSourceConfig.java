@@ -0,0 +1,62 @@
+package com.fastcampus.programming.dmaker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * @Author: kbs
+ */
+//dmaker.datasource.replica.jdbc-url이 있을 때만 primary/replica 두 pool + routing DataSource 사용.
+//없으면 spring boot 기본 DataSource 하나 (지금까지와 같음)
+//primary: spring.datasource.*, spring.datasource.hikari.*
+//replica: dmaker.datasource.replica.* (HikariDataSource property 그대로)
+@Configuration
+@ConditionalOnProperty("dmaker.datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("dmaker.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        //replica에 쓰기가 가는 실수를 막음
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${dmaker.datasource.routing.validation-timeout-seconds}") int validationTimeoutSeconds
+    ) {
+        return new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, validationTimeoutSeconds);
+    }
+
+    //JPA, transaction manager가 쓰는 DataSource
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
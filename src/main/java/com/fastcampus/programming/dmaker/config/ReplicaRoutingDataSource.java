@@ -0,0 +1,102 @@
+package com.fastcampus.programming.dmaker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Author: kbs
+ */
+//readOnly transaction은 replica, 나머지(쓰기, transaction 밖)는 primary로 보냄.
+//- LazyConnectionDataSourceProxy로 감싸서 써야 함: 실제 connection을 첫 SQL 때 얻으므로
+//  그 시점에는 transaction의 readOnly 여부가 정해져 있음
+//- forcePrimary() 범위 안에서는 readOnly라도 primary (방금 쓴 데이터 읽기, roster 로딩 등)
+//- replica connection을 못 얻으면 바로 primary로 보내고, health check가 다시 성공할 때까지 primary만 사용
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Route { PRIMARY, REPLICA }
+
+    //try-with-resources로 쓰는 범위. 중첩 가능
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final ThreadLocal<Integer> FORCE_PRIMARY_DEPTH = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final int validationTimeoutSeconds;
+    private volatile boolean replicaHealthy = true;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary, DataSource replica, int validationTimeoutSeconds
+    ) {
+        this.primary = primary;
+        this.replica = replica;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(Route.PRIMARY, primary);
+        targetDataSources.put(Route.REPLICA, replica);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public static Scope forcePrimary() {
+        Integer depth = FORCE_PRIMARY_DEPTH.get();
+        FORCE_PRIMARY_DEPTH.set(depth == null ? 1 : depth + 1);
+        return () -> {
+            int remaining = FORCE_PRIMARY_DEPTH.get() - 1;
+            if (remaining == 0) FORCE_PRIMARY_DEPTH.remove();
+            else FORCE_PRIMARY_DEPTH.set(remaining);
+        };
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean useReplica = replicaHealthy
+                && FORCE_PRIMARY_DEPTH.get() == null
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return useReplica ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) return target.getConnection();
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            markReplica(false, e);
+            return primary.getConnection();
+        }
+    }
+
+    //replica가 살아났는지(또는 죽었는지) 주기적으로 확인
+    @Scheduled(fixedDelayString = "${dmaker.datasource.routing.health-check-interval-ms}")
+    public void checkReplica() {
+        try (Connection connection = replica.getConnection()) {
+            markReplica(connection.isValid(validationTimeoutSeconds), null);
+        } catch (SQLException e) {
+            markReplica(false, e);
+        }
+    }
+
+    private void markReplica(boolean healthy, SQLException cause) {
+        if (replicaHealthy == healthy) return;
+        replicaHealthy = healthy;
+        if (healthy) log.info("replica is back. read-only transactions go to replica");
+        else log.warn("replica is unavailable. read-only transactions go to primary", cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.fastcampus.programming.dmaker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Author: kbs
+ */
+//@Scheduled 메소드 사용을 위해 필요 (roster 정합성 검사 등)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,81 @@
+package com.fastcampus.programming.dmaker.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEVELOPER_ENTITY_REGION;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEVELOPER_MEMBER_ID_REGION;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.RETIRED_DEVELOPER_ENTITY_REGION;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.RETIRED_DEVELOPER_MEMBER_ID_REGION;
+
+/**
+ * @Author: kbs
+ */
+//dmaker.cache.second-level.enabled=true 일 때만 hibernate 2차 cache 사용 (JCache + Caffeine).
+//- Developer, RetiredDeveloper entity: id -> entity (READ_WRITE. 수정/퇴직은 commit 후 cache에도 반영)
+//- memberId natural id -> id. memberId는 바뀌지 않으므로 한번 올라가면 계속 맞음
+//query cache는 쓰지 않음 (캐시할 만큼 반복되는 query가 없고, table에 쓰기가 있을 때마다 통째로 무효화됨)
+//bulk UPDATE/DELETE는 Developer region 전체를 비움 (hibernate가 처리). native INSERT(outbox, archive)는
+//쓰는 table을 query space로 알려줘서 cache된 region을 건드리지 않게 함 (안 알려주면 모든 region을 비움)
+//@Version이 있어서 replica나 다른 instance에서 읽은 예전 값이 새 값을 덮어쓰지 못하고,
+//예전 값으로 수정하면 version 충돌 -> 그 항목은 cache에서 무효화 -> 재시도는 DB에서 읽음
+//hit/miss는 hibernate statistics (/actuator/metrics/hibernate.second.level.cache.requests 등)
+@Configuration
+@ConditionalOnProperty(name = "dmaker.cache.second-level.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+    //bean 이름이 Spring의 cacheManager와 겹치지 않게
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${dmaker.cache.second-level.maximum-size}") long maximumSize,
+            @Value("${dmaker.cache.second-level.expire-after-write}") Duration expireAfterWrite
+    ) {
+        //provider 기본 CacheManager는 JVM 안에서 공유되므로 context마다 따로 만듦 (test에서 context 여러 개)
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("dmaker-second-level-" + UUID.randomUUID()),
+                        getClass().getClassLoader());
+        for (String region : Arrays.asList(
+                DEVELOPER_ENTITY_REGION, DEVELOPER_MEMBER_ID_REGION,
+                RETIRED_DEVELOPER_ENTITY_REGION, RETIRED_DEVELOPER_MEMBER_ID_REGION)) {
+            cacheManager.createCache(region, regionConfiguration(
+                    OptionalLong.of(maximumSize), OptionalLong.of(expireAfterWrite.toNanos())));
+        }
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(
+            OptionalLong maximumSize, OptionalLong expireAfterWriteNanos
+    ) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(expireAfterWriteNanos);
+        return configuration;
+    }
+
+    //application.yml에서는 꺼두었으므로 (spring.jpa.properties.hibernate.cache.*) 여기서 켬
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            //위에서 만들지 않은 region이 있으면 크기 제한 없는 cache가 생기지 않게 시작할 때 실패
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package com.fastcampus.programming.dmaker.config;
+
+import com.fastcampus.programming.dmaker.dto.DMakerErrorResponse;
+import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.API_KEY_HEADER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ERROR_COUNTER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.IN_FLIGHT_REQUESTS_GAUGE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.RETRY_AFTER_SECONDS;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.SERVICE_OVERLOADED;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.TOO_MANY_REQUESTS;
+
+/**
+ * @Author: kbs
+ */
+//controller(DMakerService)까지 가기 전에 요청을 거르는 filter
+//1. rate limit: client 별 token bucket (gateway가 검증한 X-API-Key, 아니면 IP). endpoint마다 비용이 다름
+//   (목록/검색/stream/bulk는 비싸게). token이 모자라면 429 + Retry-After (다시 찰 때까지 초)
+//2. load shedding: 동시에 처리 중인 요청이 max-concurrent-requests 이상이면 바로 503 + Retry-After
+//   async 응답(CompletableFuture, stream)은 응답이 끝날 때 자리를 반납
+//   변경 long-poll(/developers/changes)은 기다리는 동안 thread/DB를 쓰지 않으므로 세지 않음
+//actuator, h2-console은 거르지 않음
+@Slf4j
+@Component
+//http.server.requests metric filter 다음 (거절한 요청도 metric에 남도록)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TrafficControlFilter extends OncePerRequestFilter {
+    private static final String LONG_POLL_PATH = "/developers/changes";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    //사용 안 하면 null
+    private final ClientRateLimiter clientRateLimiter;
+    private final boolean trustApiKey;
+    private final Semaphore concurrentRequests;
+    //"GET /developers" -> token 비용. 없으면 defaultCost
+    private final Map<String, Integer> endpointCosts = new HashMap<>();
+    private final int defaultCost;
+
+    public TrafficControlFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${dmaker.rate-limit.enabled}") boolean rateLimitEnabled,
+            @Value("${dmaker.rate-limit.trust-api-key}") boolean trustApiKey,
+            @Value("${dmaker.rate-limit.tokens-per-second}") int tokensPerSecond,
+            @Value("${dmaker.rate-limit.burst}") int burst,
+            @Value("${dmaker.rate-limit.list-cost}") int listCost,
+            @Value("${dmaker.rate-limit.stream-cost}") int streamCost,
+            @Value("${dmaker.rate-limit.bulk-cost}") int bulkCost,
+            @Value("${dmaker.rate-limit.default-cost}") int defaultCost,
+            @Value("${dmaker.load-shedding.max-concurrent-requests}") int maxConcurrentRequests
+    ) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.clientRateLimiter = rateLimitEnabled
+                ? new ClientRateLimiter(tokensPerSecond, burst) : null;
+        this.trustApiKey = trustApiKey;
+        this.defaultCost = defaultCost;
+        endpointCosts.put("GET /developers", listCost);
+        endpointCosts.put("GET /developers/search", listCost);
+        endpointCosts.put("GET /developers/stream", streamCost);
+        endpointCosts.put("GET /developers/export", streamCost);
+        endpointCosts.put("POST /developers/import", streamCost);
+        endpointCosts.put("POST /developers/bulk", bulkCost);
+        endpointCosts.put("PATCH /developers/bulk", bulkCost);
+        endpointCosts.put("POST /developers/retire", bulkCost);
+        //burst보다 비싼 endpoint는 절대 호출할 수 없게 되므로 시작할 때 막음
+        if (clientRateLimiter != null && !clientRateLimiter.allows(Math.max(defaultCost,
+                endpointCosts.values().stream().max(Integer::compare).orElse(0))))
+            throw new IllegalArgumentException("rate-limit cost must not be greater than burst");
+
+        if (maxConcurrentRequests > 0) {
+            this.concurrentRequests = new Semaphore(maxConcurrentRequests);
+            Gauge.builder(IN_FLIGHT_REQUESTS_GAUGE, concurrentRequests,
+                            permits -> maxConcurrentRequests - permits.availablePermits())
+                    .register(meterRegistry);
+        } else {
+            this.concurrentRequests = null;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/actuator") || path.startsWith("/h2-console");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (clientRateLimiter != null) {
+            long waitNanos = clientRateLimiter.tryAcquire(clientKey(request), costOf(request));
+            if (waitNanos > 0) {
+                //1초 단위로 올림
+                long retryAfter = (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+                reject(request, response, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS,
+                        String.valueOf(retryAfter));
+                return;
+            }
+        }
+        if (concurrentRequests == null || request.getRequestURI().equals(LONG_POLL_PATH)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!concurrentRequests.tryAcquire()) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, SERVICE_OVERLOADED,
+                    RETRY_AFTER_SECONDS);
+            return;
+        }
+        boolean releaseLater = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                releaseLater = true;
+            }
+        } finally {
+            if (!releaseLater) concurrentRequests.release();
+        }
+    }
+
+    //검증 안 된 X-API-Key로 나누면 요청마다 key를 바꿔서 bucket을 새로 받을 수 있음
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = trustApiKey ? request.getHeader(API_KEY_HEADER) : null;
+        return apiKey == null ? "ip:" + request.getRemoteAddr() : "key:" + apiKey;
+    }
+
+    private int costOf(HttpServletRequest request) {
+        return endpointCosts.getOrDefault(
+                request.getMethod() + " " + request.getRequestURI(), defaultCost);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        HttpStatus status, DMakerErrorCode errorCode, String retryAfter)
+            throws IOException {
+        log.warn("rejected {} {} from {}: {}", request.getMethod(), request.getRequestURI(),
+                clientKey(request), errorCode);
+        meterRegistry.counter(ERROR_COUNTER, "errorCode", errorCode.name()).increment();
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), DMakerErrorResponse.builder()
+                .errorCode(errorCode)
+                .errorMessage(errorCode.getMessage())
+                .build());
+    }
+
+    //onTimeout, onError 뒤에도 onComplete는 불림
+    private class ReleaseOnComplete implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) concurrentRequests.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
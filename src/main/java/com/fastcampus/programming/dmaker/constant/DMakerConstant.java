@@ -1,9 +1,88 @@
 package com.fastcampus.programming.dmaker.constant;
 
+import java.time.Duration;
+
 /**
  * @Author: kbs
  */
 public class DMakerConstant {
     public static final Integer MIN_SENIOR_EXPERIENCE_YEARS = 10;
     public static final Integer MAX_JUNIOR_EXPERIENCE_YEARS = 4;
+
+    //목록 조회 한 페이지 크기 (cursor pagination)
+    public static final Integer DEFAULT_PAGE_LIMIT = 100;
+    public static final Integer MAX_PAGE_LIMIT = 1000;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    //unique 제약조건 이름. 위반 시 어떤 제약조건인지 구분하는 데 사용
+    public static final String DEVELOPER_MEMBER_ID_UNIQUE = "uk_developer_member_id";
+    public static final String RETIRED_DEVELOPER_MEMBER_ID_UNIQUE = "uk_retired_developer_member_id";
+    public static final String ARCHIVED_DEVELOPER_MEMBER_ID_UNIQUE = "uk_archived_developer_member_id";
+
+    //bulk 생성 한번에 받을 수 있는 최대 건수
+    public static final int MAX_BULK_CREATE_SIZE = 1000;
+    //bulk 수정/퇴직 한번에 받을 수 있는 최대 memberId 수 (IN 절 크기)
+    public static final int MAX_BULK_UPDATE_SIZE = 1000;
+    //가져오기(import) 응답에 담는 실패 행 최대 개수. 나머지는 failureCount로만
+    public static final int MAX_IMPORT_FAILURES_REPORTED = 1000;
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    //목록을 열 단위로 내려주는 media type (DeveloperColumns). CBOR은 application/cbor
+    public static final String COLUMNAR_JSON_VALUE = "application/vnd.dmaker.columnar+json";
+    //sequence를 한번에 미리 받아두는 개수. hibernate.jdbc.batch_size와 맞춰줌.
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    //cache 이름
+    public static final String DEVELOPER_DETAIL_CACHE = "developerDetail";
+    //hibernate 2차 cache region 이름 (SecondLevelCacheConfig)
+    public static final String DEVELOPER_ENTITY_REGION = "developer";
+    public static final String DEVELOPER_MEMBER_ID_REGION = "developer-member-id";
+    public static final String RETIRED_DEVELOPER_ENTITY_REGION = "retired-developer";
+    public static final String RETIRED_DEVELOPER_MEMBER_ID_REGION = "retired-developer-member-id";
+
+    //roster에서 퇴직으로 빠진 id의 version을 기억하는 시간 (EmployedDeveloperRoster).
+    //그 전에 늦게 도착한 옛 수정이 다시 넣지 않게. 그 이후에 어긋난 것은 verify가 맞춤
+    public static final Duration ROSTER_REMOVED_RETENTION = Duration.ofMinutes(5);
+
+    //If-Match 없이 수정할 때 version 충돌이 나면 다시 시도하는 최대 횟수 (첫 시도 포함)
+    public static final int MAX_EDIT_ATTEMPTS = 3;
+
+    //streaming 조회 시 JDBC fetch size
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    //metric 이름 (actuator /actuator/prometheus 에서 dmaker_service_seconds 처럼 보임)
+    public static final String SERVICE_TIMER = "dmaker.service";
+    public static final String ERROR_COUNTER = "dmaker.errors";
+    public static final String REQUEST_QUERY_SUMMARY = "dmaker.request.queries";
+    //요청 하나에서 SQL이 이보다 많이 나가면 warn log (N+1 의심)
+    public static final int QUERY_COUNT_WARN_THRESHOLD = 20;
+    //요청 thread 밖(DbRequestExecutor, async 시작 전 dispatch)에서 나간 SQL 개수를 모아두는 request attribute
+    public static final String QUERY_COUNT_ATTRIBUTE = "dmaker.queryCount";
+
+    //퇴직 outbox 처리 metric (RetirementOutboxProcessor)
+    public static final String OUTBOX_LAG_GAUGE = "dmaker.outbox.lag";
+    public static final String OUTBOX_PENDING_GAUGE = "dmaker.outbox.pending";
+    public static final String OUTBOX_PROCESSED_COUNTER = "dmaker.outbox.processed";
+
+    //퇴직자 archive로 옮긴 건수 (DeveloperArchiver)
+    public static final String ARCHIVED_COUNTER = "dmaker.archive.moved";
+
+    //변경 이벤트를 sink로 넘긴 건수, 밀려서 버린 건수, 아직 못 넘긴 건수 (DeveloperChangeDispatcher)
+    public static final String CHANGES_DELIVERED_COUNTER = "dmaker.changes.delivered";
+    public static final String CHANGES_DROPPED_COUNTER = "dmaker.changes.dropped";
+    public static final String CHANGES_SINK_LAG_GAUGE = "dmaker.changes.sink.lag";
+
+    //재시도해도 한번만 실행되게 하는 header (IdempotentRequestExecutor)
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    //저장해둔 응답을 다시 내려준 경우 true
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    public static final String IDEMPOTENT_REPLAY_COUNTER = "dmaker.idempotency.replayed";
+
+    //rate limit을 client 별로 나누는 header. 없으면 IP 기준 (TrafficControlFilter)
+    public static final String API_KEY_HEADER = "X-API-Key";
+    //지금 처리 중인 요청 수 (load shedding)
+    public static final String IN_FLIGHT_REQUESTS_GAUGE = "dmaker.requests.in-flight";
+
+    //429 응답의 Retry-After (초)
+    public static final String RETRY_AFTER_SECONDS = "1";
 }
@@ -1,16 +1,51 @@
 package com.fastcampus.programming.dmaker.controller;
 
+import com.fastcampus.programming.dmaker.config.DbRequestExecutor;
+import com.fastcampus.programming.dmaker.config.HttpCachePolicy;
+import com.fastcampus.programming.dmaker.dto.BulkCreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.BulkEditDeveloper;
 import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.DeveloperChanges;
+import com.fastcampus.programming.dmaker.dto.DeveloperColumns;
 import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
 import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperPage;
+import com.fastcampus.programming.dmaker.dto.DeveloperStatsDto;
 import com.fastcampus.programming.dmaker.dto.EditDeveloper;
+import com.fastcampus.programming.dmaker.dto.ImportDevelopers;
+import com.fastcampus.programming.dmaker.dto.RetireDevelopers;
+import com.fastcampus.programming.dmaker.dto.SearchDeveloper;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
 import com.fastcampus.programming.dmaker.service.DMakerService;
+import com.fastcampus.programming.dmaker.service.DeveloperRecordCodec;
+import com.fastcampus.programming.dmaker.service.DeveloperStatsService;
+import com.fastcampus.programming.dmaker.service.DeveloperTransferService;
+import com.fastcampus.programming.dmaker.service.IdempotentRequestExecutor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.COLUMNAR_JSON_VALUE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.IDEMPOTENCY_KEY_HEADER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.NEXT_CURSOR_HEADER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.TEXT_CSV_VALUE;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.INVALID_REQUEST;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.PRECONDITION_FAILED;
 
 //Spring framework의 annotation
 //Dmaker Controller를 RestController라는 type의 bean으로 등록
@@ -26,53 +61,360 @@ constructor를 통한 주입을 해주면 됨*/
 @RequiredArgsConstructor
 public class DMakerController {
     private final DMakerService dMakerService;
+    private final DeveloperStatsService developerStatsService;
+    private final ObjectMapper objectMapper;
+    //DB를 쓰는 요청은 여기로 넘김 (Tomcat thread를 JDBC 대기로 잡아두지 않도록). 목록은 메모리 roster라 그대로 실행
+    private final DbRequestExecutor dbRequestExecutor;
+    private final HttpCachePolicy httpCachePolicy;
+    //Idempotency-Key가 있으면 재시도 요청에 처음 응답을 다시 내려줌 (생성/수정/삭제)
+    private final IdempotentRequestExecutor idempotentRequestExecutor;
+    private final DeveloperTransferService developerTransferService;
 
     //DTO를 통해 entity와 응답을 내려주는 데이터를 분리시켜줌으로서
     //유연성을 높여줌.
+    //전체를 한번에 내려주지 않고 limit 만큼만. 다음 페이지 cursor는 header로 내려줌.
+    //roster snapshot version을 ETag로 내려줌. If-None-Match가 같으면 304 (body 없음, DB 안 탐)
     @GetMapping("/developers")
-    public List<DeveloperDto> getAllDevelopers(){
+    public ResponseEntity<List<DeveloperDto>> getAllDevelopers(
+            @RequestParam(required = false) final Long after,
+            @RequestParam(required = false) final Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch
+    ){
         log.info("GET /developers HTTP/1.1");
 
-        return dMakerService.getAllEmployedDevelopers();
+        DeveloperPage page = dMakerService.getEmployedDevelopers(after, limit);
+        if (isNotModified(ifNoneMatch, page.getETag()))
+            return developersNotModified(page.getETag());
+        return toPageResponse(page);
+    }
+
+    //같은 목록을 더 작게 (모바일처럼 payload 크기가 중요한 client). 응답 header, 304 처리는 위와 같음
+    //형식마다 body가 다르므로 ETag 뒤에 형식을 붙여서 구분
+    //Accept: application/vnd.dmaker.columnar+json -> 필드 이름을 한번만 쓰는 열 단위 JSON
+    @GetMapping(value = "/developers", produces = COLUMNAR_JSON_VALUE)
+    public ResponseEntity<DeveloperColumns> getAllDevelopersAsColumnarJson(
+            @RequestParam(required = false) final Long after,
+            @RequestParam(required = false) final Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch
+    ){
+        log.info("GET /developers HTTP/1.1 (columnar json)");
+
+        return toColumnsResponse(after, limit, ifNoneMatch, "-columnar");
+    }
+
+    //Accept: application/cbor -> 열 단위 + binary(CBOR) + enum은 ordinal
+    @GetMapping(value = "/developers", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public ResponseEntity<DeveloperColumns> getAllDevelopersAsCbor(
+            @RequestParam(required = false) final Long after,
+            @RequestParam(required = false) final Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch
+    ){
+        log.info("GET /developers HTTP/1.1 (cbor)");
+
+        return toColumnsResponse(after, limit, ifNoneMatch, "-cbor");
+    }
+
+    private ResponseEntity<DeveloperColumns> toColumnsResponse(
+            Long after, Integer limit, String ifNoneMatch, String eTagSuffix
+    ) {
+        DeveloperPage page = dMakerService.getEmployedDevelopers(after, limit);
+        String eTag = page.getETag() == null ? null : page.getETag() + eTagSuffix;
+        if (isNotModified(ifNoneMatch, eTag))
+            return developersNotModified(eTag);
+        return toPageResponse(page, eTag, DeveloperColumns.from(page.getDevelopers()));
+    }
+
+    //GET /developers/search?level=SENIOR&skill=BACK_END&minYears=10&maxYears=15&status=EMPLOYED
+    //조건은 모두 optional. 목록과 마찬가지로 cursor pagination.
+    @GetMapping("/developers/search")
+    public CompletableFuture<ResponseEntity<List<DeveloperDto>>> searchDevelopers(
+            @Valid final SearchDeveloper.Request request
+    ){
+        log.info("GET /developers/search HTTP/1.1 request: {}", request);
+
+        return dbRequestExecutor.supply(() ->
+                toPageResponse(dMakerService.searchDevelopers(request)));
+    }
+
+    //레벨 x 기술 x 상태 별 인원수와 평균 연차 (짧은 주기로 cache된 값)
+    @GetMapping("/developers/stats")
+    public ResponseEntity<DeveloperStatsDto> getDeveloperStats(){
+        log.info("GET /developers/stats HTTP/1.1");
+
+        return withCacheControl(ResponseEntity.ok(), httpCachePolicy.getDeveloperStats())
+                .body(developerStatsService.getDeveloperStats());
     }
 
+    private ResponseEntity<DeveloperDetailDto> toDetailResponse(DeveloperDetailDto detail) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (detail.getVersion() != null) {
+            response.eTag(detail.getVersion().toString());
+        }
+        return response.body(detail);
+    }
+
+    //If-None-Match: "a", W/"b" 또는 *. 하나라도 eTag와 같으면 true (GET은 weak 비교)
+    private static boolean isNotModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) return false;
+        String quoted = "\"" + eTag + "\"";
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(quoted)) return true;
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag, String cacheControl) {
+        return withCacheControl(ResponseEntity.status(HttpStatus.NOT_MODIFIED), cacheControl)
+                .eTag(eTag)
+                .build();
+    }
+
+    //목록은 Accept에 따라 형식이 다르므로 Vary: Accept (중간 cache가 형식별로 따로 저장하게)
+    private <T> ResponseEntity<T> developersNotModified(String eTag) {
+        return withCacheControl(ResponseEntity.status(HttpStatus.NOT_MODIFIED), httpCachePolicy.getDevelopers())
+                .eTag(weakETag(eTag))
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    //Tomcat은 strong ETag가 붙은 응답은 gzip 압축하지 않음 (압축하면 byte가 달라지므로).
+    //목록은 압축 효과가 크므로 weak ETag로 (If-None-Match는 원래 weak 비교)
+    private static String weakETag(String eTag) {
+        return "W/\"" + eTag + "\"";
+    }
+
+    private static ResponseEntity.BodyBuilder withCacheControl(
+            ResponseEntity.BodyBuilder response, String cacheControl
+    ) {
+        if (cacheControl != null && !cacheControl.isEmpty())
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        return response;
+    }
+
+    //"3" -> 3, 없거나 * 이면 version 확인 안함
+    //If-Match는 strong 비교라 weak ETag(W/"3")는 어떤 응답과도 일치하지 않음 -> 412
+    private static Long versionFromETag(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) throw DMakerException.of(PRECONDITION_FAILED);
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw DMakerException.of(INVALID_REQUEST);
+        }
+    }
+
+    private ResponseEntity<List<DeveloperDto>> toPageResponse(DeveloperPage page) {
+        return toPageResponse(page, page.getETag(), page.getDevelopers());
+    }
+
+    //eTag가 있으면 roster 목록(GET /developers)
+    private <T> ResponseEntity<T> toPageResponse(DeveloperPage page, String eTag, T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (eTag != null) {
+            response.eTag(weakETag(eTag));
+            response.varyBy(HttpHeaders.ACCEPT);
+            withCacheControl(response, httpCachePolicy.getDevelopers());
+        }
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response.body(body);
+    }
+
+    //전체 목록이 필요한 경우: DB cursor에서 읽는 대로 바로 써서 내려줌 (메모리 일정)
+    //Accept: application/x-ndjson -> 한 줄에 하나씩
+    @GetMapping(value = "/developers/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamDevelopersAsNdjson(){
+        log.info("GET /developers/stream HTTP/1.1 (ndjson)");
+
+        return outputStream -> writeDevelopers(outputStream, false);
+    }
+
+    //Accept: application/json -> JSON array를 chunk 단위로 써서 내려줌
+    @GetMapping(value = "/developers/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody streamDevelopersAsJsonArray(){
+        log.info("GET /developers/stream HTTP/1.1 (json array)");
+
+        return outputStream -> writeDevelopers(outputStream, true);
+    }
+
+    //generator 내부 buffer가 차는 대로 response로 흘려보냄 (chunked transfer)
+    private void writeDevelopers(OutputStream outputStream, boolean jsonArray)
+            throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(outputStream)) {
+            //response stream은 spring이 닫아줌
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+
+            if (jsonArray) generator.writeStartArray();
+            dMakerService.streamEmployedDevelopers(developerDto -> {
+                try {
+                    generator.writeObject(developerDto);
+                    if (!jsonArray) generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (jsonArray) generator.writeEndArray();
+        }
+    }
+
+    //마이그레이션용 내보내기: 재직자 전체를 가져오기와 같은 형식(name, age 포함)으로 DB cursor에서 바로 씀
+    //Accept: text/csv 또는 application/x-ndjson
+    @GetMapping(value = "/developers/export", produces = TEXT_CSV_VALUE)
+    public StreamingResponseBody exportDevelopersAsCsv(){
+        log.info("GET /developers/export HTTP/1.1 (csv)");
+
+        return outputStream -> developerTransferService.exportDevelopers(
+                DeveloperRecordCodec.Format.CSV, outputStream);
+    }
+
+    @GetMapping(value = "/developers/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportDevelopersAsNdjson(){
+        log.info("GET /developers/export HTTP/1.1 (ndjson)");
+
+        return outputStream -> developerTransferService.exportDevelopers(
+                DeveloperRecordCodec.Format.NDJSON, outputStream);
+    }
+
+    //가져오기: Content-Type text/csv 또는 application/x-ndjson. body를 읽는 대로 chunk 단위로 commit
+    //중간에 끊기면(completed=false) 같은 파일을 resumeAfter=checkpoint로 다시 보내면 이어서 처리
+    //body를 끝까지 읽어야 하는 긴 작업이라 DbRequestExecutor에 넘기지 않고 요청 thread에서 처리
+    @PostMapping(value = "/developers/import", consumes = TEXT_CSV_VALUE)
+    public ImportDevelopers.Response importDevelopersFromCsv(
+            @RequestParam(defaultValue = "0") final long resumeAfter,
+            final InputStream body
+    ) throws IOException {
+        log.info("POST /developers/import HTTP/1.1 (csv) resumeAfter: {}", resumeAfter);
+
+        return developerTransferService.importDevelopers(
+                DeveloperRecordCodec.Format.CSV, body, resumeAfter);
+    }
+
+    @PostMapping(value = "/developers/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportDevelopers.Response importDevelopersFromNdjson(
+            @RequestParam(defaultValue = "0") final long resumeAfter,
+            final InputStream body
+    ) throws IOException {
+        log.info("POST /developers/import HTTP/1.1 (ndjson) resumeAfter: {}", resumeAfter);
+
+        return developerTransferService.importDevelopers(
+                DeveloperRecordCodec.Format.NDJSON, body, resumeAfter);
+    }
+
+    //GET /developers/changes?sinceSeq=10&limit=100
+    //전체 목록을 주기적으로 다시 받는 대신 sinceSeq 이후 생성/수정/퇴직만 (응답의 nextSeq로 이어서 요청)
+    //새 변경이 없으면 dmaker.changes.long-poll-timeout 동안 기다렸다가 빈 목록
+    //CHANGE_SEQ_EXPIRED면 너무 밀렸거나 서버가 재시작된 것 -> 전체 목록부터 다시
+    @GetMapping("/developers/changes")
+    public CompletableFuture<DeveloperChanges> getDeveloperChanges(
+            @RequestParam(required = false) final Long sinceSeq,
+            @RequestParam(required = false) final Integer limit
+    ){
+        log.info("GET /developers/changes HTTP/1.1 sinceSeq: {}", sinceSeq);
+
+        return dMakerService.pollDeveloperChanges(sinceSeq, limit);
+    }
+
+    //수정할 때 If-Match로 보낼 수 있도록 version을 ETag로 내려줌
+    //If-None-Match가 같으면 304. 상세는 cache에서 읽으므로 cache에 있으면 DB도 안 탐
     @GetMapping("/developers/{memberId}")
-    public DeveloperDetailDto getDeveloperDetail(
-            @PathVariable final String memberId
+    public CompletableFuture<ResponseEntity<DeveloperDetailDto>> getDeveloperDetail(
+            @PathVariable final String memberId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch
     ){
         log.info("GET /developers HTTP/1.1");
 
-        return dMakerService.getDeveloperDetail(memberId);
+        return dbRequestExecutor.supply(() -> {
+            DeveloperDetailDto detail = dMakerService.getDeveloperDetail(memberId);
+            String eTag = detail.getVersion() == null ? null : detail.getVersion().toString();
+            if (isNotModified(ifNoneMatch, eTag))
+                return notModified(eTag, httpCachePolicy.getDeveloperDetail());
+            ResponseEntity.BodyBuilder response =
+                    withCacheControl(ResponseEntity.ok(), httpCachePolicy.getDeveloperDetail());
+            if (eTag != null) response.eTag(eTag);
+            return response.body(detail);
+        });
     }
 
     //@RequestBody annotation : req body 내부 데이터를 뒤 변수에 담아줌.
     //@Valid : request body 값을 request 변수에 담아줄 때 validation
     //문제 있으면 methodargumentnotvalid exception처리함.
     @PostMapping("/create-developer")
-    public CreateDeveloper.Response createDevelopers(
+    public CompletableFuture<ResponseEntity<CreateDeveloper.Response>> createDevelopers(
+           @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey,
            @Valid @RequestBody final CreateDeveloper.Request request
     ){
         //요거 찍고 싶을때 Request class에 Tostring 박아주면 편리
         log.info("request : {}", request);
 
-        return dMakerService.createDeveloper(request);
+        return dbRequestExecutor.supply(() -> idempotentRequestExecutor.execute(
+                idempotencyKey, "POST /create-developer", request, CreateDeveloper.Response.class,
+                () -> ResponseEntity.ok(dMakerService.createDeveloper(request))));
+    }
+
+    //여러 명을 한번에 생성. 일부가 실패해도 나머지는 생성되고 항목별 결과를 내려줌.
+    @PostMapping("/developers/bulk")
+    public CompletableFuture<BulkCreateDeveloper.Response> createDevelopersInBulk(
+            @Valid @RequestBody final BulkCreateDeveloper.Request request
+    ){
+        log.info("POST /developers/bulk HTTP/1.1 size: {}", request.getDevelopers().size());
+
+        return dbRequestExecutor.supply(() ->
+                dMakerService.createDevelopers(request.getDevelopers()));
+    }
+
+    //여러 명의 레벨/기술을 한번에 변경. 연차가 새 레벨에 맞지 않는 개발자는 바뀌지 않고, 바뀐 수를 내려줌
+    @PatchMapping("/developers/bulk")
+    public CompletableFuture<BulkEditDeveloper.Response> editDevelopersInBulk(
+            @Valid @RequestBody final BulkEditDeveloper.Request request
+    ){
+        log.info("PATCH /developers/bulk HTTP/1.1 size: {}", request.getMemberIds().size());
+
+        return dbRequestExecutor.supply(() -> dMakerService.editDevelopers(request));
+    }
+
+    //여러 명을 한번에 퇴직 처리. 퇴직 처리된 수를 내려줌
+    @PostMapping("/developers/retire")
+    public CompletableFuture<RetireDevelopers.Response> retireDevelopers(
+            @Valid @RequestBody final RetireDevelopers.Request request
+    ){
+        log.info("POST /developers/retire HTTP/1.1 size: {}", request.getMemberIds().size());
+
+        return dbRequestExecutor.supply(() -> dMakerService.retireDevelopers(request));
     }
 
+    //If-Match: 조회 때 받은 ETag. 그 사이 다른 수정이 있었으면 412 (PRECONDITION_FAILED)
+    //If-Match가 없으면 마지막 수정이 반영됨 (충돌 시 서버에서 몇번 다시 시도)
     @PutMapping("/developer/{memberId}")
-    public DeveloperDetailDto editDeveloper(
+    public CompletableFuture<ResponseEntity<DeveloperDetailDto>> editDeveloper(
             @PathVariable final String memberId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey,
             @Valid @RequestBody final EditDeveloper.Request request
     ){
-        log.info("PUT HTTP/1.1");
+        log.info("PUT HTTP/1.1 If-Match: {}", ifMatch);
+        Long expectedVersion = versionFromETag(ifMatch);
 
-        return dMakerService.editDeveloper(memberId, request);
+        return dbRequestExecutor.supply(() -> idempotentRequestExecutor.execute(
+                idempotencyKey, "PUT /developer/" + memberId + " If-Match: " + ifMatch,
+                request, DeveloperDetailDto.class,
+                () -> toDetailResponse(
+                        dMakerService.editDeveloper(memberId, request, expectedVersion))));
     }
 
     @DeleteMapping("/developer/{memberId}")
-    public DeveloperDetailDto deleteDeveloper(
-        @PathVariable final String memberId
+    public CompletableFuture<ResponseEntity<DeveloperDetailDto>> deleteDeveloper(
+        @PathVariable final String memberId,
+        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey
     ){
-        return dMakerService.deleteDeveloper(memberId);
+        return dbRequestExecutor.supply(() -> idempotentRequestExecutor.execute(
+                idempotencyKey, "DELETE /developer/" + memberId, null, DeveloperDetailDto.class,
+                () -> ResponseEntity.ok(dMakerService.deleteDeveloper(memberId))));
     }
 
 
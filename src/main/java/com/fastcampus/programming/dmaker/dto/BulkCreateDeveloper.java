@@ -0,0 +1,85 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_BULK_CREATE_SIZE;
+
+/**
+ * @Author: kbs
+ */
+public class BulkCreateDeveloper {
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    @ToString
+    public static class Request{
+        //@Valid: 각 항목도 CreateDeveloper.Request와 똑같이 validation
+        @Valid
+        @NotNull
+        @Size(min = 1, max = MAX_BULK_CREATE_SIZE,
+                message = "developers size must be in 1~" + MAX_BULK_CREATE_SIZE)
+        private List<CreateDeveloper.Request> developers;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response{
+        private int successCount;
+        private int failureCount;
+        //요청 순서와 같은 순서로 항목별 결과
+        private List<Result> results;
+
+        public static Response fromResults(List<Result> results){
+            int successCount = (int) results.stream()
+                    .filter(Result::isSuccess)
+                    .count();
+            return Response.builder()
+                    .successCount(successCount)
+                    .failureCount(results.size() - successCount)
+                    .results(results)
+                    .build();
+        }
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Result{
+        private String memberId;
+        private boolean success;
+        private CreateDeveloper.Response developer;
+        private DMakerErrorCode errorCode;
+        private String errorMessage;
+
+        public static Result success(CreateDeveloper.Response developer){
+            return Result.builder()
+                    .memberId(developer.getMemberId())
+                    .success(true)
+                    .developer(developer)
+                    .build();
+        }
+
+        public static Result failure(String memberId, DMakerException e){
+            return Result.builder()
+                    .memberId(memberId)
+                    .success(false)
+                    .errorCode(e.getDMakerErrorCode())
+                    .errorMessage(e.getDetailMessage())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_BULK_UPDATE_SIZE;
+
+/**
+ * @Author: kbs
+ */
+//조직 개편 등으로 여러 명의 레벨/기술을 한번에 변경
+public class BulkEditDeveloper {
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    @ToString
+    public static class Request{
+        @NotNull
+        @Size(min = 1, max = MAX_BULK_UPDATE_SIZE,
+                message = "memberIds size must be in 1~" + MAX_BULK_UPDATE_SIZE)
+        private List<String> memberIds;
+        @NotNull
+        private DeveloperLevel developerLevel;
+        @NotNull
+        private DeveloperSkillType developerSkillType;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response{
+        //중복 제거한 요청 memberId 수
+        private int requestedCount;
+        //실제로 바뀐 row 수. 없는 memberId, 연차가 새 레벨에 맞지 않거나 이미 같은 값이면 제외
+        private int updatedCount;
+    }
+}
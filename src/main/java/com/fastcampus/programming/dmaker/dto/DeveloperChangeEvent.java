@@ -0,0 +1,61 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import com.fastcampus.programming.dmaker.code.DeveloperChangeType;
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * @Author: kbs
+ */
+//commit된 개발자 변경 하나. 변경 후의 값을 담음
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperChangeEvent {
+    //DeveloperChangeLog에 들어갈 때 붙는 순번 (인스턴스 안에서 1부터 증가)
+    private long seq;
+    private DeveloperChangeType eventType;
+    private LocalDateTime occurredAt;
+    private String memberId;
+    private DeveloperLevel developerLevel;
+    private DeveloperSkillType developerSkillType;
+    private Integer experienceYears;
+    private StatusCode statusCode;
+    //변경 후 version. consumer가 같은 memberId의 늦게 온/중복 이벤트를 거를 때 비교
+    private Long version;
+
+    public static DeveloperChangeEvent of(DeveloperChangeType eventType, Developer developer) {
+        return DeveloperChangeEvent.builder()
+                .eventType(eventType)
+                .memberId(developer.getMemberId())
+                .developerLevel(developer.getDeveloperLevel())
+                .developerSkillType(developer.getDeveloperSkillType())
+                .experienceYears(developer.getExperienceYears())
+                .statusCode(developer.getStatusCode())
+                .version(developer.getVersion())
+                .build();
+    }
+
+    //bulk 수정/퇴직처럼 entity 없이 DTO만 있는 경우. statusCode, version은 UPDATE 후의 값
+    public static DeveloperChangeEvent of(
+            DeveloperChangeType eventType, DeveloperChangeRowDto developer,
+            StatusCode statusCode, long version
+    ) {
+        return DeveloperChangeEvent.builder()
+                .eventType(eventType)
+                .memberId(developer.getMemberId())
+                .developerLevel(developer.getDeveloperLevel())
+                .developerSkillType(developer.getDeveloperSkillType())
+                .experienceYears(developer.getExperienceYears())
+                .statusCode(statusCode)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+/**
+ * @Author: kbs
+ */
+//bulk 수정/퇴직에서 roster와 변경 이벤트에 넘길 값. entity 없이 JPQL select new로 바로 받음
+//(DeveloperDto는 목록 응답/roster 비교용이라 연차를 넣지 않음)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperChangeRowDto {
+    private Long id;
+    private DeveloperLevel developerLevel;
+    private DeveloperSkillType developerSkillType;
+    private Integer experienceYears;
+    private String memberId;
+    private Long version;
+
+    //bulk 수정 UPDATE 후의 값 (UPDATE가 version을 1 올림)
+    public DeveloperChangeRowDto edited(
+            DeveloperLevel developerLevel, DeveloperSkillType developerSkillType
+    ) {
+        return DeveloperChangeRowDto.builder()
+                .id(id)
+                .developerLevel(developerLevel)
+                .developerSkillType(developerSkillType)
+                .experienceYears(experienceYears)
+                .memberId(memberId)
+                .version(version + 1)
+                .build();
+    }
+
+    public DeveloperDto toDeveloperDto() {
+        return DeveloperDto.builder()
+                .id(id)
+                .developerLevel(developerLevel)
+                .developerSkillType(developerSkillType)
+                .memberId(memberId)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * @Author: kbs
+ */
+//GET /developers/changes 응답
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperChanges {
+    private List<DeveloperChangeEvent> events;
+    //다음 요청의 sinceSeq. 이벤트가 없으면 요청한 sinceSeq 그대로
+    private Long nextSeq;
+}
@@ -0,0 +1,40 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Author: kbs
+ */
+//목록을 열 단위로: 필드 이름은 한번만 쓰고 값은 배열로. i번째 개발자 = 각 배열의 i번째 값
+//{"memberId":["a","b"],"developerLevel":["JUNIOR","SENIOR"],"developerSkillType":["BACK_END","FRONT_END"]}
+//CBOR로 내려줄 때는 enum이 ordinal(0, 1, ..)로 나감 (DeveloperColumnsCborConverter)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonPropertyOrder({"memberId", "developerLevel", "developerSkillType"})
+public class DeveloperColumns {
+    private List<String> memberId;
+    private List<DeveloperLevel> developerLevel;
+    private List<DeveloperSkillType> developerSkillType;
+
+    public static DeveloperColumns from(List<DeveloperDto> developers) {
+        DeveloperColumns columns = new DeveloperColumns(
+                new ArrayList<>(developers.size()),
+                new ArrayList<>(developers.size()),
+                new ArrayList<>(developers.size()));
+        for (DeveloperDto developer : developers) {
+            columns.memberId.add(developer.getMemberId());
+            columns.developerLevel.add(developer.getDeveloperLevel());
+            columns.developerSkillType.add(developer.getDeveloperSkillType());
+        }
+        return columns;
+    }
+}
@@ -4,6 +4,7 @@ import com.fastcampus.programming.dmaker.code.StatusCode;
 import com.fastcampus.programming.dmaker.entity.Developer;
 import com.fastcampus.programming.dmaker.type.DeveloperLevel;
 import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -28,6 +29,9 @@ public class DeveloperDetailDto {
         private StatusCode statusCode;
         private String name;
         private Integer age;
+        //응답 body에는 넣지 않고 ETag header로 내려줌
+        @JsonIgnore
+        private Long version;
 
     public static DeveloperDetailDto fromEntity(Developer developer){
         return DeveloperDetailDto.builder()
@@ -38,6 +42,7 @@ public class DeveloperDetailDto {
                 .statusCode(developer.getStatusCode())
                 .name(developer.getName())
                 .age(developer.getAge())
+                .version(developer.getVersion())
                 .build();
     }
 }
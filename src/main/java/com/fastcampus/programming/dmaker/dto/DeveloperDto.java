@@ -1,6 +1,7 @@
 package com.fastcampus.programming.dmaker.dto;
 
 import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fastcampus.programming.dmaker.type.DeveloperLevel;
 import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
 import lombok.*;
@@ -13,16 +14,25 @@ import lombok.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@EqualsAndHashCode //roster snapshot을 DB와 비교할 때 사용
 public class DeveloperDto {
+    //cursor pagination용. 응답에는 내려주지 않음.
+    @JsonIgnore
+    private Long id;
     private DeveloperLevel developerLevel;
     private DeveloperSkillType developerSkillType;
     private String memberId;
+    //roster에서 늦게 도착한 옛 변경을 버릴 때 비교. 응답에는 내려주지 않음.
+    @JsonIgnore
+    private Long version;
 
     public static DeveloperDto fromEntity(Developer developer){
         return DeveloperDto.builder()
+                .id(developer.getId())
                 .developerLevel(developer.getDeveloperLevel())
                 .developerSkillType(developer.getDeveloperSkillType())
                 .memberId(developer.getMemberId())
+                .version(developer.getVersion())
                 .build();
     }
 }
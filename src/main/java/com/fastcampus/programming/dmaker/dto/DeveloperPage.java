@@ -0,0 +1,22 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * @Author: kbs
+ */
+//keyset(cursor) pagination 결과.
+//nextCursor는 다음 페이지 요청 시 after로 넘겨줄 마지막 id. 마지막 페이지면 null.
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperPage {
+    private List<DeveloperDto> developers;
+    private Long nextCursor;
+    //roster snapshot에서 읽은 경우 그 snapshot의 version (ETag). DB에서 읽은 경우 null
+    private String eTag;
+}
@@ -0,0 +1,37 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.*;
+
+/**
+ * @Author: kbs
+ */
+//가져오기/내보내기 파일(CSV, NDJSON)의 한 행.
+//다른 곳으로 옮겼다가 다시 가져올 수 있도록 name, age도 포함 (그래서 일반 조회 응답에는 쓰지 않음)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonPropertyOrder({"memberId", "name", "age", "developerLevel", "developerSkillType", "experienceYears"})
+public class DeveloperRecord {
+    private String memberId;
+    private String name;
+    private Integer age;
+    private DeveloperLevel developerLevel;
+    private DeveloperSkillType developerSkillType;
+    private Integer experienceYears;
+
+    public CreateDeveloper.Request toCreateRequest(){
+        return CreateDeveloper.Request.builder()
+                .memberId(memberId)
+                .name(name)
+                .age(age)
+                .developerLevel(developerLevel)
+                .developerSkillType(developerSkillType)
+                .experienceYears(experienceYears)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @Author: kbs
+ */
+//통계는 cache된 값이므로 언제 계산된 값인지도 같이 내려줌
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperStatsDto {
+    private List<DeveloperStatsRowDto> stats;
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,24 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+/**
+ * @Author: kbs
+ */
+//레벨 x 기술 x 상태 별 인원수, 평균 연차.
+//DB에서 GROUP BY 결과를 바로 이 객체로 받음 (JPQL select new)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperStatsRowDto {
+    private DeveloperLevel developerLevel;
+    private DeveloperSkillType developerSkillType;
+    private StatusCode statusCode;
+    private Long headcount;
+    private Double averageExperienceYears;
+}
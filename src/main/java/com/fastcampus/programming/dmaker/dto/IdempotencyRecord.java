@@ -0,0 +1,29 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * @Author: kbs
+ */
+//Idempotency-Key 하나에 대해 저장해둔 응답 (IdempotencyStore)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IdempotencyRecord {
+    //같은 key로 다른 요청이 오는 것을 구분하기 위한 hash (method + path + body)
+    private String fingerprint;
+    //아직 처리 중이면 null
+    private Integer status;
+    private String eTag;
+    //응답 body JSON
+    private byte[] body;
+    private LocalDateTime createdAt;
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
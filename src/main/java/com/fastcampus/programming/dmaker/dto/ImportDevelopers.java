@@ -0,0 +1,53 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_IMPORT_FAILURES_REPORTED;
+
+/**
+ * @Author: kbs
+ */
+public class ImportDevelopers {
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response{
+        //resumeAfter 이하라서 건너뛴 행 수
+        private long skippedCount;
+        private long successCount;
+        private long failureCount;
+        //이 행 번호까지는 처리가 끝남 (commit 되었거나 실패로 기록됨). 다시 보낼 때 resumeAfter로 사용
+        private long checkpoint;
+        //끝까지 읽었으면 true. 중간에 끊겼으면 false -> checkpoint부터 다시
+        private boolean completed;
+        //앞에서부터 MAX_IMPORT_FAILURES_REPORTED 개까지만
+        @Builder.Default
+        private List<Failure> failures = new ArrayList<>();
+
+        public void addFailure(long recordNumber, String memberId,
+                               DMakerErrorCode errorCode, String errorMessage){
+            failureCount++;
+            if (failures.size() < MAX_IMPORT_FAILURES_REPORTED)
+                failures.add(new Failure(recordNumber, memberId, errorCode, errorMessage));
+        }
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Failure{
+        //header, 빈 줄을 빼고 1부터 센 행 번호
+        private long recordNumber;
+        private String memberId;
+        private DMakerErrorCode errorCode;
+        private String errorMessage;
+    }
+}
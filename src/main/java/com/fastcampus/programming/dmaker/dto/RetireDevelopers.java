@@ -0,0 +1,40 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_BULK_UPDATE_SIZE;
+
+/**
+ * @Author: kbs
+ */
+//여러 명을 한번에 퇴직 처리
+public class RetireDevelopers {
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    @ToString
+    public static class Request{
+        @NotNull
+        @Size(min = 1, max = MAX_BULK_UPDATE_SIZE,
+                message = "memberIds size must be in 1~" + MAX_BULK_UPDATE_SIZE)
+        private List<String> memberIds;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response{
+        //중복 제거한 요청 memberId 수
+        private int requestedCount;
+        //이번에 EMPLOYED -> RETIRED로 바뀐 row 수. 없거나 이미 퇴직한 memberId는 제외
+        private int retiredCount;
+    }
+}
@@ -0,0 +1,39 @@
+package com.fastcampus.programming.dmaker.dto;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+/**
+ * @Author: kbs
+ */
+public class SearchDeveloper {
+    //query parameter로 받는 검색 조건. 값이 없는 조건은 무시.
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    @ToString
+    public static class Request{
+        private DeveloperLevel level;
+        private DeveloperSkillType skill;
+        @Min(0)
+        @Max(20)
+        private Integer minYears;
+        @Min(0)
+        @Max(20)
+        private Integer maxYears;
+        //기본은 재직중인 개발자만
+        @Builder.Default
+        private StatusCode status = StatusCode.EMPLOYED;
+
+        //keyset pagination
+        private Long after;
+        private Integer limit;
+    }
+}
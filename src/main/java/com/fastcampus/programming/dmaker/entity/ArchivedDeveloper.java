@@ -0,0 +1,49 @@
+package com.fastcampus.programming.dmaker.entity;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ARCHIVED_DEVELOPER_MEMBER_ID_UNIQUE;
+
+/**
+ * @Author: kbs
+ */
+//보관 기간이 지난 퇴직자를 Developer 테이블에서 옮겨두는 곳 (DeveloperArchiver).
+//Developer와 같은 column + 옮긴 시각. id도 Developer의 id를 그대로 사용.
+//조회만 하고 수정하지 않음.
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = ARCHIVED_DEVELOPER_MEMBER_ID_UNIQUE, columnNames = "memberId"))
+public class ArchivedDeveloper {
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private DeveloperLevel developerLevel;
+
+    @Enumerated
+    private DeveloperSkillType developerSkillType;
+
+    private Integer experienceYears;
+    private String memberId;
+    private String name;
+    private Integer age;
+
+    @Enumerated(EnumType.STRING)
+    private StatusCode statusCode;
+
+    private Long version;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
+}
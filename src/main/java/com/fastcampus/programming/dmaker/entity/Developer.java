@@ -5,6 +5,10 @@ import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
 import com.fastcampus.programming.dmaker.type.DeveloperLevel;
 import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,6 +16,11 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEVELOPER_ENTITY_REGION;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEVELOPER_MEMBER_ID_REGION;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEVELOPER_MEMBER_ID_UNIQUE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ID_ALLOCATION_SIZE;
+
 @Getter
 @Setter
 @Builder
@@ -21,9 +30,29 @@ import java.time.LocalDateTime;
 @Entity
 @ToString
 @EntityListeners(AuditingEntityListener.class)
+//memberId로 조회/중복체크를 하므로 unique index. 중복 체크는 DB 제약조건에 맡김.
+//검색(/developers/search)용 복합 index: 항상 statusCode로 거르므로 맨 앞에 둠.
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = DEVELOPER_MEMBER_ID_UNIQUE, columnNames = "memberId"),
+        indexes = {
+                @Index(name = "ix_developer_status_level_skill",
+                        columnList = "statusCode, developerLevel, developerSkillType, experienceYears"),
+                @Index(name = "ix_developer_status_years",
+                        columnList = "statusCode, experienceYears"),
+                //재직자 목록 keyset pagination / roster 로딩용
+                @Index(name = "ix_developer_status_id",
+                        columnList = "statusCode, id")
+        })
+//2차 cache는 dmaker.cache.second-level.enabled=true 일 때만 (SecondLevelCacheConfig). 꺼져 있으면 무시됨
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = DEVELOPER_ENTITY_REGION)
+@NaturalIdCache(region = DEVELOPER_MEMBER_ID_REGION)
 public class Developer {
+    //IDENTITY는 INSERT를 해야 id를 알 수 있어서 JDBC batch insert가 불가능.
+    //sequence를 allocationSize 만큼 미리 받아두는 pooled 방식으로 id를 생성.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "developer_seq")
+    @SequenceGenerator(name = "developer_seq", sequenceName = "developer_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     protected Long id;
 
     @Enumerated(EnumType.STRING)
@@ -33,6 +62,8 @@ public class Developer {
     private DeveloperSkillType developerSkillType;
 
     private Integer experienceYears;
+    //한번 만들면 바뀌지 않는 natural id. memberId -> id도 2차 cache에 올라감
+    @NaturalId
     private String memberId;
     private String name;
     private Integer age;
@@ -40,6 +71,11 @@ public class Developer {
     @Enumerated(EnumType.STRING)
     private StatusCode statusCode;
 
+    //낙관적 lock. UPDATE 시 where version = ? 로 확인해서 그 사이 다른 수정이 있었으면 실패.
+    //(비관적 lock처럼 row를 잡고 기다리지 않음) ETag 값으로도 사용.
+    @Version
+    private Long version;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -0,0 +1,67 @@
+package com.fastcampus.programming.dmaker.entity;
+
+import com.fastcampus.programming.dmaker.code.DeveloperChangeType;
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeEvent;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ID_ALLOCATION_SIZE;
+
+/**
+ * @Author: kbs
+ */
+//JdbcDeveloperChangeSink가 이벤트를 쌓는 테이블.
+//eventSeq는 인스턴스마다/재시작하면 다시 1부터라 PK는 따로 (batch insert 가능한 sequence)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class DeveloperChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "developer_change_seq")
+    @SequenceGenerator(name = "developer_change_seq", sequenceName = "developer_change_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
+    protected Long id;
+
+    private Long eventSeq;
+
+    @Enumerated(EnumType.STRING)
+    private DeveloperChangeType eventType;
+
+    private LocalDateTime occurredAt;
+    private String memberId;
+
+    @Enumerated(EnumType.STRING)
+    private DeveloperLevel developerLevel;
+
+    @Enumerated(EnumType.STRING)
+    private DeveloperSkillType developerSkillType;
+
+    private Integer experienceYears;
+
+    @Enumerated(EnumType.STRING)
+    private StatusCode statusCode;
+
+    private Long version;
+
+    public static DeveloperChange fromEvent(DeveloperChangeEvent event) {
+        return DeveloperChange.builder()
+                .eventSeq(event.getSeq())
+                .eventType(event.getEventType())
+                .occurredAt(event.getOccurredAt())
+                .memberId(event.getMemberId())
+                .developerLevel(event.getDeveloperLevel())
+                .developerSkillType(event.getDeveloperSkillType())
+                .experienceYears(event.getExperienceYears())
+                .statusCode(event.getStatusCode())
+                .version(event.getVersion())
+                .build();
+    }
+}
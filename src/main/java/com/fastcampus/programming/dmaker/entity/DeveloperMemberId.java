@@ -0,0 +1,45 @@
+package com.fastcampus.programming.dmaker.entity;
+
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+/**
+ * @Author: kbs
+ */
+//한번이라도 쓰인 memberId. memberId가 PK라서 같은 memberId는 한번만 INSERT 성공.
+//Developer row는 archive로 옮겨가면(DeveloperArchiver) 사라지지만 여기는 남으므로
+//재직/퇴직/archive 상관없이 memberId 중복을 DB가 막아줌 (미리 SELECT로 확인하지 않음)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class DeveloperMemberId implements Persistable<String> {
+    @Id
+    private String memberId;
+
+    private LocalDateTime createdAt;
+
+    public static DeveloperMemberId of(String memberId) {
+        return DeveloperMemberId.builder()
+                .memberId(memberId)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Override
+    public String getId() {
+        return memberId;
+    }
+
+    //id를 직접 넣는 entity는 save()가 merge(SELECT 후 INSERT/UPDATE)로 동작함.
+    //항상 새로 INSERT 하도록 (이미 있으면 PK 위반 -> 중복)
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package com.fastcampus.programming.dmaker.entity;
+
+import com.fastcampus.programming.dmaker.code.OutboxEventType;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ID_ALLOCATION_SIZE;
+
+/**
+ * @Author: kbs
+ */
+//transactional outbox. Developer 변경과 같은 transaction에서 INSERT만 해두고,
+//후속 작업(RetiredDeveloper 생성 등)은 RetirementOutboxProcessor가 따로 묶어서 처리 후 삭제.
+//-> 요청 transaction이 짧아지고, commit된 변경의 후속 작업은 빠짐없이 처리됨.
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class DeveloperOutbox {
+    //Developer와 같은 이유로 batch insert 가능한 sequence 사용. id 순서 = 쌓인 순서
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "developer_outbox_seq")
+    @SequenceGenerator(name = "developer_outbox_seq", sequenceName = "developer_outbox_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
+    protected Long id;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    private String memberId;
+    private String name;
+
+    //처리 지연(lag) 계산에 사용
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,35 @@
+package com.fastcampus.programming.dmaker.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_IDEMPOTENCY_KEY_LENGTH;
+
+/**
+ * @Author: kbs
+ */
+//JdbcIdempotencyStore가 쓰는 테이블. Idempotency-Key가 PK라서 같은 key는 한 인스턴스만 INSERT 성공
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class IdempotentRequest {
+    @Id
+    @Column(length = MAX_IDEMPOTENCY_KEY_LENGTH)
+    private String idempotencyKey;
+
+    private String fingerprint;
+    //처리 중이면 null
+    private Integer status;
+    private String eTag;
+
+    @Lob
+    private byte[] body;
+
+    //ttl 지난 row 정리에 사용
+    private LocalDateTime createdAt;
+}
@@ -3,6 +3,10 @@ package com.fastcampus.programming.dmaker.entity;
 import com.fastcampus.programming.dmaker.type.DeveloperLevel;
 import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -10,6 +14,11 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ID_ALLOCATION_SIZE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.RETIRED_DEVELOPER_ENTITY_REGION;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.RETIRED_DEVELOPER_MEMBER_ID_REGION;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.RETIRED_DEVELOPER_MEMBER_ID_UNIQUE;
+
 @Getter
 @Setter
 @Builder
@@ -18,11 +27,20 @@ import java.time.LocalDateTime;
 //entity 사용 위해 Entity, EntityListener annotation 필요!
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = RETIRED_DEVELOPER_MEMBER_ID_UNIQUE, columnNames = "memberId"))
+//Developer와 같이 2차 cache (SecondLevelCacheConfig)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RETIRED_DEVELOPER_ENTITY_REGION)
+@NaturalIdCache(region = RETIRED_DEVELOPER_MEMBER_ID_REGION)
 public class RetiredDeveloper {
+    //Developer와 같은 이유로 batch insert 가능한 sequence 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "retired_developer_seq")
+    @SequenceGenerator(name = "retired_developer_seq", sequenceName = "retired_developer_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     protected Long id;
 
+    @NaturalId
     private String memberId;
     private String name;
 
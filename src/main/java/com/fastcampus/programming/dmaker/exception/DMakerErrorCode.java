@@ -12,7 +12,15 @@ public enum DMakerErrorCode {
     NO_DEVELOPER("해당되는 개발자가 없습니다."),
     DUPLICATED_MEMBER_ID("MemberID가 중복되는 개발자가 있습니다."),
     LEVEL_EXPERIENCE_YEARS_NOT_MATCHED("개발자 레벨과 연차가 맞지 않습니다."),
+    INVALID_IMPORT_RECORD("가져올 수 없는 행입니다."),
+    CONFLICTING_UPDATE("다른 요청이 먼저 개발자 정보를 수정했습니다. 다시 조회 후 시도해주세요."),
+    PRECONDITION_FAILED("If-Match의 ETag가 현재 개발자 정보와 다릅니다. 다시 조회 후 시도해주세요."),
+    IDEMPOTENCY_KEY_REUSED("같은 Idempotency-Key로 다른 요청이 이미 처리되었습니다."),
+    CHANGE_SEQ_EXPIRED("sinceSeq 이후 변경 이력이 남아있지 않습니다. 전체 목록을 다시 조회한 뒤 sinceSeq 없이 시작해주세요."),
+    IDEMPOTENT_REQUEST_IN_PROGRESS("같은 Idempotency-Key 요청을 처리 중입니다. 잠시 후 다시 시도해주세요."),
 
+    TOO_MANY_REQUESTS("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    SERVICE_OVERLOADED("서버에 요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
     INTERNAL_SERVER_ERROR("서버에 오류가 발생했습니다."),
     INVALID_REQUEST("잘못된 요청입니다.");
 
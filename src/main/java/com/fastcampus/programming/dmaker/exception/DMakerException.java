@@ -2,21 +2,40 @@ package com.fastcampus.programming.dmaker.exception;
 
 import lombok.Getter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+//business exception은 DMakerExceptionHandler에서 error code로만 바뀌고 stack trace는 쓰지 않음.
+//그래서 stack trace를 만들지 않고(writableStackTrace=false),
+//detail message가 없는 경우는 error code마다 하나씩 미리 만들어 둔 instance를 재사용 (of).
 @Getter
 public class DMakerException extends RuntimeException {
-    private DMakerErrorCode dMakerErrorCode;
-    private String detailMessage;
+    private static final Map<DMakerErrorCode, DMakerException> PREALLOCATED =
+            new EnumMap<>(DMakerErrorCode.class);
+
+    static {
+        for (DMakerErrorCode errorCode : DMakerErrorCode.values()) {
+            PREALLOCATED.put(errorCode, new DMakerException(errorCode));
+        }
+    }
+
+    private final DMakerErrorCode dMakerErrorCode;
+    private final String detailMessage;
 
     public DMakerException(DMakerErrorCode errorCode) {
-        super(errorCode.getMessage());
-        this.dMakerErrorCode = errorCode;
-        this.detailMessage = errorCode.getMessage();
+        this(errorCode, errorCode.getMessage());
     }
 
     public DMakerException(DMakerErrorCode errorCode,String detailMessage) {
-        super(detailMessage);
+        //cause 없음, suppressed/stack trace 기록 안 함 -> 여러 thread가 같이 던져도 상태가 바뀌지 않음
+        super(detailMessage, null, false, false);
         this.dMakerErrorCode = errorCode;
         this.detailMessage = detailMessage;
     }
 
+    //error code 기본 메시지로 던질 때는 이걸 사용 (매번 새로 만들지 않음)
+    public static DMakerException of(DMakerErrorCode errorCode) {
+        return PREALLOCATED.get(errorCode);
+    }
+
 }
@@ -1,18 +1,32 @@
 package com.fastcampus.programming.dmaker.exception;
 
 import com.fastcampus.programming.dmaker.dto.DMakerErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.RejectedExecutionException;
 
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ERROR_COUNTER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.RETRY_AFTER_SECONDS;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.CONFLICTING_UPDATE;
 import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.INTERNAL_SERVER_ERROR;
 import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.INVALID_REQUEST;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.PRECONDITION_FAILED;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.TOO_MANY_REQUESTS;
 
 /**
  * @Author: kbs
@@ -20,31 +34,73 @@ import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.INVALI
 //각 컨트롤러가 따로따로 가지고 있어야했을 exception handler를 하나로 사용할 수 있게 해줌.
 @Slf4j
 @RestControllerAdvice//각 컨트롤러에 advice를 해줌. bean으로 등록하기 위한 annotation
+@RequiredArgsConstructor
 public class DMakerExceptionHandler {
-    @ResponseStatus(value = HttpStatus.CONFLICT)
+    private final MeterRegistry meterRegistry;
+
+    //입력값이 잘못된 경우(INVALID_REQUEST) 400, If-Match가 맞지 않는 경우 412, 나머지는 409
     @ExceptionHandler(DMakerException.class)
-    public DMakerErrorResponse handleException(
+    public ResponseEntity<DMakerErrorResponse> handleException(
             DMakerException e,
             HttpServletRequest request) {
         log.error("errorcode: {}, url: {}, message: {}", e.getDMakerErrorCode(), request.getRequestURI(), e.getDetailMessage());
+        countError(e.getDMakerErrorCode());
 
-        return DMakerErrorResponse.builder()
+        return ResponseEntity.status(statusOf(e.getDMakerErrorCode())).body(DMakerErrorResponse.builder()
                 .errorCode(e.getDMakerErrorCode())
                 .errorMessage(e.getDetailMessage())
+                .build());
+    }
+
+    //수정/퇴직이 동시에 들어와서 commit 시점에 version이 이미 바뀐 경우 (ex. 동시에 DELETE)
+    @ResponseStatus(value = HttpStatus.CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public DMakerErrorResponse handleOptimisticLockingFailure(
+            OptimisticLockingFailureException e, HttpServletRequest request
+    ){
+        log.error("url: {}, message: {}", request.getRequestURI(), e.getMessage());
+
+        countError(CONFLICTING_UPDATE);
+        return DMakerErrorResponse.builder()
+                .errorCode(CONFLICTING_UPDATE)
+                .errorMessage(CONFLICTING_UPDATE.getMessage())
+                .build();
+    }
+
+    //DB 작업 queue가 꽉 참 (DbRequestExecutor). 기다리게 하지 않고 바로 거절해서 client가 나중에 다시 시도하게 함
+    @ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(RejectedExecutionException.class)
+    public DMakerErrorResponse handleRejectedExecution(
+            RejectedExecutionException e, HttpServletRequest request,
+            HttpServletResponse response
+    ){
+        log.warn("url: {}, message: {}", request.getRequestURI(), e.getMessage());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+
+        countError(TOO_MANY_REQUESTS);
+        return DMakerErrorResponse.builder()
+                .errorCode(TOO_MANY_REQUESTS)
+                .errorMessage(TOO_MANY_REQUESTS.getMessage())
                 .build();
     }
 
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
     @ExceptionHandler(value = {
             //controller에 정해진 http method가 아닌 다른 요청을 보내면 발생하는 exception
             HttpRequestMethodNotSupportedException.class,
             //JavaBean validation 할때 문제가 생기면 발생하는 exception
-            MethodArgumentNotValidException.class
+            MethodArgumentNotValidException.class,
+            //query parameter를 객체로 받을 때(@ModelAttribute) validation 실패
+            BindException.class,
+            //query parameter type이 안맞는 경우 (ex. 없는 enum 값)
+            MethodArgumentTypeMismatchException.class
     })
     public DMakerErrorResponse handleBadRequest(
             Exception e, HttpServletRequest request
     ){
         log.error("url: {}, message: {}", request.getRequestURI(), e.getMessage());
 
+        countError(INVALID_REQUEST);
         return DMakerErrorResponse.builder()
                 .errorCode(INVALID_REQUEST)
                 .errorMessage(INVALID_REQUEST.getMessage())
@@ -59,10 +115,21 @@ public class DMakerExceptionHandler {
     ){
         log.error("url: {}, message: {}", request.getRequestURI(), e.getMessage());
 
+        countError(INTERNAL_SERVER_ERROR);
         return DMakerErrorResponse.builder()
                 .errorCode(INTERNAL_SERVER_ERROR)
                 .errorMessage(INTERNAL_SERVER_ERROR.getMessage())
                 .build();
     }
 
+    private static HttpStatus statusOf(DMakerErrorCode errorCode) {
+        if (errorCode == INVALID_REQUEST) return HttpStatus.BAD_REQUEST;
+        if (errorCode == PRECONDITION_FAILED) return HttpStatus.PRECONDITION_FAILED;
+        return HttpStatus.CONFLICT;
+    }
+
+    //error code 별 발생 횟수 (dmaker_errors_total{errorCode="..."})
+    private void countError(DMakerErrorCode errorCode) {
+        meterRegistry.counter(ERROR_COUNTER, "errorCode", errorCode.name()).increment();
+    }
 }
@@ -0,0 +1,50 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperStatsRowDto;
+import com.fastcampus.programming.dmaker.entity.ArchivedDeveloper;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface ArchivedDeveloperRepository
+        extends JpaRepository<ArchivedDeveloper, Long>,
+        ArchivedDeveloperRepositoryCustom {
+
+    //상세 조회 fallback: Developer에 없으면 여기서 같은 DTO로
+    @Query("select new com.fastcampus.programming.dmaker.dto.DeveloperDetailDto("
+            + "a.developerLevel, a.developerSkillType, a.experienceYears, a.memberId, "
+            + "a.statusCode, a.name, a.age, a.version) "
+            + "from ArchivedDeveloper a where a.memberId = :memberId")
+    Optional<DeveloperDetailDto> findDetailByMemberId(@Param("memberId") String memberId);
+
+    //통계: Developer와 같은 GROUP BY (DeveloperStatsService에서 합침)
+    @Query("select new com.fastcampus.programming.dmaker.dto.DeveloperStatsRowDto("
+            + "a.developerLevel, a.developerSkillType, a.statusCode, count(a), avg(a.experienceYears)) "
+            + "from ArchivedDeveloper a "
+            + "group by a.developerLevel, a.developerSkillType, a.statusCode")
+    List<DeveloperStatsRowDto> countByLevelAndSkillTypeAndStatusCode();
+
+    //Developer row를 entity로 올리지 않고 INSERT ... SELECT로 그대로 복사
+    //쓰는 table만 query space로 (없으면 hibernate가 2차 cache region을 전부 비움)
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "archived_developer"))
+    @Query(nativeQuery = true, value = "insert into archived_developer "
+            + "(id, developer_level, developer_skill_type, experience_years, member_id, name, age, "
+            + "status_code, version, created_at, updated_at, archived_at) "
+            + "select id, developer_level, developer_skill_type, experience_years, member_id, name, age, "
+            + "status_code, version, created_at, updated_at, localtimestamp "
+            + "from developer where id in (:ids)")
+    int insertFromDeveloperByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,16 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.entity.ArchivedDeveloper;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * @Author: kbs
+ */
+public interface ArchivedDeveloperRepositoryCustom {
+    //퇴직자 검색에서 Developer 결과와 합치기 위한 keyset 조회 (DeveloperRepositoryCustom.findAllByKeyset과 같음).
+    //archive는 모두 퇴직자라 statusCode 조건 없이 id 순서
+    List<DeveloperDto> findAllByKeyset(Specification<ArchivedDeveloper> spec, Long after, int limit);
+}
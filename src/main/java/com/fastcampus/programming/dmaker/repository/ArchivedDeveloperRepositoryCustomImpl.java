@@ -0,0 +1,25 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.entity.ArchivedDeveloper;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+/**
+ * @Author: kbs
+ */
+public class ArchivedDeveloperRepositoryCustomImpl implements ArchivedDeveloperRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<DeveloperDto> findAllByKeyset(
+            Specification<ArchivedDeveloper> spec, Long after, int limit
+    ) {
+        return DeveloperRepositoryCustomImpl.findAllByKeyset(
+                entityManager, ArchivedDeveloper.class, null, spec, after, limit);
+    }
+}
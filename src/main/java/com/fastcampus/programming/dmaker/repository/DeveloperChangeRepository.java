@@ -0,0 +1,10 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.entity.DeveloperChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeveloperChangeRepository
+        extends JpaRepository<DeveloperChange, Long> {
+}
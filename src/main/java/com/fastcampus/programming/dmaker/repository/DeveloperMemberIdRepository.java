@@ -0,0 +1,19 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.entity.DeveloperMemberId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DeveloperMemberIdRepository
+        extends JpaRepository<DeveloperMemberId, String> {
+
+    //bulk 생성 시 이미 쓰인 memberId를 IN 쿼리 한번으로 (archive로 옮겨간 퇴직자 포함)
+    @Query("select m.memberId from DeveloperMemberId m where m.memberId in :memberIds")
+    List<String> findMemberIdsByMemberIdIn(@Param("memberIds") Collection<String> memberIds);
+}
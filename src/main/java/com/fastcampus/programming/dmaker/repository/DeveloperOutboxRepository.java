@@ -0,0 +1,41 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.entity.DeveloperOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface DeveloperOutboxRepository
+        extends JpaRepository<DeveloperOutbox, Long> {
+    //쌓인 순서대로 pageable 크기만큼 (PageRequest.of(0, batchSize))
+    List<DeveloperOutbox> findByOrderByIdAsc(Pageable pageable);
+
+    //아직 처리 안 된 것 중 가장 오래된 시각. 비어 있으면 null
+    @Query("select min(o.createdAt) from DeveloperOutbox o")
+    LocalDateTime findOldestCreatedAt();
+
+    //bulk 퇴직: Developer에서 바로 INSERT ... SELECT (entity를 올리지 않음)
+    //JPQL insert는 pooled sequence id를 만들 수 없어서 native query. 한 row마다 sequence 값을 하나씩 씀
+    //쓰는 table만 query space로 (없으면 hibernate가 2차 cache region을 전부 비움)
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "developer_outbox"))
+    @Query(nativeQuery = true, value = "insert into developer_outbox "
+            + "(id, event_type, member_id, name, created_at) "
+            + "select next value for developer_outbox_seq, :eventType, d.member_id, d.name, localtimestamp "
+            + "from developer d where d.id in (:ids)")
+    int insertEventsByDeveloperIdIn(
+            @Param("ids") Collection<Long> ids, @Param("eventType") String eventType
+    );
+}
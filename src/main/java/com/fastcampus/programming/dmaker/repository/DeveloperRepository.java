@@ -1,16 +1,40 @@
 package com.fastcampus.programming.dmaker.repository;
 
 import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeRowDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperRecord;
+import com.fastcampus.programming.dmaker.dto.DeveloperStatsRowDto;
 import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.STREAM_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface DeveloperRepository
-        extends JpaRepository<Developer, Long> {
+        extends JpaRepository<Developer, Long>,
+        JpaSpecificationExecutor<Developer>,
+        DeveloperRepositoryCustom {
     /**
      * Optional : NullPointerException 방지해줌
     null이 올 수 있는 값을 감싸는 Wrapper class.
@@ -20,7 +44,115 @@ public interface DeveloperRepository
     findBy 또는 countBy라는 규칙에 맞게 메서드를 작성하면 스프링이 자동 작성.
     이외에도 많으니 잘 보기
     어케 구현했죠 이걸?
+     findByMemberId는 2차 cache(natural id)를 쓰려고 DeveloperRepositoryCustom으로 옮김
      */
-    Optional<Developer> findByMemberId(String memberId);
-    List<Developer> findDevelopersByStatusCodeEquals(StatusCode statusCode);
+
+    //통계는 entity를 올려서 Java에서 묶지 않고 DB에서 GROUP BY로 계산
+    @Query("select new com.fastcampus.programming.dmaker.dto.DeveloperStatsRowDto("
+            + "d.developerLevel, d.developerSkillType, d.statusCode, count(d), avg(d.experienceYears)) "
+            + "from Developer d "
+            + "group by d.developerLevel, d.developerSkillType, d.statusCode")
+    List<DeveloperStatsRowDto> countByLevelAndSkillTypeAndStatusCode();
+
+    //상세 조회: 수정할 게 아니므로 entity 대신 필요한 column만 바로 DTO로 (persistence context에 안 올라감)
+    @Query("select new com.fastcampus.programming.dmaker.dto.DeveloperDetailDto("
+            + "d.developerLevel, d.developerSkillType, d.experienceYears, d.memberId, "
+            + "d.statusCode, d.name, d.age, d.version) "
+            + "from Developer d where d.memberId = :memberId")
+    Optional<DeveloperDetailDto> findDetailByMemberId(@Param("memberId") String memberId);
+
+    //keyset pagination: offset 대신 마지막으로 본 id 이후만 읽으므로 뒤 페이지도 느려지지 않음.
+    //pageable은 limit 용도로만 사용 (PageRequest.of(0, limit))
+    //목록에 필요한 column만 DTO로 읽어옴 (entity hydrate, dirty checking 없음)
+    //statusCode는 하나로 고정이라 결과는 id 순서와 같음. (statusCode, id) index 순서 그대로 정렬해야
+    //DB가 정렬 없이 index를 따라 limit 건만 읽음. (order by id만 쓰면 상태가 같은 row를 전부 읽고 정렬)
+    @Query("select new com.fastcampus.programming.dmaker.dto.DeveloperDto("
+            + "d.id, d.developerLevel, d.developerSkillType, d.memberId, d.version) "
+            + "from Developer d where d.statusCode = :statusCode and d.id > :id "
+            + "order by d.statusCode, d.id")
+    List<DeveloperDto> findDtosByStatusCodeAndIdGreaterThan(
+            @Param("statusCode") StatusCode statusCode, @Param("id") Long id, Pageable pageable
+    );
+
+    //전체를 List로 올리지 않고 cursor로 한 줄씩 읽어옴.
+    //반드시 transaction 안에서, try-with-resources로 닫아줘야 함.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new com.fastcampus.programming.dmaker.dto.DeveloperDto("
+            + "d.id, d.developerLevel, d.developerSkillType, d.memberId, d.version) "
+            + "from Developer d where d.statusCode = :statusCode order by d.statusCode, d.id")
+    Stream<DeveloperDto> streamByStatusCode(@Param("statusCode") StatusCode statusCode);
+
+    //내보내기용. streamByStatusCode와 같지만 다시 가져올 수 있게 모든 열을 읽음
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new com.fastcampus.programming.dmaker.dto.DeveloperRecord("
+            + "d.memberId, d.name, d.age, d.developerLevel, d.developerSkillType, d.experienceYears) "
+            + "from Developer d where d.statusCode = :statusCode order by d.statusCode, d.id")
+    Stream<DeveloperRecord> streamRecordsByStatusCode(@Param("statusCode") StatusCode statusCode);
+
+    //bulk 수정 대상: 재직 중이고 연차가 새 레벨 범위에 맞고 값이 실제로 바뀌는 개발자.
+    //먼저 읽어서 id로 UPDATE 하므로 바뀐 개발자만 roster/변경 이벤트에 넘길 수 있음
+    @Query("select new com.fastcampus.programming.dmaker.dto.DeveloperChangeRowDto("
+            + "d.id, d.developerLevel, d.developerSkillType, d.experienceYears, d.memberId, d.version) "
+            + "from Developer d where d.memberId in :memberIds and d.statusCode = :statusCode "
+            + "and d.experienceYears between :minExperienceYears and :maxExperienceYears "
+            + "and (d.developerLevel <> :developerLevel or d.developerSkillType <> :developerSkillType)")
+    List<DeveloperChangeRowDto> findChangeRowsToEdit(
+            @Param("memberIds") Collection<String> memberIds,
+            @Param("statusCode") StatusCode statusCode,
+            @Param("developerLevel") DeveloperLevel developerLevel,
+            @Param("developerSkillType") DeveloperSkillType developerSkillType,
+            @Param("minExperienceYears") int minExperienceYears,
+            @Param("maxExperienceYears") int maxExperienceYears
+    );
+
+    //bulk 수정/퇴직: entity를 하나씩 올려서 dirty checking 하지 않고 UPDATE 한번으로 처리.
+    //bulk UPDATE에는 @Version, auditing이 적용되지 않으므로 version, updatedAt은 직접 올려줌.
+    //그 사이 다른 요청이 같은 값으로 바꿨으면 건드리지 않음 (version 유지)
+    @Modifying
+    @Query("update Developer d set d.developerLevel = :developerLevel, "
+            + "d.developerSkillType = :developerSkillType, "
+            + "d.version = d.version + 1, d.updatedAt = :now "
+            + "where d.id in :ids "
+            + "and (d.developerLevel <> :developerLevel or d.developerSkillType <> :developerSkillType)")
+    int updateLevelAndSkillTypeByIdIn(
+            @Param("ids") Collection<Long> ids,
+            @Param("developerLevel") DeveloperLevel developerLevel,
+            @Param("developerSkillType") DeveloperSkillType developerSkillType,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("update Developer d set d.statusCode = :statusCode, "
+            + "d.version = d.version + 1, d.updatedAt = :now "
+            + "where d.id in :ids and d.statusCode <> :statusCode")
+    int updateStatusCodeByIdIn(
+            @Param("ids") Collection<Long> ids,
+            @Param("statusCode") StatusCode statusCode,
+            @Param("now") LocalDateTime now
+    );
+
+    //archive 대상: before 이전에 마지막으로 바뀐 퇴직자. (statusCode, id) index 순서로 pageable 크기만큼.
+    //옮기는 동안 수정되지 않도록 row lock (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d.id from Developer d "
+            + "where d.statusCode = :statusCode and d.updatedAt < :before "
+            + "order by d.statusCode, d.id")
+    List<Long> findIdsForArchive(
+            @Param("statusCode") StatusCode statusCode,
+            @Param("before") LocalDateTime before,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("delete from Developer d where d.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    //bulk 수정/퇴직에서 roster와 변경 이벤트에 넘길 값 (version, 연차 포함)
+    @Query("select new com.fastcampus.programming.dmaker.dto.DeveloperChangeRowDto("
+            + "d.id, d.developerLevel, d.developerSkillType, d.experienceYears, d.memberId, d.version) "
+            + "from Developer d where d.memberId in :memberIds and d.statusCode = :statusCode")
+    List<DeveloperChangeRowDto> findChangeRowsByMemberIdInAndStatusCode(
+            @Param("memberIds") Collection<String> memberIds,
+            @Param("statusCode") StatusCode statusCode
+    );
 }
@@ -0,0 +1,25 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.entity.Developer;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @Author: kbs
+ */
+//spring data가 자동으로 못 만들어주는 query는 여기에 선언하고 DeveloperRepositoryCustomImpl에서 직접 구현.
+public interface DeveloperRepositoryCustom {
+    //JpaSpecificationExecutor.findAll(spec, pageable)은 count query까지 날리므로
+    //keyset(id > after) + limit 으로만 읽어오는 버전. 목록용 DTO로 바로 읽어옴.
+    //statusCode는 spec과 따로 받음: 있으면 (statusCode, id) index 순서로 정렬 (null이면 전체, id 순서)
+    List<DeveloperDto> findAllByKeyset(
+            StatusCode statusCode, Specification<Developer> spec, Long after, int limit);
+
+    //수정/퇴직할 entity. 2차 cache가 켜져 있으면 natural id(memberId)로 읽어서 cache에 있으면 SQL 없음.
+    //2차 cache를 쓰려면 transaction 안에서 호출해야 함
+    Optional<Developer> findByMemberId(String memberId);
+}
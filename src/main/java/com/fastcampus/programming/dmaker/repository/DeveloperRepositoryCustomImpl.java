@@ -0,0 +1,87 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.entity.Developer;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.Optional;
+
+import static com.fastcampus.programming.dmaker.repository.DeveloperSpecifications.hasStatusCode;
+import static com.fastcampus.programming.dmaker.repository.DeveloperSpecifications.idGreaterThan;
+
+/**
+ * @Author: kbs
+ */
+public class DeveloperRepositoryCustomImpl implements DeveloperRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<DeveloperDto> findAllByKeyset(
+            StatusCode statusCode, Specification<Developer> spec, Long after, int limit
+    ) {
+        return findAllByKeyset(entityManager, Developer.class, statusCode, spec, after, limit);
+    }
+
+    //ArchivedDeveloperRepositoryCustomImpl과 같이 씀 (두 entity의 column 이름이 같음)
+    static <T> List<DeveloperDto> findAllByKeyset(
+            EntityManager entityManager, Class<T> entityClass,
+            StatusCode statusCode, Specification<T> spec, Long after, int limit
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DeveloperDto> query = builder.createQuery(DeveloperDto.class);
+        Root<T> root = query.from(entityClass);
+        query.select(builder.construct(DeveloperDto.class,
+                root.get("id"),
+                root.get("developerLevel"),
+                root.get("developerSkillType"),
+                root.get("memberId"),
+                root.get("version")));
+
+        Predicate predicate = Specification.<T>where(hasStatusCode(statusCode))
+                .and(spec)
+                .and(idGreaterThan(after))
+                .toPredicate(root, query, builder);
+        if (predicate != null) query.where(predicate);
+        //statusCode가 하나로 고정이면 결과는 id 순서와 같음. (statusCode, id) index 순서 그대로 정렬해야
+        //DB가 정렬 없이 index를 따라 limit 건만 읽음 (findDtosByStatusCodeAndIdGreaterThan과 같은 이유)
+        if (statusCode != null)
+            query.orderBy(builder.asc(root.get("statusCode")), builder.asc(root.get("id")));
+        else
+            query.orderBy(builder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<Developer> findByMemberId(String memberId) {
+        //2차 cache가 없으면 natural id 조회는 id를 찾는 SQL + entity SQL 두번이라 그냥 query 한번.
+        //memberId는 unique라 결과는 0~1건 (transaction 밖에서도 쓸 수 있게 stream 대신 list)
+        if (!isSecondLevelCacheEnabled())
+            return entityManager.createQuery(
+                            "select d from Developer d where d.memberId = :memberId", Developer.class)
+                    .setParameter("memberId", memberId)
+                    .getResultList().stream()
+                    .findFirst();
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Developer.class)
+                .loadOptional(memberId);
+    }
+
+    private boolean isSecondLevelCacheEnabled() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getSessionFactoryOptions().isSecondLevelCacheEnabled();
+    }
+}
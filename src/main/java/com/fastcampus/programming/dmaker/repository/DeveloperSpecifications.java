@@ -0,0 +1,47 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * @Author: kbs
+ */
+//검색 조건을 조합하기 위한 Specification 모음.
+//값이 null이면 조건을 걸지 않음 (Specification.where/and가 null을 무시해줌)
+//Developer와 ArchivedDeveloper는 column 이름이 같으므로 둘 다에 쓸 수 있게 type parameter로 받음
+public class DeveloperSpecifications {
+    private DeveloperSpecifications() {
+    }
+
+    public static <T> Specification<T> hasStatusCode(StatusCode statusCode) {
+        if (statusCode == null) return null;
+        return (root, query, builder) -> builder.equal(root.get("statusCode"), statusCode);
+    }
+
+    public static <T> Specification<T> hasDeveloperLevel(DeveloperLevel developerLevel) {
+        if (developerLevel == null) return null;
+        return (root, query, builder) -> builder.equal(root.get("developerLevel"), developerLevel);
+    }
+
+    public static <T> Specification<T> hasDeveloperSkillType(DeveloperSkillType developerSkillType) {
+        if (developerSkillType == null) return null;
+        return (root, query, builder) -> builder.equal(root.get("developerSkillType"), developerSkillType);
+    }
+
+    public static <T> Specification<T> experienceYearsAtLeast(Integer years) {
+        if (years == null) return null;
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get("experienceYears"), years);
+    }
+
+    public static <T> Specification<T> experienceYearsAtMost(Integer years) {
+        if (years == null) return null;
+        return (root, query, builder) -> builder.lessThanOrEqualTo(root.get("experienceYears"), years);
+    }
+
+    public static <T> Specification<T> idGreaterThan(Long id) {
+        if (id == null) return null;
+        return (root, query, builder) -> builder.greaterThan(root.get("id"), id);
+    }
+}
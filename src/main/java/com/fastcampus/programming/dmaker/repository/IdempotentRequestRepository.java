@@ -0,0 +1,30 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.entity.IdempotentRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotentRequestRepository
+        extends JpaRepository<IdempotentRequest, String> {
+    //처리 중(status null)이고 createdAt이 그대로일 때만 바꿈 (버려진 key 이어받기)
+    @Modifying
+    @Query("update IdempotentRequest r set r.createdAt = :now "
+            + "where r.idempotencyKey = :idempotencyKey and r.createdAt = :createdAt "
+            + "and r.status is null")
+    int updateCreatedAtIfInProgress(
+            @Param("idempotencyKey") String idempotencyKey,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("now") LocalDateTime now
+    );
+
+    //ttl이 지난 key 정리
+    @Modifying
+    @Query("delete from IdempotentRequest r where r.createdAt < :before")
+    int deleteByCreatedAtBefore(@Param("before") LocalDateTime before);
+}
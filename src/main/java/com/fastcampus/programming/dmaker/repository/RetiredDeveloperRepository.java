@@ -2,10 +2,18 @@ package com.fastcampus.programming.dmaker.repository;
 
 import com.fastcampus.programming.dmaker.entity.RetiredDeveloper;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface RetiredDeveloperRepository
         extends JpaRepository<RetiredDeveloper, Long> {
 
+    //outbox 처리 시 이미 만들어진 memberId는 건너뛰기 위해 (IN 쿼리 한번)
+    @Query("select r.memberId from RetiredDeveloper r where r.memberId in :memberIds")
+    List<String> findMemberIdsByMemberIdIn(@Param("memberIds") Collection<String> memberIds);
 }
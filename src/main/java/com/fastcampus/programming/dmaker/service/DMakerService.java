@@ -1,27 +1,71 @@
 package com.fastcampus.programming.dmaker.service;
 
+import com.fastcampus.programming.dmaker.code.DeveloperChangeType;
+import com.fastcampus.programming.dmaker.code.OutboxEventType;
 import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.config.ReadYourWrites;
+import com.fastcampus.programming.dmaker.config.ReplicaRoutingDataSource;
+import com.fastcampus.programming.dmaker.dto.BulkCreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.BulkEditDeveloper;
 import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeEvent;
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeRowDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperChanges;
 import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
 import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperPage;
+import com.fastcampus.programming.dmaker.dto.DeveloperRecord;
 import com.fastcampus.programming.dmaker.dto.EditDeveloper;
+import com.fastcampus.programming.dmaker.dto.RetireDevelopers;
+import com.fastcampus.programming.dmaker.dto.SearchDeveloper;
 import com.fastcampus.programming.dmaker.entity.Developer;
-import com.fastcampus.programming.dmaker.entity.RetiredDeveloper;
+import com.fastcampus.programming.dmaker.entity.DeveloperMemberId;
+import com.fastcampus.programming.dmaker.entity.DeveloperOutbox;
 import com.fastcampus.programming.dmaker.exception.DMakerException;
 import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
-import com.fastcampus.programming.dmaker.repository.RetiredDeveloperRepository;
+import com.fastcampus.programming.dmaker.repository.ArchivedDeveloperRepository;
+import com.fastcampus.programming.dmaker.repository.DeveloperMemberIdRepository;
+import com.fastcampus.programming.dmaker.repository.DeveloperOutboxRepository;
 import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import io.micrometer.core.annotation.Timed;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEFAULT_PAGE_LIMIT;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEVELOPER_DETAIL_CACHE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEVELOPER_MEMBER_ID_UNIQUE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_EDIT_ATTEMPTS;
 import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_JUNIOR_EXPERIENCE_YEARS;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_PAGE_LIMIT;
 import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MIN_SENIOR_EXPERIENCE_YEARS;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.SERVICE_TIMER;
 import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.*;
+import static com.fastcampus.programming.dmaker.repository.DeveloperSpecifications.*;
 
 @Service
 @RequiredArgsConstructor
@@ -36,18 +80,111 @@ public class DMakerService {
     //근데 이 constructor를 또 lombok annotation 통해 자동생성.
 
     private final DeveloperRepository developerRepository;
-    private final RetiredDeveloperRepository retiredDeveloperRepository;
+    private final DeveloperOutboxRepository developerOutboxRepository;
+    private final ArchivedDeveloperRepository archivedDeveloperRepository;
+    private final DeveloperMemberIdRepository developerMemberIdRepository;
+    private final EmployedDeveloperRoster employedDeveloperRoster;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadYourWrites readYourWrites;
+    private final DeveloperChangeLog developerChangeLog;
+
     @Transactional //AOP!!
     //여기 request에 @Valid 필요한지 안필요한지 생각하기.
+    //없는 개발자는 cache에 저장하지 않지만, 혹시 남아있을 수 있는 항목은 commit 후 제거
+    @CacheEvict(cacheNames = DEVELOPER_DETAIL_CACHE, key = "#request.memberId")
+    @Timed(SERVICE_TIMER)
     public CreateDeveloper.Response createDeveloper(
             CreateDeveloper.Request request
     ){
         validateCreateDeveloperRequest(request);
-        return CreateDeveloper.Response.fromEntity(
-                developerRepository.save(
-                        createDeveloperFromRequest(request)
-                )
-        );
+        readYourWrites.recordWrite(request.getMemberId());
+        //중복 여부는 미리 SELECT 하지 않고 DB 제약조건에 맡김.
+        //-> INSERT만으로 끝나고, 동시에 같은 memberId로 생성해도 하나만 성공.
+        claimMemberIds(Collections.singletonList(request.getMemberId()));
+        Developer developer;
+        try {
+            developer = developerRepository.saveAndFlush(
+                    createDeveloperFromRequest(request)
+            );
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicatedMemberId(e))
+                throw DMakerException.of(DUPLICATED_MEMBER_ID);
+            throw e;
+        }
+        applyChangesAfterCommit(DeveloperChangeType.DEVELOPER_CREATED,
+                Collections.singletonList(developer));
+        return CreateDeveloper.Response.fromEntity(developer);
+    }
+
+    //여러 명을 한 transaction에서 생성. 항목별로 성공/실패를 따로 돌려줌.
+    //1. 레벨-연차 검증 2. 중복 memberId는 IN 쿼리 한번으로 확인 3. batch insert
+    @Transactional
+    @Timed(SERVICE_TIMER)
+    public BulkCreateDeveloper.Response createDevelopers(
+            List<CreateDeveloper.Request> requests
+    ){
+        Set<String> requestedMemberIds = requests.stream()
+                .map(CreateDeveloper.Request::getMemberId)
+                .collect(Collectors.toSet());
+        Set<String> existingMemberIds = new HashSet<>(
+                developerMemberIdRepository.findMemberIdsByMemberIdIn(requestedMemberIds));
+
+        List<BulkCreateDeveloper.Result> results = new ArrayList<>(requests.size());
+        List<Developer> developers = new ArrayList<>(requests.size());
+        for (CreateDeveloper.Request request : requests) {
+            try {
+                validateCreateDeveloperRequest(request);
+                //DB에 이미 있거나, 같은 요청 안에서 앞에 나온 memberId면 중복
+                if (!existingMemberIds.add(request.getMemberId()))
+                    throw DMakerException.of(DUPLICATED_MEMBER_ID);
+
+                Developer developer = createDeveloperFromRequest(request);
+                developers.add(developer);
+                results.add(BulkCreateDeveloper.Result.success(
+                        CreateDeveloper.Response.fromEntity(developer)));
+            } catch (DMakerException e) {
+                results.add(BulkCreateDeveloper.Result.failure(request.getMemberId(), e));
+            }
+        }
+
+        readYourWrites.recordWrites(developers.stream()
+                .map(Developer::getMemberId)
+                .collect(Collectors.toList()));
+        //hibernate.jdbc.batch_size 단위로 INSERT를 묶어서 flush
+        claimMemberIds(developers.stream()
+                .map(Developer::getMemberId)
+                .collect(Collectors.toList()));
+        try {
+            applyChangesAfterCommit(DeveloperChangeType.DEVELOPER_CREATED,
+                    developerRepository.saveAllAndFlush(developers));
+        } catch (DataIntegrityViolationException e) {
+            //IN 쿼리 이후 다른 요청이 같은 memberId를 먼저 생성한 경우. 전체 rollback.
+            if (isDuplicatedMemberId(e))
+                throw DMakerException.of(DUPLICATED_MEMBER_ID);
+            throw e;
+        }
+        return BulkCreateDeveloper.Response.fromResults(results);
+    }
+
+    //memberId를 DeveloperMemberId(PK)에 먼저 INSERT. archive로 옮겨간 퇴직자의 memberId도 남아있으므로
+    //Developer의 unique 제약조건만으로 못 막는 중복도 여기서 막힘. 위반이면 이미 쓰인 memberId
+    private void claimMemberIds(List<String> memberIds) {
+        try {
+            developerMemberIdRepository.saveAllAndFlush(memberIds.stream()
+                    .map(DeveloperMemberId::of)
+                    .collect(Collectors.toList()));
+        } catch (DataIntegrityViolationException e) {
+            throw DMakerException.of(DUPLICATED_MEMBER_ID);
+        }
+    }
+
+    private boolean isDuplicatedMemberId(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) return false;
+        String constraintName =
+                ((ConstraintViolationException) e.getCause()).getConstraintName();
+        //DB마다 스키마명, 대소문자 등을 붙여서 돌려주므로 포함 여부로 비교
+        return constraintName != null && constraintName.toLowerCase()
+                .contains(DEVELOPER_MEMBER_ID_UNIQUE);
     }
 
     private Developer createDeveloperFromRequest(CreateDeveloper.Request request) {
@@ -71,55 +208,191 @@ public class DMakerService {
         request.getDeveloperLevel().validateExperienceYears(
                 request.getExperienceYears()
         );
-
-        //이미 중복되는 developer가 있으면 throw.
-        developerRepository.findByMemberId(request.getMemberId())
-                .ifPresent((developer -> {
-                    throw new DMakerException(DUPLICATED_MEMBER_ID);
-                }));
-//        원래는 아래처럼 씀. 근데 이걸 위처럼 하나로 쓸 수 있음.
-//        Optional<Developer> developer = developerRepository.findByMemberId(request.getMemberId());
-//        if(developer.isPresent())
-//            throw new DMakerException(DUPLICATED_MEMBER_ID);
     }
 
     //이거 어떻게 동작하는건지?
     //:: 표시 잘 모르겠음.
 
+    //전체 목록을 한번에 올리지 않고 id 기준 keyset pagination.
+    //after: 이전 페이지의 nextCursor (첫 페이지는 null)
+    //roster snapshot이 준비되어 있으면 DB를 타지 않고 메모리에서 바로 돌려줌.
+    //(그래서 transaction도 걸지 않음. DB 조회는 repository가 알아서 transaction 처리)
+    @Timed(SERVICE_TIMER)
+    public DeveloperPage getEmployedDevelopers(Long after, Integer limit) {
+        int pageLimit = validatePageLimit(limit);
+        if (employedDeveloperRoster.isReady())
+            return employedDeveloperRoster.page(after, pageLimit);
+
+        List<DeveloperDto> developers = developerRepository
+                .findDtosByStatusCodeAndIdGreaterThan(
+                        StatusCode.EMPLOYED,
+                        after == null ? 0L : after,
+                        PageRequest.of(0, pageLimit)
+                );
+
+        return toDeveloperPage(developers, pageLimit);
+    }
+
+    //레벨, 기술, 연차 범위, 상태로 검색. 조건 순서대로 복합 index를 탐.
     @Transactional(readOnly = true)
-    public List<DeveloperDto> getAllEmployedDevelopers() {
-        return developerRepository.findDevelopersByStatusCodeEquals(StatusCode.EMPLOYED)
-                .stream().map(DeveloperDto::fromEntity)
-                .collect(Collectors.toList());
+    @Timed(SERVICE_TIMER)
+    public DeveloperPage searchDevelopers(SearchDeveloper.Request request) {
+        int pageLimit = validatePageLimit(request.getLimit());
+        if (request.getMinYears() != null && request.getMaxYears() != null
+                && request.getMinYears() > request.getMaxYears())
+            throw new DMakerException(INVALID_REQUEST, "minYears must not be greater than maxYears");
+
+        //status는 정렬(index 순서)에도 쓰이므로 spec과 따로 넘김
+        List<DeveloperDto> developers = developerRepository.findAllByKeyset(
+                request.getStatus(), searchSpec(request), request.getAfter(), pageLimit);
+        //archive로 옮겨간 퇴직자도 퇴직자 검색에 포함. id는 Developer의 id 그대로라 id 순서로 합침
+        if (request.getStatus() == null || request.getStatus() == StatusCode.RETIRED)
+            developers = mergeById(developers, archivedDeveloperRepository.findAllByKeyset(
+                    searchSpec(request), request.getAfter(), pageLimit), pageLimit);
+
+        return toDeveloperPage(developers, pageLimit);
+    }
+
+    private static <T> Specification<T> searchSpec(SearchDeveloper.Request request) {
+        return Specification.<T>where(hasDeveloperLevel(request.getLevel()))
+                .and(hasDeveloperSkillType(request.getSkill()))
+                .and(experienceYearsAtLeast(request.getMinYears()))
+                .and(experienceYearsAtMost(request.getMaxYears()));
+    }
+
+    //id 순서로 정렬된 두 목록을 합쳐서 앞에서 limit 개. archive 중인 row가 양쪽에 보이면 한번만
+    private static List<DeveloperDto> mergeById(
+            List<DeveloperDto> first, List<DeveloperDto> second, int limit
+    ) {
+        if (second.isEmpty()) return first;
+        List<DeveloperDto> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0, j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            DeveloperDto next;
+            if (j >= second.size()) next = first.get(i++);
+            else if (i >= first.size()) next = second.get(j++);
+            else if (first.get(i).getId() <= second.get(j).getId()) next = first.get(i++);
+            else next = second.get(j++);
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getId().equals(next.getId()))
+                merged.add(next);
+        }
+        return merged;
+    }
+
+    private DeveloperPage toDeveloperPage(List<DeveloperDto> developers, int pageLimit) {
+        return DeveloperPage.builder()
+                .developers(developers)
+                .nextCursor(developers.size() < pageLimit ? null
+                        : developers.get(developers.size() - 1).getId())
+                .build();
+    }
+
+    private int validatePageLimit(Integer limit) {
+        if (limit == null) return DEFAULT_PAGE_LIMIT;
+        if (limit < 1 || limit > MAX_PAGE_LIMIT)
+            throw new DMakerException(INVALID_REQUEST,
+                    "limit must be in 1~" + MAX_PAGE_LIMIT);
+        return limit;
+    }
+
+    //JPA Stream으로 한 건씩 읽어서 consumer에 넘겨줌.
+    //entity가 아닌 DTO로 읽으므로 persistence context에 쌓이지 않음 -> 건수와 상관없이 메모리 일정.
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public void streamEmployedDevelopers(Consumer<DeveloperDto> consumer) {
+        try (Stream<DeveloperDto> developers =
+                     developerRepository.streamByStatusCode(StatusCode.EMPLOYED)) {
+            developers.forEach(consumer);
+        }
     }
+
+    //내보내기(DeveloperTransferService)용. 다시 가져올 수 있게 name, age까지 읽음
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public void streamEmployedDeveloperRecords(Consumer<DeveloperRecord> consumer) {
+        try (Stream<DeveloperRecord> developers =
+                     developerRepository.streamRecordsByStatusCode(StatusCode.EMPLOYED)) {
+            developers.forEach(consumer);
+        }
+    }
+
+    //sinceSeq 이후 생성/수정/퇴직 이벤트 (DB를 타지 않음). 없으면 새 이벤트가 올 때까지 기다렸다가 돌려줌
+    //sinceSeq가 없으면 기다리지 않고 지금 seq만 돌려줌 -> 전체 목록을 받은 뒤 그 seq부터 이어서 받으면 됨
+    public CompletableFuture<DeveloperChanges> pollDeveloperChanges(Long sinceSeq, Integer limit) {
+        int pageLimit = validatePageLimit(limit);
+        if (sinceSeq == null)
+            return CompletableFuture.completedFuture(DeveloperChanges.builder()
+                    .events(Collections.emptyList())
+                    .nextSeq(developerChangeLog.getLatestSeq())
+                    .build());
+        return developerChangeLog.poll(sinceSeq, pageLimit);
+    }
+
     //나중에 추가적인 기능이 들어갈 수 있으니 Transactional 삽입해놓음.
+    //프로필은 거의 안바뀌므로 memberId 기준으로 cache. 수정/삭제 시 commit 후 갱신됨.
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = DEVELOPER_DETAIL_CACHE, key = "#memberId")
+    @Timed(SERVICE_TIMER)
     public DeveloperDetailDto getDeveloperDetail(String memberId) {
         //findByMemberId는 optional이라 map함수 지원
         //developer null이면 NO_DEVELOPER Exception던져라.
-        return DeveloperDetailDto.fromEntity(getDeveloperByMemberId(memberId));
+        //조회만 하므로 entity 대신 DTO projection으로 바로 읽음
+        //없으면 archive로 옮겨간 퇴직자인지 확인
+        //readOnly라 replica에서 읽지만, 방금 이 memberId를 수정했으면 primary에서
+        try (ReplicaRoutingDataSource.Scope ignored =
+                     readYourWrites.primaryIfRecentlyWritten(memberId)) {
+            return developerRepository.findDetailByMemberId(memberId)
+                    .or(() -> archivedDeveloperRepository.findDetailByMemberId(memberId))
+                    .orElseThrow(() -> DMakerException.of(NO_DEVELOPER));
+        }
     }
 
     private Developer getDeveloperByMemberId(String memberId){
         return developerRepository.findByMemberId(memberId)
-                .orElseThrow(()-> new DMakerException(NO_DEVELOPER));
+                .orElseThrow(()-> DMakerException.of(NO_DEVELOPER));
     }
 
 
-    @Transactional
+    //수정된 결과로 cache 갱신
+    //expectedVersion(If-Match)이 있으면 그 version일 때만 수정하고, 다르면 바로 PRECONDITION_FAILED (412).
+    //없으면 요청 값으로 덮어쓰는 것이라 몇번 해도 결과가 같으므로(멱등) 충돌 시 새 transaction으로 다시 시도.
+    @CachePut(cacheNames = DEVELOPER_DETAIL_CACHE, key = "#memberId")
+    @Timed(SERVICE_TIMER)
     public DeveloperDetailDto editDeveloper(
-            String memberId, EditDeveloper.Request request
+            String memberId, EditDeveloper.Request request, Long expectedVersion
     ) {
         request.getDeveloperLevel().validateExperienceYears(
                 request.getExperienceYears()
         );
 
-        return DeveloperDetailDto.fromEntity(
-                getUpdatedDeveloperFromRequest(
-                        request,
-                        getDeveloperByMemberId(memberId)
-                )
-        );
+        readYourWrites.recordWrite(memberId);
+        int maxAttempts = expectedVersion == null ? MAX_EDIT_ATTEMPTS : 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                //@Transactional은 같은 class 안에서 호출하면 적용이 안되므로 시도마다 transactionTemplate 사용
+                return transactionTemplate.execute(status ->
+                        editDeveloperInTransaction(memberId, request, expectedVersion));
+            } catch (OptimisticLockingFailureException e) {
+                //If-Match가 있으면 읽은 뒤 commit 전에 다른 수정이 먼저 들어간 것이므로 역시 412
+                if (expectedVersion != null) throw DMakerException.of(PRECONDITION_FAILED);
+                if (attempt >= maxAttempts) throw DMakerException.of(CONFLICTING_UPDATE);
+            }
+        }
+    }
+
+    private DeveloperDetailDto editDeveloperInTransaction(
+            String memberId, EditDeveloper.Request request, Long expectedVersion
+    ) {
+        Developer developer = getDeveloperByMemberId(memberId);
+        if (expectedVersion != null && !expectedVersion.equals(developer.getVersion()))
+            throw DMakerException.of(PRECONDITION_FAILED);
+
+        getUpdatedDeveloperFromRequest(request, developer);
+        //UPDATE를 여기서 보내서 충돌을 바로 알고, 올라간 version을 응답(ETag)에 담음
+        developerRepository.flush();
+        applyChangesAfterCommit(DeveloperChangeType.DEVELOPER_EDITED,
+                Collections.singletonList(developer));
+        return DeveloperDetailDto.fromEntity(developer);
     }
 
     private Developer getUpdatedDeveloperFromRequest(EditDeveloper.Request request, Developer developer) {
@@ -132,23 +405,164 @@ public class DMakerService {
 
 
     @Transactional //JPA 더티체킹도 이 annotation으로 적용됨.
+    @CachePut(cacheNames = DEVELOPER_DETAIL_CACHE, key = "#memberId")
+    @Timed(SERVICE_TIMER)
     public DeveloperDetailDto deleteDeveloper(String memberId) {
+        readYourWrites.recordWrite(memberId);
         //1. EMPLOYED -> RETIRED
         //이렇게만 해도 Transaction이 있기 때문에 이 메소드가 종료되면 자동으로 retired로 커밋
         //즉 하나의 작업 예약한 것.
-        Developer developer = developerRepository.findByMemberId(memberId)
-                .orElseThrow(() -> new DMakerException(NO_DEVELOPER));
+        Developer developer = developerRepository.findByMemberId(memberId).orElse(null);
+        //archive로 옮겨간 경우도 이미 퇴직한 것이므로 그대로 반환
+        if (developer == null)
+            return archivedDeveloperRepository.findDetailByMemberId(memberId)
+                    .orElseThrow(() -> DMakerException.of(NO_DEVELOPER));
+        //이미 퇴직 처리된 경우 outbox에 또 쌓지 않고 그대로 반환
+        if (developer.getStatusCode() == StatusCode.RETIRED)
+            return DeveloperDetailDto.fromEntity(developer);
         developer.setStatusCode(StatusCode.RETIRED);
         //만약 이 시점에서 throw exception 발생하면? -> rollback 일어남.
         //즉, 이전에 했던 setStatuscode 다 취소. if throw -> rollback.
 
-        //2. save into RetiredDeveloper
-        RetiredDeveloper retiredDeveloper = RetiredDeveloper.builder()
+        //2. RetiredDeveloper는 여기서 만들지 않고 같은 transaction에서 outbox에만 기록
+        //-> RetirementOutboxProcessor가 나중에 모아서 생성 (요청 transaction을 짧게)
+        developerOutboxRepository.save(DeveloperOutbox.builder()
+                .eventType(OutboxEventType.DEVELOPER_RETIRED)
                 .memberId(memberId)
                 .name(developer.getName())
-                .build();
-        retiredDeveloperRepository.save(retiredDeveloper);
+                .build());
+        //UPDATE를 여기서 보내서 올라간 version을 roster에 넘김
+        developerRepository.flush();
+        applyChangesAfterCommit(DeveloperChangeType.DEVELOPER_RETIRED,
+                Collections.singletonList(developer));
         return DeveloperDetailDto.fromEntity(developer);
     }
+
+    //여러 명의 레벨/기술을 UPDATE 한번으로 변경: 1. 바뀔 개발자 조회 2. id로 UPDATE 한번
+    //재직 중이 아니거나 연차가 새 레벨에 맞지 않거나 이미 같은 값인 개발자는 조회 조건에서 걸러짐.
+    //바뀐 memberId를 일일이 evict 하지 않고 상세 cache는 전부 비움 (조직 개편처럼 가끔 있는 작업)
+    @Transactional
+    @CacheEvict(cacheNames = DEVELOPER_DETAIL_CACHE, allEntries = true)
+    @Timed(SERVICE_TIMER)
+    public BulkEditDeveloper.Response editDevelopers(BulkEditDeveloper.Request request) {
+        Set<String> memberIds = new HashSet<>(request.getMemberIds());
+        readYourWrites.recordWrites(memberIds);
+        DeveloperLevel developerLevel = request.getDeveloperLevel();
+        DeveloperSkillType developerSkillType = request.getDeveloperSkillType();
+        List<DeveloperChangeRowDto> developers = developerRepository.findChangeRowsToEdit(
+                memberIds,
+                StatusCode.EMPLOYED,
+                developerLevel,
+                developerSkillType,
+                developerLevel.getMinExperienceYears(),
+                developerLevel.getMaxExperienceYears()
+        );
+
+        int updatedCount = 0;
+        if (!developers.isEmpty()) {
+            updatedCount = developerRepository.updateLevelAndSkillTypeByIdIn(
+                    developers.stream()
+                            .map(DeveloperChangeRowDto::getId)
+                            .collect(Collectors.toList()),
+                    developerLevel,
+                    developerSkillType,
+                    LocalDateTime.now()
+            );
+
+            //bulk UPDATE는 persistence context를 거치지 않으므로 바뀐 값을 직접 만들어서 roster와 이벤트에 넘김.
+            //그 사이 다른 요청이 먼저 바꾼 개발자가 섞여도 roster와 consumer는 version으로 걸러냄
+            List<DeveloperChangeRowDto> edited = developers.stream()
+                    .map(developer -> developer.edited(developerLevel, developerSkillType))
+                    .collect(Collectors.toList());
+            List<EmployedDeveloperRoster.RosterEntry> changes = edited.stream()
+                    .map(developer -> EmployedDeveloperRoster.RosterEntry.employed(
+                            developer.toDeveloperDto()))
+                    .collect(Collectors.toList());
+            List<DeveloperChangeEvent> events = edited.stream()
+                    .map(developer -> DeveloperChangeEvent.of(DeveloperChangeType.DEVELOPER_EDITED,
+                            developer, StatusCode.EMPLOYED, developer.getVersion()))
+                    .collect(Collectors.toList());
+            runAfterCommit(() -> {
+                employedDeveloperRoster.apply(changes);
+                developerChangeLog.publish(events);
+            });
+        }
+        return BulkEditDeveloper.Response.builder()
+                .requestedCount(memberIds.size())
+                .updatedCount(updatedCount)
+                .build();
+    }
+
+    //여러 명을 한번에 퇴직 처리: 1. 재직중인 id 조회 2. UPDATE 한번 3. outbox INSERT ... SELECT 한번
+    //RetiredDeveloper는 deleteDeveloper와 마찬가지로 RetirementOutboxProcessor가 만듦
+    @Transactional
+    @CacheEvict(cacheNames = DEVELOPER_DETAIL_CACHE, allEntries = true)
+    @Timed(SERVICE_TIMER)
+    public RetireDevelopers.Response retireDevelopers(RetireDevelopers.Request request) {
+        Set<String> memberIds = new HashSet<>(request.getMemberIds());
+        readYourWrites.recordWrites(memberIds);
+        List<DeveloperChangeRowDto> developers = developerRepository
+                .findChangeRowsByMemberIdInAndStatusCode(memberIds, StatusCode.EMPLOYED);
+        List<Long> ids = developers.stream()
+                .map(DeveloperChangeRowDto::getId)
+                .collect(Collectors.toList());
+
+        int retiredCount = 0;
+        if (!ids.isEmpty()) {
+            retiredCount = developerRepository
+                    .updateStatusCodeByIdIn(ids, StatusCode.RETIRED, LocalDateTime.now());
+            //그 사이 다른 요청이 먼저 퇴직시킨 경우 이벤트가 한번 더 쌓여도 processor에서 memberId로 걸러짐
+            developerOutboxRepository.insertEventsByDeveloperIdIn(
+                    ids, OutboxEventType.DEVELOPER_RETIRED.name());
+
+            //UPDATE가 version을 1 올림
+            List<EmployedDeveloperRoster.RosterEntry> changes = developers.stream()
+                    .map(developer -> EmployedDeveloperRoster.RosterEntry.retired(
+                            developer.getId(), developer.getVersion() + 1))
+                    .collect(Collectors.toList());
+            List<DeveloperChangeEvent> events = developers.stream()
+                    .map(developer -> DeveloperChangeEvent.of(DeveloperChangeType.DEVELOPER_RETIRED,
+                            developer, StatusCode.RETIRED, developer.getVersion() + 1))
+                    .collect(Collectors.toList());
+            runAfterCommit(() -> {
+                employedDeveloperRoster.apply(changes);
+                developerChangeLog.publish(events);
+            });
+        }
+        return RetireDevelopers.Response.builder()
+                .requestedCount(memberIds.size())
+                .retiredCount(retiredCount)
+                .build();
+    }
+
+    //commit된 변경만 roster snapshot에 반영하고 변경 이벤트로 내보냄 (rollback 되면 둘 다 안함)
+    //entity는 commit 후에 바뀌지 않도록 지금 값으로 만들어 둠
+    private void applyChangesAfterCommit(DeveloperChangeType changeType, List<Developer> developers) {
+        List<EmployedDeveloperRoster.RosterEntry> changes = developers.stream()
+                .map(EmployedDeveloperRoster.RosterEntry::of)
+                .collect(Collectors.toList());
+        List<DeveloperChangeEvent> events = developers.stream()
+                .map(developer -> DeveloperChangeEvent.of(changeType, developer))
+                .collect(Collectors.toList());
+        runAfterCommit(() -> {
+            employedDeveloperRoster.apply(changes);
+            developerChangeLog.publish(events);
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        //transaction 밖에서 호출된 경우는 바로 실행
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
 }
 
@@ -0,0 +1,107 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.repository.ArchivedDeveloperRepository;
+import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ARCHIVED_COUNTER;
+
+/**
+ * @Author: kbs
+ */
+//퇴직 후 retention 보다 오래된 Developer row를 ArchivedDeveloper로 옮김.
+//Developer 테이블에는 재직자 위주로만 남아서 목록/검색 index가 퇴직자 때문에 커지지 않음.
+//- batch 하나가 transaction 하나: 대상 row lock -> INSERT ... SELECT -> DELETE
+//- batch 사이에 pause 만큼 쉬고, 한번 돌 때 max-batches-per-run 까지만 (요청 처리와 DB를 나눠 씀)
+@Slf4j
+@Component
+public class DeveloperArchiver {
+    private final DeveloperRepository developerRepository;
+    private final ArchivedDeveloperRepository archivedDeveloperRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final Duration pauseBetweenBatches;
+    private final int maxBatchesPerRun;
+    private final Counter archivedCounter;
+
+    public DeveloperArchiver(
+            DeveloperRepository developerRepository,
+            ArchivedDeveloperRepository archivedDeveloperRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${dmaker.archive.retention}") Duration retention,
+            @Value("${dmaker.archive.batch-size}") int batchSize,
+            @Value("${dmaker.archive.pause-between-batches}") Duration pauseBetweenBatches,
+            @Value("${dmaker.archive.max-batches-per-run}") int maxBatchesPerRun
+    ) {
+        this.developerRepository = developerRepository;
+        this.archivedDeveloperRepository = archivedDeveloperRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.pauseBetweenBatches = pauseBetweenBatches;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.archivedCounter = meterRegistry.counter(ARCHIVED_COUNTER);
+    }
+
+    @Scheduled(
+            initialDelayString = "${dmaker.archive.interval-ms}",
+            fixedDelayString = "${dmaker.archive.interval-ms}"
+    )
+    public void archivePeriodically() {
+        try {
+            int archived = archive(LocalDateTime.now().minus(retention));
+            if (archived > 0) log.info("archived {} retired developers", archived);
+        } catch (RuntimeException e) {
+            log.warn("failed to archive retired developers. retry on next run", e);
+        }
+    }
+
+    //before 이전에 마지막으로 바뀐 퇴직자를 옮김. 옮긴 건수를 돌려줌
+    public int archive(LocalDateTime before) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (batch > 0 && !pause()) break;
+            int archived = transactionTemplate.execute(status -> archiveBatch(before));
+            total += archived;
+            if (archived < batchSize) break;
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime before) {
+        List<Long> ids = developerRepository.findIdsForArchive(
+                StatusCode.RETIRED, before, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) return 0;
+
+        //lock을 잡은 row만 복사/삭제하므로 두 건수는 항상 같음
+        archivedDeveloperRepository.insertFromDeveloperByIdIn(ids);
+        int archived = developerRepository.deleteByIdIn(ids);
+        archivedCounter.increment(archived);
+        return archived;
+    }
+
+    //interrupt 되면 false (종료 중)
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseBetweenBatches.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
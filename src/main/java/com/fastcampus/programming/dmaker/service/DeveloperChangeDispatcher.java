@@ -0,0 +1,97 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeEvent;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.CHANGES_DELIVERED_COUNTER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.CHANGES_DROPPED_COUNTER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.CHANGES_SINK_LAG_GAUGE;
+
+/**
+ * @Author: kbs
+ */
+//DeveloperChangeLog의 이벤트를 batch-size 단위로 DeveloperChangeSink에 넘김 (sink가 없으면 아무것도 안 함)
+//- sink가 가져갈 수 있는 만큼만 넘김: 앞 batch가 성공해야 다음 batch. 실패하면 같은 batch를 다음 주기에 다시
+//- 요청 thread는 ring buffer에 넣기만 하고 sink를 기다리지 않음. 대신 sink가 buffer-size 이상 밀리면
+//  덮어써진 이벤트는 건너뛰고 dmaker.changes.dropped로 셈
+@Slf4j
+@Component
+public class DeveloperChangeDispatcher {
+    private final DeveloperChangeLog developerChangeLog;
+    //dmaker.changes.sink: none이면 null
+    private final DeveloperChangeSink developerChangeSink;
+    private final int batchSize;
+    private final Counter deliveredCounter;
+    private final Counter droppedCounter;
+    //여기까지 sink에 넘김
+    private volatile long deliveredSeq;
+
+    public DeveloperChangeDispatcher(
+            DeveloperChangeLog developerChangeLog,
+            ObjectProvider<DeveloperChangeSink> developerChangeSink,
+            MeterRegistry meterRegistry,
+            @Value("${dmaker.changes.batch-size}") int batchSize
+    ) {
+        this.developerChangeLog = developerChangeLog;
+        this.developerChangeSink = developerChangeSink.getIfAvailable();
+        this.batchSize = batchSize;
+        this.deliveredCounter = meterRegistry.counter(CHANGES_DELIVERED_COUNTER);
+        this.droppedCounter = meterRegistry.counter(CHANGES_DROPPED_COUNTER);
+        this.deliveredSeq = developerChangeLog.getLatestSeq();
+        if (this.developerChangeSink != null) {
+            Gauge.builder(CHANGES_SINK_LAG_GAUGE, this,
+                            dispatcher -> developerChangeLog.getLatestSeq() - dispatcher.deliveredSeq)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dmaker.changes.poll-interval-ms}")
+    public void dispatchPeriodically() {
+        if (developerChangeSink == null) return;
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            log.warn("failed to deliver developer changes. retry on next poll", e);
+        }
+    }
+
+    //밀린 이벤트를 다 넘기고 넘긴 건수를 돌려줌. 같은 batch를 두번 넘기지 않도록 한번에 하나만
+    public synchronized int dispatch() {
+        int total = 0;
+        while (true) {
+            List<DeveloperChangeEvent> events;
+            try {
+                skipOverwritten();
+                events = developerChangeLog.read(deliveredSeq, batchSize).getEvents();
+            } catch (DMakerException e) {
+                //읽는 사이에 덮어써짐. 다시 건너뛰고 읽음
+                continue;
+            }
+            if (events.isEmpty()) return total;
+
+            developerChangeSink.deliver(events);
+            deliveredSeq = events.get(events.size() - 1).getSeq();
+            deliveredCounter.increment(events.size());
+            total += events.size();
+        }
+    }
+
+    private void skipOverwritten() {
+        long oldestSeq = developerChangeLog.getOldestSeq();
+        if (deliveredSeq >= oldestSeq - 1) return;
+        long dropped = oldestSeq - 1 - deliveredSeq;
+        log.warn("developer change sink is too slow. dropped {} events", dropped);
+        droppedCounter.increment(dropped);
+        deliveredSeq = oldestSeq - 1;
+    }
+}
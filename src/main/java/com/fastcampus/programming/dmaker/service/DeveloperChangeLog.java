@@ -0,0 +1,130 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeEvent;
+import com.fastcampus.programming.dmaker.dto.DeveloperChanges;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.CHANGE_SEQ_EXPIRED;
+
+/**
+ * @Author: kbs
+ */
+//commit된 개발자 변경 이벤트를 최근 buffer-size 개만 메모리에 보관하는 ring buffer.
+//- seq는 1부터 하나씩 증가. seq의 자리는 seq & mask -> 가득 차면 가장 오래된 것부터 덮어씀
+//- 쓰기(publish)는 commit 후에만 불리므로 lock 하나로 충분. 읽기는 lock 없이
+//  (latestSeq를 volatile로 먼저 읽으면 그 전에 쓴 자리는 보임. 읽는 사이 덮어써졌으면 seq로 알아챔)
+//- 기다리는 long-poll 요청은 publish 할 때 깨움
+//인스턴스 메모리라 인스턴스마다 seq가 따로이고 재시작하면 1부터 다시 (다른 곳으로 보내려면 DeveloperChangeSink)
+@Component
+public class DeveloperChangeLog {
+    private final DeveloperChangeEvent[] buffer;
+    private final int mask;
+    private final Duration longPollTimeout;
+    //마지막으로 넣은 이벤트의 seq. 없으면 0
+    private volatile long latestSeq;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    public DeveloperChangeLog(
+            @Value("${dmaker.changes.buffer-size}") int bufferSize,
+            @Value("${dmaker.changes.long-poll-timeout}") Duration longPollTimeout
+    ) {
+        //2의 거듭제곱으로 올림 (나머지 대신 & 로 자리 계산)
+        int capacity = 1;
+        while (capacity < bufferSize) capacity <<= 1;
+        this.buffer = new DeveloperChangeEvent[capacity];
+        this.mask = capacity - 1;
+        this.longPollTimeout = longPollTimeout;
+    }
+
+    //seq, occurredAt을 붙여서 넣음. 넣은 뒤에는 이벤트를 바꾸지 않음
+    public void publish(List<DeveloperChangeEvent> events) {
+        if (events.isEmpty()) return;
+        synchronized (this) {
+            long seq = latestSeq;
+            LocalDateTime now = LocalDateTime.now();
+            for (DeveloperChangeEvent event : events) {
+                event.setSeq(++seq);
+                event.setOccurredAt(now);
+                buffer[(int) (seq & mask)] = event;
+            }
+            latestSeq = seq;
+        }
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) waiter.wake();
+    }
+
+    public long getLatestSeq() {
+        return latestSeq;
+    }
+
+    //아직 덮어써지지 않은 가장 오래된 seq
+    public long getOldestSeq() {
+        return Math.max(1, latestSeq - buffer.length + 1);
+    }
+
+    //sinceSeq 다음부터 limit 개. sinceSeq가 이미 덮어써졌거나 모르는 seq(재시작 전 seq 등)면 CHANGE_SEQ_EXPIRED
+    public DeveloperChanges read(long sinceSeq, int limit) {
+        long latest = latestSeq;
+        if (sinceSeq > latest || sinceSeq < latest - buffer.length)
+            throw DMakerException.of(CHANGE_SEQ_EXPIRED);
+
+        List<DeveloperChangeEvent> events =
+                new ArrayList<>((int) Math.min(limit, latest - sinceSeq));
+        for (long seq = sinceSeq + 1; seq <= latest && events.size() < limit; seq++) {
+            DeveloperChangeEvent event = buffer[(int) (seq & mask)];
+            //읽는 사이에 새 이벤트로 덮어써짐
+            if (event == null || event.getSeq() != seq)
+                throw DMakerException.of(CHANGE_SEQ_EXPIRED);
+            events.add(event);
+        }
+        return DeveloperChanges.builder()
+                .events(events)
+                .nextSeq(events.isEmpty() ? sinceSeq : events.get(events.size() - 1).getSeq())
+                .build();
+    }
+
+    //sinceSeq 이후 이벤트가 있으면 바로, 없으면 새 이벤트가 들어오거나 long-poll-timeout이 될 때까지 기다림
+    public CompletableFuture<DeveloperChanges> poll(long sinceSeq, int limit) {
+        DeveloperChanges changes = read(sinceSeq, limit);
+        if (!changes.getEvents().isEmpty()) return CompletableFuture.completedFuture(changes);
+
+        Waiter waiter = new Waiter(sinceSeq, limit);
+        waiters.add(waiter);
+        //queue에 넣는 사이에 publish가 끝났을 수 있으므로 다시 확인
+        if (latestSeq > sinceSeq) waiter.wake();
+        waiter.result
+                .completeOnTimeout(changes, longPollTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, e) -> waiters.remove(waiter));
+        return waiter.result;
+    }
+
+    private class Waiter {
+        private final long sinceSeq;
+        private final int limit;
+        private final CompletableFuture<DeveloperChanges> result = new CompletableFuture<>();
+
+        Waiter(long sinceSeq, int limit) {
+            this.sinceSeq = sinceSeq;
+            this.limit = limit;
+        }
+
+        void wake() {
+            try {
+                result.complete(read(sinceSeq, limit));
+            } catch (DMakerException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
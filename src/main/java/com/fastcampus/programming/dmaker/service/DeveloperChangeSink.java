@@ -0,0 +1,16 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeEvent;
+
+import java.util.List;
+
+/**
+ * @Author: kbs
+ */
+//DeveloperChangeDispatcher가 변경 이벤트를 batch로 넘기는 곳. dmaker.changes.sink 로 구현 선택
+//- file: FileDeveloperChangeSink (NDJSON 파일, 로컬 확인용)
+//- jdbc: JdbcDeveloperChangeSink (developer_change 테이블)
+//실패하면 exception을 던짐 -> 같은 batch를 다음 주기에 다시 넘김 (같은 이벤트가 두번 갈 수 있으므로 seq로 거를 것)
+public interface DeveloperChangeSink {
+    void deliver(List<DeveloperChangeEvent> events);
+}
@@ -0,0 +1,321 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperRecord;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.INVALID_IMPORT_RECORD;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.INVALID_REQUEST;
+
+/**
+ * @Author: kbs
+ */
+//DeveloperRecord를 CSV, NDJSON으로 한 행씩 읽고 씀. 전체를 메모리에 올리지 않음
+//- CSV: 첫 줄은 header. 가져올 때는 header 이름으로 열을 찾으므로 순서는 상관없음.
+//  "로 감싼 값 안의 , "" 줄바꿈을 처리함 (값 안의 줄바꿈은 \n으로 읽음)
+//- NDJSON: 한 줄에 JSON object 하나
+@Component
+@RequiredArgsConstructor
+public class DeveloperRecordCodec {
+    public enum Format {
+        CSV, NDJSON;
+
+        //파일로 가져오기/내보내기 할 때: 확장자가 .csv면 CSV, 아니면 NDJSON
+        public static Format fromFileName(String fileName) {
+            return fileName.toLowerCase().endsWith(".csv") ? CSV : NDJSON;
+        }
+    }
+
+    //내보낼 때 CSV 열 순서 (DeveloperRecord의 JSON 순서와 같게)
+    static final List<String> CSV_COLUMNS = Arrays.asList(
+            "memberId", "name", "age", "developerLevel", "developerSkillType", "experienceYears");
+    //age는 CreateDeveloper.Request에서도 optional
+    private static final List<String> REQUIRED_CSV_COLUMNS = Arrays.asList(
+            "memberId", "name", "developerLevel", "developerSkillType", "experienceYears");
+
+    private final ObjectMapper objectMapper;
+
+    public interface RecordReader {
+        //다음 행. 끝이면 null.
+        //형식이 잘못된 행은 INVALID_IMPORT_RECORD를 던지고, 그 다음 행부터 계속 읽을 수 있음
+        DeveloperRecord next() throws IOException;
+
+        //지금까지 읽은 행 수 = 마지막으로 읽은 행 번호 (header, 빈 줄 제외)
+        long getRecordNumber();
+    }
+
+    public interface RecordWriter {
+        void write(DeveloperRecord record) throws IOException;
+
+        //남은 buffer를 내보냄. 대상 stream은 닫지 않음 (연 쪽에서 닫음)
+        void finish() throws IOException;
+    }
+
+    //CSV header에 필요한 열이 없으면 INVALID_REQUEST (한 행도 읽지 않음)
+    public RecordReader reader(Format format, InputStream inputStream) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return format == Format.CSV ? new CsvRecordReader(reader) : new NdjsonRecordReader(reader);
+    }
+
+    public RecordWriter writer(Format format, OutputStream outputStream) throws IOException {
+        return format == Format.CSV ? new CsvRecordWriter(outputStream) : new NdjsonRecordWriter(outputStream);
+    }
+
+    //빈 줄은 건너뛰고 한 행씩 parse
+    private abstract static class LineRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private long recordNumber;
+
+        LineRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public DeveloperRecord next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+            } while (line.trim().isEmpty());
+            recordNumber++;
+            return parse(continueRecord(line));
+        }
+
+        //한 행이 여러 줄에 걸치면 나머지 줄을 이어 붙임. 기본은 한 줄 = 한 행
+        String continueRecord(String line) throws IOException {
+            return line;
+        }
+
+        @Override
+        public long getRecordNumber() {
+            return recordNumber;
+        }
+
+        String readLine() throws IOException {
+            return reader.readLine();
+        }
+
+        abstract DeveloperRecord parse(String line);
+    }
+
+    private class NdjsonRecordReader extends LineRecordReader {
+        private final ObjectReader recordReader = objectMapper.readerFor(DeveloperRecord.class);
+
+        NdjsonRecordReader(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        DeveloperRecord parse(String line) {
+            try {
+                DeveloperRecord record = recordReader.readValue(line);
+                //"null" 한 줄 (끝을 뜻하는 null과 구분)
+                if (record == null)
+                    throw new DMakerException(INVALID_IMPORT_RECORD, "not a json object");
+                return record;
+            } catch (JsonProcessingException e) {
+                throw new DMakerException(INVALID_IMPORT_RECORD, e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static class CsvRecordReader extends LineRecordReader {
+        //열 이름 -> 몇번째 값인지
+        private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+        CsvRecordReader(BufferedReader reader) throws IOException {
+            super(reader);
+            String header = readLine();
+            if (header == null) return;
+            //Excel 등에서 저장한 UTF-8 BOM
+            if (header.startsWith("\uFEFF")) header = header.substring(1);
+            List<String> columns = splitLine(header);
+            for (int i = 0; i < columns.size(); i++) {
+                columnIndexes.put(columns.get(i).trim(), i);
+            }
+            List<String> missingColumns = REQUIRED_CSV_COLUMNS.stream()
+                    .filter(column -> !columnIndexes.containsKey(column))
+                    .collect(Collectors.toList());
+            if (!missingColumns.isEmpty())
+                throw new DMakerException(INVALID_REQUEST, "missing csv columns: " + missingColumns);
+        }
+
+        //"로 감싼 값 안에서 줄이 끝났으면 " 개수가 짝수가 될 때까지 다음 줄을 이어 붙임
+        //("" 는 2개로 세므로 짝/홀만 보면 됨)
+        @Override
+        String continueRecord(String line) throws IOException {
+            long quotes = countQuotes(line);
+            if (quotes % 2 == 0) return line;
+            StringBuilder record = new StringBuilder(line);
+            while (quotes % 2 != 0) {
+                String next = readLine();
+                if (next == null)
+                    throw new DMakerException(INVALID_IMPORT_RECORD, "unterminated quoted value");
+                record.append('\n').append(next);
+                quotes += countQuotes(next);
+            }
+            return record.toString();
+        }
+
+        private static long countQuotes(String line) {
+            return line.chars().filter(c -> c == '"').count();
+        }
+
+        @Override
+        DeveloperRecord parse(String line) {
+            List<String> values = splitLine(line);
+            return DeveloperRecord.builder()
+                    .memberId(value(values, "memberId"))
+                    .name(value(values, "name"))
+                    .age(intValue(values, "age"))
+                    .developerLevel(enumValue(values, "developerLevel", DeveloperLevel.class))
+                    .developerSkillType(enumValue(values, "developerSkillType", DeveloperSkillType.class))
+                    .experienceYears(intValue(values, "experienceYears"))
+                    .build();
+        }
+
+        //없거나 빈 값이면 null
+        private String value(List<String> values, String column) {
+            Integer index = columnIndexes.get(column);
+            if (index == null || index >= values.size()) return null;
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private Integer intValue(List<String> values, String column) {
+            String value = value(values, column);
+            if (value == null) return null;
+            try {
+                return Integer.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new DMakerException(INVALID_IMPORT_RECORD, column + " is not a number: " + value);
+            }
+        }
+
+        private <E extends Enum<E>> E enumValue(List<String> values, String column, Class<E> type) {
+            String value = value(values, column);
+            if (value == null) return null;
+            try {
+                return Enum.valueOf(type, value);
+            } catch (IllegalArgumentException e) {
+                throw new DMakerException(INVALID_IMPORT_RECORD, "unknown " + column + ": " + value);
+            }
+        }
+    }
+
+    //a,"b,c","d""e" -> [a, b,c, d"e] (여러 줄에 걸친 행도 이어 붙인 뒤 그대로 나눔)
+    static List<String> splitLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static class CsvRecordWriter implements RecordWriter {
+        private final Writer writer;
+
+        CsvRecordWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(
+                    new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writeLine(CSV_COLUMNS);
+        }
+
+        @Override
+        public void write(DeveloperRecord record) throws IOException {
+            writeLine(Arrays.asList(
+                    record.getMemberId(),
+                    record.getName(),
+                    record.getAge(),
+                    record.getDeveloperLevel(),
+                    record.getDeveloperSkillType(),
+                    record.getExperienceYears()));
+        }
+
+        private void writeLine(List<?> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) writer.write(',');
+                if (values.get(i) != null) writer.write(escape(values.get(i).toString()));
+            }
+            writer.write('\n');
+        }
+
+        //, " 줄바꿈이 있으면 "로 감싸고 안의 "는 ""로
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+                return value;
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private class NdjsonRecordWriter implements RecordWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRecordWriter(OutputStream outputStream) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(DeveloperRecord record) throws IOException {
+            generator.writeObject(record);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperStatsDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperStatsRowDto;
+import com.fastcampus.programming.dmaker.repository.ArchivedDeveloperRepository;
+import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Author: kbs
+ */
+//dashboard용 통계. 대시보드가 자주 polling 하므로 매번 DB를 치지 않도록 cache.
+//- refresh-after 가 지나면 다음 요청은 이전 값을 바로 받고, 재계산은 background에서 한번만 돎.
+//- expire-after 까지 아무도 안 읽으면 버림 (다음 요청은 직접 계산될 때까지 기다림)
+//- archive로 옮겨간 퇴직자도 포함 (두 테이블의 GROUP BY 결과를 같은 그룹끼리 합침)
+@Service
+public class DeveloperStatsService {
+    private static final String STATS_KEY = "all";
+
+    private final DeveloperRepository developerRepository;
+    private final ArchivedDeveloperRepository archivedDeveloperRepository;
+    private final LoadingCache<String, DeveloperStatsDto> statsCache;
+
+    public DeveloperStatsService(
+            DeveloperRepository developerRepository,
+            ArchivedDeveloperRepository archivedDeveloperRepository,
+            MeterRegistry meterRegistry,
+            @Value("${dmaker.stats.refresh-after}") Duration refreshAfter,
+            @Value("${dmaker.stats.expire-after}") Duration expireAfter
+    ) {
+        this.developerRepository = developerRepository;
+        this.archivedDeveloperRepository = archivedDeveloperRepository;
+        this.statsCache = Caffeine.newBuilder()
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build(key -> computeStats());
+        CaffeineCacheMetrics.monitor(meterRegistry, statsCache, "developerStats");
+    }
+
+    public DeveloperStatsDto getDeveloperStats() {
+        return statsCache.get(STATS_KEY);
+    }
+
+    private DeveloperStatsDto computeStats() {
+        return DeveloperStatsDto.builder()
+                .stats(merge(developerRepository.countByLevelAndSkillTypeAndStatusCode(),
+                        archivedDeveloperRepository.countByLevelAndSkillTypeAndStatusCode()))
+                .computedAt(LocalDateTime.now())
+                .build();
+    }
+
+    //레벨 x 기술 x 상태가 같은 행은 인원수를 더하고 평균 연차는 인원수로 가중 평균
+    private static List<DeveloperStatsRowDto> merge(
+            List<DeveloperStatsRowDto> developers, List<DeveloperStatsRowDto> archived
+    ) {
+        if (archived.isEmpty()) return developers;
+        Map<List<Object>, DeveloperStatsRowDto> rows = new LinkedHashMap<>();
+        for (DeveloperStatsRowDto row : developers) rows.put(groupOf(row), row);
+        for (DeveloperStatsRowDto row : archived) {
+            rows.merge(groupOf(row), row, (kept, other) -> {
+                long headcount = kept.getHeadcount() + other.getHeadcount();
+                double totalYears = averageYears(kept) * kept.getHeadcount()
+                        + averageYears(other) * other.getHeadcount();
+                return new DeveloperStatsRowDto(kept.getDeveloperLevel(), kept.getDeveloperSkillType(),
+                        kept.getStatusCode(), headcount, totalYears / headcount);
+            });
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    private static List<Object> groupOf(DeveloperStatsRowDto row) {
+        return Arrays.asList(row.getDeveloperLevel(), row.getDeveloperSkillType(), row.getStatusCode());
+    }
+
+    //연차가 모두 null이면 avg도 null
+    private static double averageYears(DeveloperStatsRowDto row) {
+        return row.getAverageExperienceYears() == null ? 0.0 : row.getAverageExperienceYears();
+    }
+}
@@ -0,0 +1,112 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.ImportDevelopers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * @Author: kbs
+ */
+//파일로 가져오기/내보내기를 CLI로 실행하고 끝나면 종료 (option이 없으면 평소처럼 server로 동작)
+//java -jar dmaker.jar --spring.main.web-application-type=none --import-file=developers.csv
+//java -jar dmaker.jar --spring.main.web-application-type=none --export-file=developers.ndjson
+//확장자가 .csv면 CSV, 아니면 NDJSON.
+//가져오기는 chunk가 commit될 때마다 <파일>.checkpoint에 행 번호를 써둠
+//-> 중간에 죽어도 같은 명령을 다시 실행하면 거기서부터 이어서 (다 끝나면 checkpoint 파일은 지움)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeveloperTransferRunner implements ApplicationRunner {
+    static final String IMPORT_FILE_OPTION = "import-file";
+    static final String EXPORT_FILE_OPTION = "export-file";
+    static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    private final DeveloperTransferService developerTransferService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String importFile = optionValue(args, IMPORT_FILE_OPTION);
+        String exportFile = optionValue(args, EXPORT_FILE_OPTION);
+        if (importFile == null && exportFile == null) return;
+
+        boolean succeeded = importFile != null
+                ? importFrom(Paths.get(importFile))
+                : exportTo(Paths.get(exportFile));
+        System.exit(SpringApplication.exit(context, () -> succeeded ? 0 : 1));
+    }
+
+    private static String optionValue(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    //끝까지 읽었으면 true (실패한 행이 있어도). 실패한 행은 log로 남김
+    boolean importFrom(Path file) throws IOException {
+        Path checkpointFile = Paths.get(file + CHECKPOINT_SUFFIX);
+        long resumeAfter = readCheckpoint(checkpointFile);
+        if (resumeAfter > 0) log.info("resume import of {} after record {}", file, resumeAfter);
+
+        ImportDevelopers.Response response;
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
+            response = developerTransferService.importDevelopers(
+                    DeveloperRecordCodec.Format.fromFileName(file.toString()), inputStream, resumeAfter,
+                    checkpoint -> writeCheckpoint(checkpointFile, checkpoint));
+        }
+
+        for (ImportDevelopers.Failure failure : response.getFailures()) {
+            log.warn("record {} ({}) failed: {} {}", failure.getRecordNumber(), failure.getMemberId(),
+                    failure.getErrorCode(), failure.getErrorMessage());
+        }
+        log.info("import of {}: completed={}, success={}, failure={}, skipped={}, checkpoint={}",
+                file, response.isCompleted(), response.getSuccessCount(), response.getFailureCount(),
+                response.getSkippedCount(), response.getCheckpoint());
+        if (response.isCompleted()) Files.deleteIfExists(checkpointFile);
+        return response.isCompleted();
+    }
+
+    boolean exportTo(Path file) throws IOException {
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file))) {
+            long count = developerTransferService.exportDevelopers(
+                    DeveloperRecordCodec.Format.fromFileName(file.toString()), outputStream);
+            log.info("exported {} developers to {}", count, file);
+        }
+        return true;
+    }
+
+    private static long readCheckpoint(Path checkpointFile) throws IOException {
+        if (!Files.exists(checkpointFile)) return 0;
+        return Long.parseLong(new String(
+                Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8).trim());
+    }
+
+    //임시 파일에 쓰고 바꿔치기 -> 쓰다가 죽어도 이전 checkpoint는 남아있음
+    private static void writeCheckpoint(Path checkpointFile, long checkpoint) {
+        try {
+            Path tempFile = Paths.get(checkpointFile + ".tmp");
+            Files.write(tempFile, Long.toString(checkpoint).getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, checkpointFile,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
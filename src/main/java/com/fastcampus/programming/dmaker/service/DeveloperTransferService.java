@@ -0,0 +1,187 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.BulkCreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.DeveloperRecord;
+import com.fastcampus.programming.dmaker.dto.ImportDevelopers;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_BULK_CREATE_SIZE;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.DUPLICATED_MEMBER_ID;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.INVALID_IMPORT_RECORD;
+
+/**
+ * @Author: kbs
+ */
+//파일(CSV, NDJSON)로 개발자를 한꺼번에 가져오기/내보내기. 어느 쪽도 전체를 메모리에 올리지 않음
+//- 가져오기: 한 행씩 읽어서 CreateDeveloper.Request validation -> chunk-size 개씩 createDevelopers
+//  (chunk 하나가 transaction 하나. 레벨-연차, 중복 memberId는 거기서 항목별로 걸러짐)
+//  chunk가 commit될 때마다 checkpoint(행 번호)가 올라감 -> 끊기면 resumeAfter=checkpoint로 이어서
+//- 내보내기: 재직자를 DB cursor에서 읽는 대로 바로 씀
+@Slf4j
+@Service
+public class DeveloperTransferService {
+    private final DMakerService dMakerService;
+    private final DeveloperRecordCodec developerRecordCodec;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public DeveloperTransferService(
+            DMakerService dMakerService,
+            DeveloperRecordCodec developerRecordCodec,
+            Validator validator,
+            @Value("${dmaker.import.chunk-size}") int chunkSize
+    ) {
+        //chunk의 memberId로 IN 쿼리를 하므로 bulk 생성과 같은 한도
+        if (chunkSize < 1 || chunkSize > MAX_BULK_CREATE_SIZE)
+            throw new IllegalArgumentException("import chunk-size must be in 1~" + MAX_BULK_CREATE_SIZE);
+        this.dMakerService = dMakerService;
+        this.developerRecordCodec = developerRecordCodec;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportDevelopers.Response importDevelopers(
+            DeveloperRecordCodec.Format format, InputStream inputStream, long resumeAfter
+    ) throws IOException {
+        return importDevelopers(format, inputStream, resumeAfter, checkpoint -> { });
+    }
+
+    //resumeAfter: 이 행 번호까지는 이전에 처리했으므로 건너뜀 (처음이면 0)
+    //checkpointListener: checkpoint가 올라갈 때마다 호출 (CLI는 파일에 써둠)
+    //읽다가 끊기거나 chunk commit이 실패하면 거기서 멈추고 completed=false로 돌려줌
+    public ImportDevelopers.Response importDevelopers(
+            DeveloperRecordCodec.Format format, InputStream inputStream, long resumeAfter,
+            LongConsumer checkpointListener
+    ) throws IOException {
+        DeveloperRecordCodec.RecordReader reader = developerRecordCodec.reader(format, inputStream);
+        ImportDevelopers.Response response = ImportDevelopers.Response.builder()
+                .checkpoint(resumeAfter)
+                .build();
+        List<CreateDeveloper.Request> chunk = new ArrayList<>(chunkSize);
+        List<Long> recordNumbers = new ArrayList<>(chunkSize);
+
+        try {
+            while (true) {
+                DeveloperRecord record;
+                try {
+                    record = reader.next();
+                } catch (DMakerException e) {
+                    if (reader.getRecordNumber() > resumeAfter)
+                        response.addFailure(reader.getRecordNumber(), null,
+                                e.getDMakerErrorCode(), e.getDetailMessage());
+                    continue;
+                }
+                if (record == null) break;
+
+                long recordNumber = reader.getRecordNumber();
+                if (recordNumber <= resumeAfter) {
+                    response.setSkippedCount(response.getSkippedCount() + 1);
+                    continue;
+                }
+                CreateDeveloper.Request request = record.toCreateRequest();
+                String violations = validate(request);
+                if (violations != null) {
+                    response.addFailure(recordNumber, request.getMemberId(),
+                            INVALID_IMPORT_RECORD, violations);
+                    continue;
+                }
+
+                chunk.add(request);
+                recordNumbers.add(recordNumber);
+                if (chunk.size() == chunkSize) {
+                    commit(chunk, recordNumbers, response);
+                    moveCheckpoint(response, recordNumber, checkpointListener);
+                    chunk.clear();
+                    recordNumbers.clear();
+                }
+            }
+            if (!chunk.isEmpty()) commit(chunk, recordNumbers, response);
+            //끝에 실패한 행만 남은 경우도 처리 끝
+            moveCheckpoint(response, reader.getRecordNumber(), checkpointListener);
+            response.setCompleted(true);
+        } catch (IOException | RuntimeException e) {
+            log.warn("import stopped at record {}. resume after checkpoint {}",
+                    reader.getRecordNumber(), response.getCheckpoint(), e);
+        }
+        return response;
+    }
+
+    //CreateDeveloper.Request의 @NotNull, @Size 등. 문제 없으면 null
+    private String validate(CreateDeveloper.Request request) {
+        Set<ConstraintViolation<CreateDeveloper.Request>> violations = validator.validate(request);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void commit(
+            List<CreateDeveloper.Request> chunk, List<Long> recordNumbers,
+            ImportDevelopers.Response response
+    ) {
+        BulkCreateDeveloper.Response result;
+        try {
+            result = dMakerService.createDevelopers(chunk);
+        } catch (DMakerException e) {
+            //중복 확인 후 다른 요청이 같은 memberId를 먼저 만들어서 chunk 전체가 rollback된 경우.
+            //다시 하면 이번엔 중복 확인에서 항목별로 걸러짐
+            if (e.getDMakerErrorCode() != DUPLICATED_MEMBER_ID) throw e;
+            result = dMakerService.createDevelopers(chunk);
+        }
+
+        List<BulkCreateDeveloper.Result> results = result.getResults();
+        for (int i = 0; i < results.size(); i++) {
+            BulkCreateDeveloper.Result itemResult = results.get(i);
+            if (itemResult.isSuccess()) {
+                response.setSuccessCount(response.getSuccessCount() + 1);
+            } else {
+                response.addFailure(recordNumbers.get(i), itemResult.getMemberId(),
+                        itemResult.getErrorCode(), itemResult.getErrorMessage());
+            }
+        }
+    }
+
+    private static void moveCheckpoint(
+            ImportDevelopers.Response response, long recordNumber, LongConsumer checkpointListener
+    ) {
+        if (recordNumber <= response.getCheckpoint()) return;
+        response.setCheckpoint(recordNumber);
+        checkpointListener.accept(recordNumber);
+    }
+
+    //내보낸 건수를 돌려줌. outputStream은 닫지 않음
+    public long exportDevelopers(
+            DeveloperRecordCodec.Format format, OutputStream outputStream
+    ) throws IOException {
+        DeveloperRecordCodec.RecordWriter writer = developerRecordCodec.writer(format, outputStream);
+        AtomicLong count = new AtomicLong();
+        dMakerService.streamEmployedDeveloperRecords(record -> {
+            try {
+                writer.write(record);
+                count.incrementAndGet();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.finish();
+        return count.get();
+    }
+}
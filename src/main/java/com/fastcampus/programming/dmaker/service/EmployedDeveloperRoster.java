@@ -0,0 +1,330 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.config.ReplicaRoutingDataSource;
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperPage;
+import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ROSTER_REMOVED_RETENTION;
+
+/**
+ * @Author: kbs
+ */
+//재직중인 개발자 목록(roster)을 메모리에 들고 있는 snapshot.
+//- 시작할 때 DB에서 한번 만들고, 이후 생성/수정/퇴직은 commit 후 apply()로 반영.
+//- 읽기: volatile snapshot 참조 하나만 읽으므로 lock 없음.
+//- 쓰기: 기존 snapshot은 건드리지 않고 새 배열을 만들어 교체 (copy-on-write).
+//- 목록 응답의 ETag는 snapshot 내용(id, version)의 hash -> 재시작해도, 다른 인스턴스여도 내용이 같으면 같은 ETag
+//- afterCommit은 commit 순서대로 불리지 않으므로 개발자 version(@Version)이 더 높은 변경만 반영
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployedDeveloperRoster {
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final DeveloperRepository developerRepository;
+
+    private volatile Snapshot snapshot = Snapshot.NOT_READY;
+    //rebuild 중 DB를 읽는 동안 들어온 변경사항. rebuild 중이 아니면 null. (this로 동기화)
+    private List<RosterEntry> changesDuringReload;
+    //퇴직으로 빠진 id -> 그때 version. snapshot에 없는 id에 늦게 온 옛 변경을 버릴 때 비교 (this로 동기화)
+    private final Cache<Long, Long> removedVersions = Caffeine.newBuilder()
+            .expireAfterWrite(ROSTER_REMOVED_RETENTION)
+            .build();
+    //reload는 한번에 하나씩. 이미 돌고 있으면 끝날 때까지 기다렸다가 다시 DB와 비교
+    private final Object reloadLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    public boolean isReady() {
+        return snapshot.isReady();
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    //DB keyset pagination과 같은 규칙: after보다 큰 id부터 limit개, 꽉 차면 마지막 id가 cursor
+    //page와 ETag는 같은 snapshot에서 (중간에 교체되어도 서로 맞음)
+    public DeveloperPage page(Long after, int limit) {
+        Snapshot current = snapshot;
+        DeveloperPage page = current.page(after, limit);
+        page.setETag(current.eTag());
+        return page;
+    }
+
+    public void apply(List<RosterEntry> changes) {
+        if (changes.isEmpty()) return;
+        synchronized (this) {
+            if (changesDuringReload != null) changesDuringReload.addAll(changes);
+            if (snapshot.isReady()) snapshot = snapshot.merge(newerChanges(snapshot, changes));
+        }
+    }
+
+    //base에 이미 같거나 더 높은 version이 반영된 변경은 버리고, 같은 id가 여러번 오면 가장 새 것만.
+    //퇴직으로 빠지는 id는 removedVersions에 기억 (this를 잡고 호출)
+    private List<RosterEntry> newerChanges(Snapshot base, List<RosterEntry> changes) {
+        Map<Long, RosterEntry> newest = new HashMap<>();
+        for (RosterEntry change : changes) {
+            Long current = base.versionOf(change.getId());
+            if (current == null) current = removedVersions.getIfPresent(change.getId());
+            if (current != null && !change.isNewerThan(current)) continue;
+            newest.merge(change.getId(), change,
+                    (kept, other) -> other.isNewerThan(kept.getVersion()) ? other : kept);
+        }
+        for (RosterEntry change : newest.values()) {
+            if (!change.isEmployed()) removedVersions.put(change.getId(), change.getVersion());
+        }
+        return new ArrayList<>(newest.values());
+    }
+
+    //DB 기준으로 새로 만들어서 무조건 교체
+    public void rebuild() {
+        reload(true);
+    }
+
+    //DB와 비교해서 다르면 교체. 일치했으면 true
+    //다른 인스턴스에서의 변경처럼 apply()로 들어오지 않은 변경도 여기서 맞춰짐
+    public boolean verify() {
+        return reload(false);
+    }
+
+    @Scheduled(
+            initialDelayString = "${dmaker.roster.verify-interval-ms}",
+            fixedDelayString = "${dmaker.roster.verify-interval-ms}"
+    )
+    public void verifyPeriodically() {
+        verify();
+    }
+
+    private boolean reload(boolean force) {
+        synchronized (reloadLock) {
+            return reloadExclusively(force);
+        }
+    }
+
+    private boolean reloadExclusively(boolean force) {
+        synchronized (this) {
+            changesDuringReload = new ArrayList<>();
+        }
+
+        //DB 읽는 동안은 lock을 잡지 않음 -> 그동안의 변경은 changesDuringReload에 모았다가 덮어씀
+        Snapshot loaded;
+        try {
+            loaded = load();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringReload = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            loaded = loaded.merge(newerChanges(loaded, changesDuringReload));
+            changesDuringReload = null;
+
+            boolean consistent = snapshot.isReady() && snapshot.isSameAs(loaded);
+            if (!consistent && snapshot.isReady())
+                log.warn("employed developer roster was inconsistent with DB. size: {} -> {}",
+                        snapshot.size(), loaded.size());
+            if (!consistent || force) snapshot = loaded;
+            return consistent;
+        }
+    }
+
+    //replica에 아직 반영 안 된 변경을 놓치지 않도록 항상 primary에서 읽음
+    private Snapshot load() {
+        try (ReplicaRoutingDataSource.Scope ignored = ReplicaRoutingDataSource.forcePrimary()) {
+            return loadFromDb();
+        }
+    }
+
+    private Snapshot loadFromDb() {
+        List<Long> ids = new ArrayList<>();
+        List<DeveloperDto> developers = new ArrayList<>();
+        long after = 0L;
+        while (true) {
+            List<DeveloperDto> chunk = developerRepository
+                    .findDtosByStatusCodeAndIdGreaterThan(
+                            StatusCode.EMPLOYED, after, PageRequest.of(0, LOAD_CHUNK_SIZE)
+                    );
+            for (DeveloperDto developer : chunk) {
+                ids.add(developer.getId());
+                developers.add(developer);
+            }
+            if (chunk.size() < LOAD_CHUNK_SIZE) break;
+            after = chunk.get(chunk.size() - 1).getId();
+        }
+
+        long[] idArray = new long[ids.size()];
+        long contentHash = 0L;
+        for (int i = 0; i < idArray.length; i++) {
+            idArray[i] = ids.get(i);
+            contentHash += Snapshot.hashOf(developers.get(i));
+        }
+        return new Snapshot(true, idArray, developers.toArray(new DeveloperDto[0]), contentHash);
+    }
+
+    //생성/수정/퇴직 한 건. employed가 아니면 roster에서 빠짐
+    //version: 이 변경을 commit한 뒤의 Developer.version
+    @Getter
+    public static class RosterEntry {
+        private final Long id;
+        private final long version;
+        private final boolean employed;
+        private final DeveloperDto developer;
+
+        private RosterEntry(Long id, long version, boolean employed, DeveloperDto developer) {
+            this.id = id;
+            this.version = version;
+            this.employed = employed;
+            this.developer = developer;
+        }
+
+        //entity는 flush 후 (version이 올라간 뒤)에 넘겨야 함
+        public static RosterEntry of(Developer developer) {
+            return new RosterEntry(
+                    developer.getId(),
+                    developer.getVersion(),
+                    developer.getStatusCode() == StatusCode.EMPLOYED,
+                    DeveloperDto.fromEntity(developer)
+            );
+        }
+
+        //bulk 수정처럼 entity 없이 DTO로 읽은 경우
+        public static RosterEntry employed(DeveloperDto developer) {
+            return new RosterEntry(developer.getId(), developer.getVersion(), true, developer);
+        }
+
+        public static RosterEntry retired(Long id, long version) {
+            return new RosterEntry(id, version, false, null);
+        }
+
+        //퇴직은 되돌릴 수 없으므로 같은 version이면 퇴직이 이김
+        //(bulk 퇴직은 UPDATE 전에 읽은 version + 1 이라 그 사이 다른 수정이 있었으면 실제보다 낮을 수 있음)
+        boolean isNewerThan(long currentVersion) {
+            return version > currentVersion || (version == currentVersion && !employed);
+        }
+    }
+
+    //id 오름차순으로 정렬된 불변 배열. 한번 만들면 절대 수정하지 않음.
+    private static class Snapshot {
+        static final Snapshot NOT_READY = new Snapshot(false, new long[0], new DeveloperDto[0], 0L);
+
+        private final boolean ready;
+        private final long[] ids;
+        private final DeveloperDto[] developers;
+        //개발자별 hashOf(id, version)의 합. 순서와 상관없어서 merge 때 빠진 것은 빼고 들어온 것은 더하면 됨
+        private final long contentHash;
+
+        Snapshot(boolean ready, long[] ids, DeveloperDto[] developers, long contentHash) {
+            this.ready = ready;
+            this.ids = ids;
+            this.developers = developers;
+            this.contentHash = contentHash;
+        }
+
+        //개발자 정보가 바뀌면 version이 항상 올라가므로 (id, version)만 보면 됨
+        static long hashOf(DeveloperDto developer) {
+            long version = developer.getVersion() == null ? 0L : developer.getVersion();
+            //murmur3 fmix64: 비슷한 (id, version)끼리도 값이 고르게 퍼지게
+            long hash = developer.getId() * 0x9E3779B97F4A7C15L + version;
+            hash ^= hash >>> 33;
+            hash *= 0xFF51AFD7ED558CCDL;
+            hash ^= hash >>> 33;
+            hash *= 0xC4CEB9FE1A85EC53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+
+        //인원수도 붙여서 hash가 우연히 같아도 크기가 다르면 구분
+        String eTag() {
+            return ids.length + "-" + Long.toHexString(contentHash);
+        }
+
+        boolean isReady() {
+            return ready;
+        }
+
+        //snapshot에 없으면 null
+        Long versionOf(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? developers[index].getVersion() : null;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        DeveloperPage page(Long after, int limit) {
+            int from = 0;
+            if (after != null) {
+                int index = Arrays.binarySearch(ids, after);
+                from = index >= 0 ? index + 1 : -index - 1;
+            }
+            int to = (int) Math.min((long) from + limit, ids.length);
+
+            return DeveloperPage.builder()
+                    .developers(Collections.unmodifiableList(
+                            Arrays.asList(Arrays.copyOfRange(developers, from, to))))
+                    .nextCursor(to - from < limit ? null : ids[to - 1])
+                    .build();
+        }
+
+        //정렬된 두 목록을 한번에 merge: O(n + m)
+        Snapshot merge(List<RosterEntry> changes) {
+            if (changes.isEmpty()) return this;
+            TreeMap<Long, RosterEntry> changesById = new TreeMap<>();
+            for (RosterEntry change : changes) changesById.put(change.getId(), change);
+
+            long[] mergedIds = new long[ids.length + changesById.size()];
+            DeveloperDto[] mergedDevelopers = new DeveloperDto[mergedIds.length];
+            long mergedHash = contentHash;
+            int i = 0, size = 0;
+            for (RosterEntry change : changesById.values()) {
+                long changeId = change.getId();
+                while (i < ids.length && ids[i] < changeId) {
+                    mergedIds[size] = ids[i];
+                    mergedDevelopers[size++] = developers[i++];
+                }
+                if (i < ids.length && ids[i] == changeId) mergedHash -= hashOf(developers[i++]);
+                if (change.isEmployed()) {
+                    mergedIds[size] = changeId;
+                    mergedDevelopers[size++] = change.getDeveloper();
+                    mergedHash += hashOf(change.getDeveloper());
+                }
+            }
+            int rest = ids.length - i;
+            System.arraycopy(ids, i, mergedIds, size, rest);
+            System.arraycopy(developers, i, mergedDevelopers, size, rest);
+            size += rest;
+
+            return new Snapshot(ready,
+                    Arrays.copyOf(mergedIds, size),
+                    Arrays.copyOf(mergedDevelopers, size),
+                    mergedHash);
+        }
+
+        boolean isSameAs(Snapshot other) {
+            return Arrays.equals(ids, other.ids)
+                    && Arrays.equals(developers, other.developers);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * @Author: kbs
+ */
+//batch 하나를 파일 끝에 한 줄에 하나씩(NDJSON) 이어 씀. batch마다 열고 닫음
+@Component
+@ConditionalOnProperty(name = "dmaker.changes.sink", havingValue = "file")
+public class FileDeveloperChangeSink implements DeveloperChangeSink {
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileDeveloperChangeSink(
+            ObjectMapper objectMapper,
+            @Value("${dmaker.changes.file-path}") String path
+    ) {
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(path);
+    }
+
+    @Override
+    public void deliver(List<DeveloperChangeEvent> events) {
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (DeveloperChangeEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.IdempotencyRecord;
+
+import java.util.Optional;
+
+/**
+ * @Author: kbs
+ */
+//Idempotency-Key -> 처음 처리한 응답. dmaker.idempotency.store 로 구현 선택
+//- memory: InMemoryIdempotencyStore (인스턴스 하나일 때)
+//- jdbc: JdbcIdempotencyStore (여러 인스턴스가 같은 key를 봐야 할 때)
+public interface IdempotencyStore {
+    //ttl이 지났으면 없는 것으로
+    Optional<IdempotencyRecord> find(String idempotencyKey);
+
+    //key가 없을 때만 처리 중으로 기록. 이미 있으면 false
+    boolean tryStart(String idempotencyKey, String fingerprint);
+
+    //처리 중에 버려진 key를 이어받음. abandoned를 읽은 뒤 아무도 바꾸지 않았을 때만
+    //(아직 처리 중이고 createdAt이 같을 때만) createdAt을 지금으로 바꾸고 true. 동시에 와도 하나만 성공
+    boolean tryTakeOver(String idempotencyKey, IdempotencyRecord abandoned);
+
+    //처리가 끝난 응답 저장
+    void complete(String idempotencyKey, IdempotencyRecord record);
+
+    //실패해서 다시 시도할 수 있게 key를 지움
+    void release(String idempotencyKey);
+}
@@ -0,0 +1,152 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.IdempotencyRecord;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.IDEMPOTENT_REPLAYED_HEADER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.IDEMPOTENT_REPLAY_COUNTER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_IDEMPOTENCY_KEY_LENGTH;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.IDEMPOTENCY_KEY_REUSED;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.INVALID_REQUEST;
+
+/**
+ * @Author: kbs
+ */
+//Idempotency-Key header가 있는 요청은 처음 한번만 실행하고, 같은 key로 다시 오면 저장해둔 응답을 그대로 돌려줌.
+//(gateway timeout 후 재시도가 service 로직/DB를 다시 타지 않고, 409 DUPLICATED_MEMBER_ID 대신 처음 응답을 받음)
+//- 같은 key로 다른 요청(method, path, body가 다름) -> IDEMPOTENCY_KEY_REUSED
+//- 같은 key가 아직 처리 중 -> IDEMPOTENT_REQUEST_IN_PROGRESS (client가 잠시 후 다시 시도)
+//- 2xx 응답만 저장. 실패하면 key를 지워서 다시 시도하면 다시 실행됨
+@Slf4j
+@Component
+public class IdempotentRequestExecutor {
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Duration inProgressTimeout;
+    private final Counter replayCounter;
+
+    public IdempotentRequestExecutor(
+            IdempotencyStore idempotencyStore,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${dmaker.idempotency.in-progress-timeout}") Duration inProgressTimeout
+    ) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.inProgressTimeout = inProgressTimeout;
+        this.replayCounter = meterRegistry.counter(IDEMPOTENT_REPLAY_COUNTER);
+    }
+
+    //scope: "POST /create-developer" 처럼 요청을 구분하는 값. requestBody와 함께 fingerprint가 됨
+    public <T> ResponseEntity<T> execute(
+            String idempotencyKey, String scope, Object requestBody,
+            Class<T> responseType, Supplier<ResponseEntity<T>> action
+    ) {
+        if (idempotencyKey == null) return action.get();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)
+            throw DMakerException.of(INVALID_REQUEST);
+
+        String fingerprint = fingerprint(scope, requestBody);
+        IdempotencyRecord record = idempotencyStore.find(idempotencyKey).orElse(null);
+        if (record != null) {
+            if (!record.getFingerprint().equals(fingerprint))
+                throw DMakerException.of(IDEMPOTENCY_KEY_REUSED);
+            if (record.isCompleted()) return replay(record, responseType);
+            takeOverIfAbandoned(idempotencyKey, record);
+        } else if (!idempotencyStore.tryStart(idempotencyKey, fingerprint)) {
+            //동시에 같은 key가 오면 하나만 실행
+            throw DMakerException.of(IDEMPOTENT_REQUEST_IN_PROGRESS);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            idempotencyStore.release(idempotencyKey);
+            throw e;
+        }
+        save(idempotencyKey, fingerprint, response);
+        return response;
+    }
+
+    //in-progress-timeout보다 오래 처리 중이면 처리 중에 죽어서 버려진 key로 보고 이어받아 다시 실행.
+    //지우고 tryStart 하면 그 사이에 다른 요청이 이어받은 key까지 지울 수 있으므로 조건부로 이어받음
+    private void takeOverIfAbandoned(String idempotencyKey, IdempotencyRecord record) {
+        if (record.getCreatedAt().isAfter(LocalDateTime.now().minus(inProgressTimeout)))
+            throw DMakerException.of(IDEMPOTENT_REQUEST_IN_PROGRESS);
+        if (!idempotencyStore.tryTakeOver(idempotencyKey, record))
+            throw DMakerException.of(IDEMPOTENT_REQUEST_IN_PROGRESS);
+        log.warn("idempotency key {} was abandoned while in progress. run again", idempotencyKey);
+    }
+
+    //저장된 응답을 그대로 돌려줌
+    private <T> ResponseEntity<T> replay(IdempotencyRecord record, Class<T> responseType) {
+        replayCounter.increment();
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(record.getStatus())
+                .header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        if (record.getETag() != null) response.eTag(record.getETag());
+        return response.body(readBody(record.getBody(), responseType));
+    }
+
+    private void save(String idempotencyKey, String fingerprint, ResponseEntity<?> response) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            idempotencyStore.release(idempotencyKey);
+            return;
+        }
+        try {
+            idempotencyStore.complete(idempotencyKey, IdempotencyRecord.builder()
+                    .fingerprint(fingerprint)
+                    .status(response.getStatusCodeValue())
+                    .eTag(response.getHeaders().getETag())
+                    .body(response.getBody() == null
+                            ? null : objectMapper.writeValueAsBytes(response.getBody()))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException | RuntimeException e) {
+            //응답은 이미 만들어졌으므로 그대로 돌려주고, 다음 재시도는 다시 실행되게 함
+            log.warn("failed to save response of idempotency key {}", idempotencyKey, e);
+            idempotencyStore.release(idempotencyKey);
+        }
+    }
+
+    private <T> T readBody(byte[] body, Class<T> responseType) {
+        if (body == null) return null;
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //method + path + body의 SHA-256
+    String fingerprint(String scope, Object requestBody) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(requestBody));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
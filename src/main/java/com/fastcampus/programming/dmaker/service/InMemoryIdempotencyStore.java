@@ -0,0 +1,67 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.IdempotencyRecord;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * @Author: kbs
+ */
+//인스턴스 메모리에 저장. 최대 maximum-size 개, ttl 지나면 자동 삭제
+@Component
+@ConditionalOnProperty(name = "dmaker.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final Cache<String, IdempotencyRecord> records;
+
+    public InMemoryIdempotencyStore(
+            @Value("${dmaker.idempotency.ttl}") Duration ttl,
+            @Value("${dmaker.idempotency.maximum-size}") long maximumSize
+    ) {
+        this.records = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String idempotencyKey) {
+        return Optional.ofNullable(records.getIfPresent(idempotencyKey));
+    }
+
+    @Override
+    public boolean tryStart(String idempotencyKey, String fingerprint) {
+        IdempotencyRecord inProgress = IdempotencyRecord.builder()
+                .fingerprint(fingerprint)
+                .createdAt(LocalDateTime.now())
+                .build();
+        return records.asMap().putIfAbsent(idempotencyKey, inProgress) == null;
+    }
+
+    @Override
+    public boolean tryTakeOver(String idempotencyKey, IdempotencyRecord abandoned) {
+        IdempotencyRecord inProgress = IdempotencyRecord.builder()
+                .fingerprint(abandoned.getFingerprint())
+                .createdAt(LocalDateTime.now())
+                .build();
+        return records.asMap().computeIfPresent(idempotencyKey, (key, current) ->
+                !current.isCompleted() && current.getCreatedAt().equals(abandoned.getCreatedAt())
+                        ? inProgress : current) == inProgress;
+    }
+
+    @Override
+    public void complete(String idempotencyKey, IdempotencyRecord record) {
+        records.put(idempotencyKey, record);
+    }
+
+    @Override
+    public void release(String idempotencyKey) {
+        records.invalidate(idempotencyKey);
+    }
+}
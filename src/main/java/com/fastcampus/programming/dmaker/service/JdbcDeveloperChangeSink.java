@@ -0,0 +1,31 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeEvent;
+import com.fastcampus.programming.dmaker.entity.DeveloperChange;
+import com.fastcampus.programming.dmaker.repository.DeveloperChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @Author: kbs
+ */
+//batch 하나를 transaction 하나로 developer_change 테이블에 INSERT (hibernate.jdbc.batch_size 단위로 묶임)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "dmaker.changes.sink", havingValue = "jdbc")
+public class JdbcDeveloperChangeSink implements DeveloperChangeSink {
+    private final DeveloperChangeRepository developerChangeRepository;
+
+    @Override
+    @Transactional
+    public void deliver(List<DeveloperChangeEvent> events) {
+        developerChangeRepository.saveAll(events.stream()
+                .map(DeveloperChange::fromEvent)
+                .collect(Collectors.toList()));
+    }
+}
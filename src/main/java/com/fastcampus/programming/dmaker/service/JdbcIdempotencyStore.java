@@ -0,0 +1,134 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.config.ReplicaRoutingDataSource;
+import com.fastcampus.programming.dmaker.dto.IdempotencyRecord;
+import com.fastcampus.programming.dmaker.entity.IdempotentRequest;
+import com.fastcampus.programming.dmaker.repository.IdempotentRequestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * @Author: kbs
+ */
+//idempotent_request 테이블에 저장. 여러 인스턴스가 같은 key를 공유함
+//- PK INSERT로 처리 중 기록 -> 동시에 같은 key가 와도 하나만 성공
+//- ttl 지난 row는 조회 시 무시하고, purge-interval-ms 마다 한번에 삭제
+//- 방금 기록한 key를 replica에서 못 보는 일이 없도록 항상 primary에서 읽음
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dmaker.idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+    private final IdempotentRequestRepository idempotentRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    public JdbcIdempotencyStore(
+            IdempotentRequestRepository idempotentRequestRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${dmaker.idempotency.ttl}") Duration ttl
+    ) {
+        this.idempotentRequestRepository = idempotentRequestRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String idempotencyKey) {
+        try (ReplicaRoutingDataSource.Scope ignored = ReplicaRoutingDataSource.forcePrimary()) {
+            return idempotentRequestRepository.findById(idempotencyKey)
+                    .filter(request -> !isExpired(request))
+                    .map(JdbcIdempotencyStore::toRecord);
+        }
+    }
+
+    @Override
+    public boolean tryStart(String idempotencyKey, String fingerprint) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Optional<IdempotentRequest> existing =
+                        idempotentRequestRepository.findById(idempotencyKey);
+                if (existing.isPresent() && !isExpired(existing.get())) return false;
+                //아직 purge 안 된 만료 row는 지우고 새로 씀 (DELETE가 INSERT보다 먼저 나가도록 flush)
+                existing.ifPresent(request -> {
+                    idempotentRequestRepository.delete(request);
+                    idempotentRequestRepository.flush();
+                });
+                idempotentRequestRepository.saveAndFlush(IdempotentRequest.builder()
+                        .idempotencyKey(idempotencyKey)
+                        .fingerprint(fingerprint)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            //다른 인스턴스가 먼저 INSERT
+            return false;
+        }
+    }
+
+    @Override
+    public boolean tryTakeOver(String idempotencyKey, IdempotencyRecord abandoned) {
+        //조건부 UPDATE 한번. 먼저 이어받은 쪽이 createdAt을 바꿨으면 0건
+        Integer updated = transactionTemplate.execute(status -> idempotentRequestRepository
+                .updateCreatedAtIfInProgress(
+                        idempotencyKey, abandoned.getCreatedAt(), LocalDateTime.now()));
+        return updated != null && updated == 1;
+    }
+
+    @Override
+    public void complete(String idempotencyKey, IdempotencyRecord record) {
+        idempotentRequestRepository.save(IdempotentRequest.builder()
+                .idempotencyKey(idempotencyKey)
+                .fingerprint(record.getFingerprint())
+                .status(record.getStatus())
+                .eTag(record.getETag())
+                .body(record.getBody())
+                .createdAt(record.getCreatedAt())
+                .build());
+    }
+
+    @Override
+    public void release(String idempotencyKey) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (idempotentRequestRepository.existsById(idempotencyKey))
+                idempotentRequestRepository.deleteById(idempotencyKey);
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${dmaker.idempotency.purge-interval-ms}",
+            fixedDelayString = "${dmaker.idempotency.purge-interval-ms}"
+    )
+    public void purgeExpired() {
+        try {
+            Integer purged = transactionTemplate.execute(status -> idempotentRequestRepository
+                    .deleteByCreatedAtBefore(LocalDateTime.now().minus(ttl)));
+            if (purged != null && purged > 0) log.info("purged {} expired idempotency keys", purged);
+        } catch (RuntimeException e) {
+            log.warn("failed to purge expired idempotency keys. retry on next run", e);
+        }
+    }
+
+    private boolean isExpired(IdempotentRequest request) {
+        return request.getCreatedAt().isBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    private static IdempotencyRecord toRecord(IdempotentRequest request) {
+        return IdempotencyRecord.builder()
+                .fingerprint(request.getFingerprint())
+                .status(request.getStatus())
+                .eTag(request.getETag())
+                .body(request.getBody())
+                .createdAt(request.getCreatedAt())
+                .build();
+    }
+}
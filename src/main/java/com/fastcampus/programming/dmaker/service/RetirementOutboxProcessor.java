@@ -0,0 +1,136 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.config.ReplicaRoutingDataSource;
+import com.fastcampus.programming.dmaker.entity.DeveloperOutbox;
+import com.fastcampus.programming.dmaker.entity.RetiredDeveloper;
+import com.fastcampus.programming.dmaker.repository.DeveloperOutboxRepository;
+import com.fastcampus.programming.dmaker.repository.RetiredDeveloperRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.OUTBOX_LAG_GAUGE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.OUTBOX_PENDING_GAUGE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.OUTBOX_PROCESSED_COUNTER;
+
+/**
+ * @Author: kbs
+ */
+//DeveloperOutbox에 쌓인 퇴직 이벤트를 batch-size 단위로 RetiredDeveloper로 만듦.
+//- batch 하나가 transaction 하나: RetiredDeveloper batch insert + 처리한 outbox 삭제
+//- memberId 기준 멱등: 이미 RetiredDeveloper가 있으면 건너뜀 (중복 처리/다른 인스턴스와 겹쳐도 안전)
+//- 실패하면 그 batch만 rollback되고 다음 주기에 다시 시도
+@Slf4j
+@Component
+public class RetirementOutboxProcessor {
+    private final DeveloperOutboxRepository developerOutboxRepository;
+    private final RetiredDeveloperRepository retiredDeveloperRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter processedCounter;
+
+    //마지막 처리 후 남아있는 것 중 가장 오래된 이벤트 시각 (없으면 null), 남은 건수
+    private volatile LocalDateTime oldestPendingAt;
+    private volatile long pendingCount;
+
+    public RetirementOutboxProcessor(
+            DeveloperOutboxRepository developerOutboxRepository,
+            RetiredDeveloperRepository retiredDeveloperRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${dmaker.outbox.batch-size}") int batchSize
+    ) {
+        this.developerOutboxRepository = developerOutboxRepository;
+        this.retiredDeveloperRepository = retiredDeveloperRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.processedCounter = meterRegistry.counter(OUTBOX_PROCESSED_COUNTER);
+        //퇴직 요청 commit ~ RetiredDeveloper 생성까지 밀린 시간. 비어 있으면 0
+        TimeGauge.builder(OUTBOX_LAG_GAUGE, this, TimeUnit.MILLISECONDS,
+                        processor -> processor.lag().toMillis())
+                .register(meterRegistry);
+        Gauge.builder(OUTBOX_PENDING_GAUGE, this, processor -> processor.pendingCount)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${dmaker.outbox.poll-interval-ms}")
+    public void processPeriodically() {
+        try {
+            processPending();
+        } catch (RuntimeException e) {
+            log.warn("failed to process developer outbox. retry on next poll", e);
+        } finally {
+            refreshPending();
+        }
+    }
+
+    //남은 이벤트가 batch-size보다 적어질 때까지 처리. 처리한 건수를 돌려줌
+    public int processPending() {
+        int total = 0;
+        int processed;
+        do {
+            processed = transactionTemplate.execute(status -> processBatch());
+            total += processed;
+        } while (processed == batchSize);
+        return total;
+    }
+
+    public Duration lag() {
+        LocalDateTime oldest = oldestPendingAt;
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, LocalDateTime.now());
+    }
+
+    private int processBatch() {
+        List<DeveloperOutbox> events =
+                developerOutboxRepository.findByOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) return 0;
+
+        Set<String> retiredMemberIds = new HashSet<>(
+                retiredDeveloperRepository.findMemberIdsByMemberIdIn(
+                        events.stream()
+                                .map(DeveloperOutbox::getMemberId)
+                                .collect(Collectors.toSet())
+                )
+        );
+        List<RetiredDeveloper> retiredDevelopers = new ArrayList<>(events.size());
+        for (DeveloperOutbox event : events) {
+            //이미 있거나 같은 batch 안에서 앞에 나온 memberId면 건너뜀
+            if (!retiredMemberIds.add(event.getMemberId())) continue;
+            retiredDevelopers.add(RetiredDeveloper.builder()
+                    .memberId(event.getMemberId())
+                    .name(event.getName())
+                    .build());
+        }
+        //hibernate.jdbc.batch_size 단위로 INSERT, outbox는 DELETE 한번
+        retiredDeveloperRepository.saveAll(retiredDevelopers);
+        developerOutboxRepository.deleteAllInBatch(events);
+
+        processedCounter.increment(events.size());
+        return events.size();
+    }
+
+    //repository 조회 method는 readOnly transaction이라 replica로 감. 밀린 정도는 primary 기준이어야 하고
+    //outbox는 곧 지워질 row라 replica 지연만큼 틀린 값이 나오므로 primary에서 읽음
+    private void refreshPending() {
+        try (ReplicaRoutingDataSource.Scope ignored = ReplicaRoutingDataSource.forcePrimary()) {
+            oldestPendingAt = developerOutboxRepository.findOldestCreatedAt();
+            pendingCount = developerOutboxRepository.count();
+        }
+    }
+}
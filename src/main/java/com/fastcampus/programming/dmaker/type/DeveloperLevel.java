@@ -4,27 +4,32 @@ import com.fastcampus.programming.dmaker.exception.DMakerException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.function.Function;
-
 import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_JUNIOR_EXPERIENCE_YEARS;
 import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MIN_SENIOR_EXPERIENCE_YEARS;
 import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.LEVEL_EXPERIENCE_YEARS_NOT_MATCHED;
 
+//레벨마다 허용 연차 범위 [minExperienceYears, maxExperienceYears]
+//Function<Integer, Boolean>을 쓰면 검증할 때마다 boxing이 생겨서 int 범위 비교로 바꿈
 @AllArgsConstructor
 @Getter
 public enum DeveloperLevel {
-    NEW("신입 개발자", years -> years == 0),
-    JUNIOR("주니어 개발자",years -> years <= MAX_JUNIOR_EXPERIENCE_YEARS),
-    JUNGNIOR("중니어 개발자", years -> years > MAX_JUNIOR_EXPERIENCE_YEARS
-            && years < MIN_SENIOR_EXPERIENCE_YEARS),
-    SENIOR("시니어 개발자", years -> years >= MIN_SENIOR_EXPERIENCE_YEARS);
+    NEW("신입 개발자", 0, 0),
+    JUNIOR("주니어 개발자", 0, MAX_JUNIOR_EXPERIENCE_YEARS),
+    JUNGNIOR("중니어 개발자", MAX_JUNIOR_EXPERIENCE_YEARS + 1, MIN_SENIOR_EXPERIENCE_YEARS - 1),
+    SENIOR("시니어 개발자", MIN_SENIOR_EXPERIENCE_YEARS, Integer.MAX_VALUE);
 
     private final String description;
-    private final Function<Integer, Boolean> validateFunction;
+    private final int minExperienceYears;
+    private final int maxExperienceYears;
+
+    public boolean matches(int years) {
+        return years >= minExperienceYears && years <= maxExperienceYears;
+    }
 
-    public void validateExperienceYears(Integer years){
-        if(!validateFunction.apply(years))
-            throw new DMakerException(LEVEL_EXPERIENCE_YEARS_NOT_MATCHED);
+    //실패하면 미리 만들어 둔 exception을 던짐 (DMakerException.of)
+    public void validateExperienceYears(int years){
+        if(!matches(years))
+            throw DMakerException.of(LEVEL_EXPERIENCE_YEARS_NOT_MATCHED);
     }
 
 }
@@ -0,0 +1,87 @@
+-- entity 기준 초기 schema (H2). 이후 entity를 바꾸면 V2__... 로 migration을 추가
+-- ddl-auto=validate 라서 entity와 다르면 application이 뜨지 않음
+-- sequence 증가폭은 ID_ALLOCATION_SIZE (pooled)와 같아야 함
+
+create sequence developer_seq start with 1 increment by 50;
+create sequence retired_developer_seq start with 1 increment by 50;
+create sequence developer_outbox_seq start with 1 increment by 50;
+create sequence developer_change_seq start with 1 increment by 50;
+
+create table developer (
+    id bigint not null,
+    developer_level varchar(255),
+    developer_skill_type integer,
+    experience_years integer,
+    member_id varchar(255),
+    name varchar(255),
+    age integer,
+    status_code varchar(255),
+    version bigint,
+    created_at timestamp,
+    updated_at timestamp,
+    primary key (id),
+    constraint uk_developer_member_id unique (member_id)
+);
+
+create index ix_developer_status_level_skill
+    on developer (status_code, developer_level, developer_skill_type, experience_years);
+create index ix_developer_status_years on developer (status_code, experience_years);
+create index ix_developer_status_id on developer (status_code, id);
+
+create table retired_developer (
+    id bigint not null,
+    member_id varchar(255),
+    name varchar(255),
+    created_at timestamp,
+    updated_at timestamp,
+    primary key (id),
+    constraint uk_retired_developer_member_id unique (member_id)
+);
+
+create table archived_developer (
+    id bigint not null,
+    developer_level varchar(255),
+    developer_skill_type integer,
+    experience_years integer,
+    member_id varchar(255),
+    name varchar(255),
+    age integer,
+    status_code varchar(255),
+    version bigint,
+    created_at timestamp,
+    updated_at timestamp,
+    archived_at timestamp,
+    primary key (id),
+    constraint uk_archived_developer_member_id unique (member_id)
+);
+
+create table developer_outbox (
+    id bigint not null,
+    event_type varchar(255),
+    member_id varchar(255),
+    name varchar(255),
+    created_at timestamp,
+    primary key (id)
+);
+
+create table developer_change (
+    id bigint not null,
+    event_seq bigint,
+    event_type varchar(255),
+    member_id varchar(255),
+    developer_level varchar(255),
+    developer_skill_type varchar(255),
+    status_code varchar(255),
+    occurred_at timestamp,
+    primary key (id)
+);
+
+create table idempotent_request (
+    idempotency_key varchar(255) not null,
+    fingerprint varchar(255),
+    status integer,
+    e_tag varchar(255),
+    body blob,
+    created_at timestamp,
+    primary key (idempotency_key)
+);
@@ -0,0 +1,13 @@
+-- 한번이라도 쓰인 memberId (DeveloperMemberId). archive로 옮겨간 퇴직자도 중복 생성되지 않도록
+-- 기존 developer, archived_developer의 memberId를 옮겨둠
+
+create table developer_member_id (
+    member_id varchar(255) not null,
+    created_at timestamp,
+    primary key (member_id)
+);
+
+insert into developer_member_id (member_id, created_at)
+select member_id, created_at from developer where member_id is not null
+union
+select member_id, created_at from archived_developer where member_id is not null;
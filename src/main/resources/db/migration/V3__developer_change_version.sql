@@ -0,0 +1,5 @@
+-- 변경 이벤트에 연차와 변경 후 version을 같이 저장 (consumer가 늦게 온/중복 이벤트를 거를 수 있게)
+-- 기존 row는 값을 알 수 없으므로 null
+
+alter table developer_change add column experience_years integer;
+alter table developer_change add column version bigint;
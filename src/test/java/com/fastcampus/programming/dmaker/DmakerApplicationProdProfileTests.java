@@ -0,0 +1,37 @@
+package com.fastcampus.programming.dmaker;
+
+import com.fastcampus.programming.dmaker.controller.DMakerController;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//prod profile: flyway로 만든 schema가 entity와 맞고(validate), lazy initialization에서도 첫 요청이 처리되는지
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("prod")
+class DmakerApplicationProdProfileTests {
+	@Autowired
+	private Flyway flyway;
+	@Autowired
+	private ConfigurableApplicationContext context;
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Test
+	void schemaIsMigratedAndControllersAreCreatedOnFirstRequest() {
+		assertEquals("3", flyway.info().current().getVersion().getVersion());
+
+		String controllerBeanName = context.getBeanNamesForType(DMakerController.class)[0];
+		assertTrue(context.getBeanFactory().getBeanDefinition(controllerBeanName).isLazyInit());
+
+		assertEquals(HttpStatus.OK, restTemplate.getForEntity("/developers", String.class).getStatusCode());
+		assertTrue(context.getBeanFactory().containsSingleton(controllerBeanName));
+	}
+}
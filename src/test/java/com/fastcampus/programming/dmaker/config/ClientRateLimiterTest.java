@@ -0,0 +1,40 @@
+package com.fastcampus.programming.dmaker.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientRateLimiterTest {
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    //초당 10개, 최대 20개
+    private final ClientRateLimiter clientRateLimiter = new ClientRateLimiter(10, 20, now::get);
+
+    @Test
+    void burstThenRefill() {
+        assertEquals(0, clientRateLimiter.tryAcquire("client1", 10));
+        assertEquals(0, clientRateLimiter.tryAcquire("client1", 10));
+        //bucket이 비었음. 비용 5만큼 차려면 0.5초
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), clientRateLimiter.tryAcquire("client1", 5));
+
+        //다른 client는 따로
+        assertEquals(0, clientRateLimiter.tryAcquire("client2", 20));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, clientRateLimiter.tryAcquire("client1", 5));
+        assertTrue(clientRateLimiter.tryAcquire("client1", 1) > 0);
+    }
+
+    @Test
+    void doesNotAccumulateMoreThanBurst() {
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        assertEquals(0, clientRateLimiter.tryAcquire("client1", 20));
+        assertTrue(clientRateLimiter.tryAcquire("client1", 1) > 0);
+        assertTrue(clientRateLimiter.allows(20));
+        assertTrue(!clientRateLimiter.allows(21));
+    }
+}
@@ -0,0 +1,94 @@
+package com.fastcampus.programming.dmaker.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.QUERY_COUNT_ATTRIBUTE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DbRequestExecutorTest {
+    private DbRequestExecutor executor(DbRequestExecutor.Mode mode) {
+        //thread 1개 + 대기 1개 = 동시에 2개까지
+        return new DbRequestExecutor(new SimpleMeterRegistry(), mode, 1, 1);
+    }
+
+    @Test
+    void directRunsOnCallerThread() throws Exception {
+        DbRequestExecutor dbRequestExecutor = executor(DbRequestExecutor.Mode.DIRECT);
+
+        CompletableFuture<String> future =
+                dbRequestExecutor.supply(() -> Thread.currentThread().getName());
+
+        assertTrue(future.isDone());
+        assertEquals(Thread.currentThread().getName(), future.get());
+    }
+
+    @Test
+    void virtualFallsBackToPlatformBeforeJava21() {
+        DbRequestExecutor dbRequestExecutor = executor(DbRequestExecutor.Mode.VIRTUAL);
+
+        assertEquals(Runtime.version().feature() >= 21
+                        ? DbRequestExecutor.Mode.VIRTUAL : DbRequestExecutor.Mode.PLATFORM,
+                dbRequestExecutor.getMode());
+        dbRequestExecutor.shutdown();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DbRequestExecutor.Mode.class, names = {"PLATFORM", "VIRTUAL"})
+    void rejectsWhenFull(DbRequestExecutor.Mode mode) throws Exception {
+        DbRequestExecutor dbRequestExecutor = executor(mode);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> running =
+                dbRequestExecutor.supply(() -> await(release));
+        CompletableFuture<Boolean> queued =
+                dbRequestExecutor.supply(() -> await(release));
+        //꽉 찼으면 기다리지 않고 바로 거절
+        assertThrows(RejectedExecutionException.class,
+                () -> dbRequestExecutor.supply(() -> true));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        //자리가 나면 다시 받음
+        assertTrue(dbRequestExecutor.supply(() -> true).get(5, TimeUnit.SECONDS));
+        dbRequestExecutor.shutdown();
+    }
+
+    @Test
+    void platformAddsQueryCountToRequest() throws Exception {
+        DbRequestExecutor dbRequestExecutor = executor(DbRequestExecutor.Mode.PLATFORM);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            //executor thread에서 나간 SQL은 요청 thread의 counter에 안 잡히므로 attribute로 넘어옴
+            dbRequestExecutor.supply(() -> new QueryCountInspector().inspect("select 1"))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(1, request.getAttribute(QUERY_COUNT_ATTRIBUTE));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            dbRequestExecutor.shutdown();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.fastcampus.programming.dmaker.config;
+
+import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import com.fastcampus.programming.dmaker.service.DMakerService;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEVELOPER_DETAIL_CACHE;
+import static com.fastcampus.programming.dmaker.type.DeveloperLevel.SENIOR;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.BACK_END;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+//H2 두 개를 primary/replica로 사용. H2는 replication이 없으므로
+//replicate()가 호출될 때만 primary 내용을 replica로 복사함 (그 전까지 replica는 뒤처진 상태)
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "dmaker.datasource.replica.jdbc-url=" + ReplicaRoutingTest.REPLICA_URL,
+        "dmaker.datasource.replica.username=sa",
+        "dmaker.datasource.routing.read-your-writes-window=2s"
+})
+class ReplicaRoutingTest {
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    //read-your-writes window를 재는 시계. sleep 대신 advance()로 시간을 넘김
+    private static final AtomicLong NANOS = new AtomicLong();
+
+    @TestConfiguration
+    static class FakeTickerConfig {
+        @Bean
+        Ticker ticker() {
+            return NANOS::get;
+        }
+    }
+
+    @Autowired
+    private DMakerService dMakerService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+    @Autowired
+    private HikariDataSource replicaDataSource;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    //replica를 지우고 primary의 schema + data를 그대로 복사
+    private void replicate() {
+        List<String> script = primary.queryForList("SCRIPT", String.class);
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+
+    private void createDeveloper(String memberId) {
+        dMakerService.createDeveloper(CreateDeveloper.Request.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(BACK_END)
+                .experienceYears(10)
+                .memberId(memberId)
+                .name("name")
+                .age(32)
+                .build());
+    }
+
+    private static void advance(Duration duration) {
+        NANOS.addAndGet(duration.toNanos());
+    }
+
+    private String readDetail(String memberId) {
+        cacheManager.getCache(DEVELOPER_DETAIL_CACHE).clear();
+        try {
+            return dMakerService.getDeveloperDetail(memberId).getMemberId();
+        } catch (DMakerException e) {
+            return e.getDMakerErrorCode().name();
+        }
+    }
+
+    @Test
+    void readOnlyGoesToReplicaExceptRecentWrites() {
+        replicate();
+        createDeveloper("routing1");
+
+        //방금 만든 memberId는 window 동안 primary에서 읽음
+        assertEquals("routing1", readDetail("routing1"));
+
+        //window가 지나면 replica에서 읽음. 아직 복사 전이라 없음
+        advance(Duration.ofSeconds(3));
+        assertEquals(DMakerErrorCode.NO_DEVELOPER.name(), readDetail("routing1"));
+
+        replicate();
+        assertEquals("routing1", readDetail("routing1"));
+    }
+
+    @Test
+    @DirtiesContext
+    void fallsBackToPrimaryWhenReplicaIsDown() {
+        createDeveloper("routing2");
+        replicate();
+        advance(Duration.ofSeconds(3));
+
+        replicaDataSource.close();
+
+        assertEquals("routing2", readDetail("routing2"));
+        assertFalse(replicaRoutingDataSource.isReplicaHealthy());
+        //쓰기는 원래 primary
+        createDeveloper("routing3");
+        assertThrows(DMakerException.class, () -> createDeveloper("routing3"));
+    }
+}
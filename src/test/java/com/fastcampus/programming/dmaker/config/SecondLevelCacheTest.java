@@ -0,0 +1,123 @@
+package com.fastcampus.programming.dmaker.config;
+
+import com.fastcampus.programming.dmaker.code.OutboxEventType;
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.dto.BulkEditDeveloper;
+import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.EditDeveloper;
+import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fastcampus.programming.dmaker.repository.DeveloperOutboxRepository;
+import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
+import com.fastcampus.programming.dmaker.service.DMakerService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+
+import static com.fastcampus.programming.dmaker.type.DeveloperLevel.SENIOR;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.BACK_END;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.FRONT_END;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.FULL_STACK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//2차 cache를 켠 상태에서 memberId 조회가 SQL 없이 cache에서 나오고,
+//수정/퇴직/bulk 수정 후에는 바뀐 값이 보이는지, native INSERT가 cache를 비우지 않는지 (hibernate statistics로 확인)
+@SpringBootTest(properties = "dmaker.cache.second-level.enabled=true")
+class SecondLevelCacheTest {
+    @Autowired
+    private DMakerService dMakerService;
+    @Autowired
+    private DeveloperRepository developerRepository;
+    @Autowired
+    private DeveloperOutboxRepository developerOutboxRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void createDeveloper(String memberId) {
+        dMakerService.createDeveloper(CreateDeveloper.Request.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(BACK_END)
+                .experienceYears(10)
+                .memberId(memberId)
+                .name("name")
+                .age(32)
+                .build());
+    }
+
+    //수정/퇴직과 같은 경로(findByMemberId)로 새 transaction에서 읽음
+    private Developer load(String memberId) {
+        return transactionTemplate.execute(status -> developerRepository.findByMemberId(memberId).get());
+    }
+
+    @Test
+    void memberIdLookupIsServedFromCacheAndSeesEditAndDelete() {
+        createDeveloper("l2cache1");
+        load("l2cache1");
+
+        statistics.clear();
+        assertEquals(BACK_END, load("l2cache1").getDeveloperSkillType());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+
+        //수정은 commit 후 cache에도 반영 -> 다시 읽을 때 SQL 없이 새 값
+        dMakerService.editDeveloper("l2cache1", EditDeveloper.Request.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(FULL_STACK)
+                .experienceYears(12)
+                .build(), null);
+        statistics.clear();
+        Developer edited = load("l2cache1");
+        assertEquals(FULL_STACK, edited.getDeveloperSkillType());
+        assertEquals(12, edited.getExperienceYears());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        dMakerService.deleteDeveloper("l2cache1");
+        assertEquals(StatusCode.RETIRED, load("l2cache1").getStatusCode());
+    }
+
+    @Test
+    void bulkUpdateEvictsCachedDevelopers() {
+        createDeveloper("l2cache2");
+        load("l2cache2");
+
+        //bulk UPDATE는 entity를 거치지 않으므로 hibernate가 Developer region을 비움 -> DB에서 새 값
+        dMakerService.editDevelopers(BulkEditDeveloper.Request.builder()
+                .memberIds(Collections.singletonList("l2cache2"))
+                .developerLevel(SENIOR)
+                .developerSkillType(FRONT_END)
+                .build());
+        statistics.clear();
+        assertEquals(FRONT_END, load("l2cache2").getDeveloperSkillType());
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+    }
+
+    @Test
+    void nativeInsertKeepsCachedDevelopers() {
+        createDeveloper("l2cache3");
+        Long id = load("l2cache3").getId();
+
+        //outbox/archive INSERT는 쓰는 table을 query space로 알려주므로 Developer region은 그대로
+        transactionTemplate.executeWithoutResult(status -> developerOutboxRepository
+                .insertEventsByDeveloperIdIn(Collections.singletonList(id), OutboxEventType.DEVELOPER_RETIRED.name()));
+        statistics.clear();
+        load("l2cache3");
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+}
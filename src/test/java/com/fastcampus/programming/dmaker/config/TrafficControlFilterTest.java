@@ -0,0 +1,94 @@
+package com.fastcampus.programming.dmaker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.API_KEY_HEADER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrafficControlFilterTest {
+    //초당 1개, burst 10. 목록은 10, 나머지는 1
+    private TrafficControlFilter filter(int maxConcurrentRequests) {
+        return filter(true, maxConcurrentRequests);
+    }
+
+    private TrafficControlFilter filter(boolean trustApiKey, int maxConcurrentRequests) {
+        return new TrafficControlFilter(new ObjectMapper(), new SimpleMeterRegistry(),
+                true, trustApiKey, 1, 10, 10, 10, 10, 1, maxConcurrentRequests);
+    }
+
+    private MockHttpServletResponse perform(TrafficControlFilter filter, String uri, String apiKey)
+            throws Exception {
+        return perform(filter, uri, apiKey, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse perform(TrafficControlFilter filter, String uri, String apiKey,
+                                            MockFilterChain filterChain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (apiKey != null) request.addHeader(API_KEY_HEADER, apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    @Test
+    void listCostsMoreThanDetail() throws Exception {
+        TrafficControlFilter filter = filter(0);
+
+        //목록 한번에 token 10개를 다 씀
+        assertEquals(200, perform(filter, "/developers", "client1").getStatus());
+        MockHttpServletResponse rejected = perform(filter, "/developers/memberId1", "client1");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString().contains("TOO_MANY_REQUESTS"));
+
+        //다른 client, actuator는 영향 없음
+        assertEquals(200, perform(filter, "/developers/memberId1", "client2").getStatus());
+        assertEquals(200, perform(filter, "/actuator/health", "client1").getStatus());
+    }
+
+    @Test
+    void untrustedApiKey_isIgnored() throws Exception {
+        TrafficControlFilter filter = filter(false, 0);
+
+        //gateway가 검증하지 않은 key는 무시하고 IP로 나눔. key를 바꿔도 같은 bucket
+        assertEquals(200, perform(filter, "/developers", "client1").getStatus());
+        assertEquals(429, perform(filter, "/developers/memberId1", "client2").getStatus());
+        assertEquals(429, perform(filter, "/developers/memberId1", null).getStatus());
+    }
+
+    @Test
+    void shedsLoadOverMaxConcurrentRequests() throws Exception {
+        TrafficControlFilter filter = filter(1);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        //첫 요청을 처리하는 도중에 두번째 요청이 들어옴
+        MockFilterChain busyChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    nested[0] = perform(filter, "/developers/memberId2", "client2");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        assertEquals(200, perform(filter, "/developers/memberId1", "client1", busyChain).getStatus());
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(nested[0].getContentAsString().contains("SERVICE_OVERLOADED"));
+
+        //끝나면 자리 반납
+        assertEquals(200, perform(filter, "/developers/memberId3", "client3").getStatus());
+    }
+}
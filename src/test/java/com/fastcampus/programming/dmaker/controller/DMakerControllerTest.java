@@ -1,27 +1,81 @@
 package com.fastcampus.programming.dmaker.controller;
 
+import com.fastcampus.programming.dmaker.config.DbRequestExecutor;
+import com.fastcampus.programming.dmaker.config.HttpCachePolicy;
+import com.fastcampus.programming.dmaker.config.QueryCountInspector;
+import com.fastcampus.programming.dmaker.dto.BulkCreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
 import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperPage;
+import com.fastcampus.programming.dmaker.dto.DeveloperRecord;
+import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
 import com.fastcampus.programming.dmaker.service.DMakerService;
+import com.fastcampus.programming.dmaker.service.DeveloperRecordCodec;
+import com.fastcampus.programming.dmaker.service.DeveloperStatsService;
+import com.fastcampus.programming.dmaker.service.DeveloperTransferService;
+import com.fastcampus.programming.dmaker.service.IdempotentRequestExecutor;
+import com.fastcampus.programming.dmaker.service.InMemoryIdempotencyStore;
 import com.fastcampus.programming.dmaker.type.DeveloperLevel;
 import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.COLUMNAR_JSON_VALUE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ERROR_COUNTER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.IDEMPOTENCY_KEY_HEADER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.IDEMPOTENT_REPLAYED_HEADER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.NEXT_CURSOR_HEADER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.REQUEST_QUERY_SUMMARY;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.TEXT_CSV_VALUE;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(DMakerController.class) //원하는 controller bean만 쫙 올려서 사용할 수 있게 해줌
+//원하는 controller bean만 쫙 올려서 사용할 수 있게 해줌
+//rate limit은 TrafficControlFilterTest에서 확인 (여기서는 stream/import 몇번이면 burst를 넘음)
+@WebMvcTest(value = DMakerController.class, properties = "dmaker.rate-limit.enabled=false")
+@Import({DbRequestExecutor.class, HttpCachePolicy.class, //application.yml 기본값(direct)으로 바로 실행
+        IdempotentRequestExecutor.class, InMemoryIdempotencyStore.class,
+        DeveloperTransferService.class, DeveloperRecordCodec.class})
 class DMakerControllerTest {
     //contoller에 요청값을 가지고 호출을 해줘야되는데
     //직접 호출시 parameter binding validation등을 할 수 없기때문에
@@ -32,6 +86,21 @@ class DMakerControllerTest {
     @MockBean
     private DMakerService dMakerService; //Dependency 가짜 bean으로 등록
 
+    @MockBean
+    private DeveloperStatsService developerStatsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    //WebMvcTest에는 metric 자동설정이 없으므로 메모리 registry를 직접 등록
+    @TestConfiguration
+    static class MetricsTestConfig {
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
 
     protected MediaType contentType =
             new MediaType(MediaType.APPLICATION_JSON.getType(),
@@ -49,8 +118,10 @@ class DMakerControllerTest {
                 .developerSkillType(DeveloperSkillType.FRONT_END)
                 .developerLevel(DeveloperLevel.SENIOR)
                 .memberId("memberId2").build();
-        given(dMakerService.getAllEmployedDevelopers())
-                .willReturn(Arrays.asList(juniorDeveloperDto,seniorDeveloperDto));
+        given(dMakerService.getEmployedDevelopers(null, null))
+                .willReturn(DeveloperPage.builder()
+                        .developers(Arrays.asList(juniorDeveloperDto,seniorDeveloperDto))
+                        .build());
 
         //mockmvc가 get으로 /developers를 호출하면
         //contenttype을 jsontype으로 줄테니
@@ -71,6 +142,418 @@ class DMakerControllerTest {
                 ).andExpect(
                         jsonPath("$.[1].developerLevel",
                                 is(DeveloperLevel.SENIOR.name()))
+                ).andExpect(
+                        header().doesNotExist(NEXT_CURSOR_HEADER)
                 );
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllDeveloper_withCursor() throws Exception {
+        DeveloperDto developerDto = DeveloperDto.builder()
+                .developerSkillType(DeveloperSkillType.BACK_END)
+                .developerLevel(DeveloperLevel.JUNIOR)
+                .memberId("memberId3").build();
+        given(dMakerService.getEmployedDevelopers(2L, 1))
+                .willReturn(DeveloperPage.builder()
+                        .developers(Collections.singletonList(developerDto))
+                        .nextCursor(3L)
+                        .build());
+
+        mockMvc.perform(get("/developers")
+                        .param("after", "2")
+                        .param("limit", "1")
+                        .contentType(contentType))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, "3"))
+                .andExpect(jsonPath("$.[0].memberId", is("memberId3")));
+    }
+
+    @Test
+    void getAllDeveloper_fail_invalidLimit() throws Exception {
+        given(dMakerService.getEmployedDevelopers(null, 0))
+                .willThrow(new DMakerException(DMakerErrorCode.INVALID_REQUEST));
+
+        //입력값 오류는 409가 아니라 400
+        mockMvc.perform(get("/developers").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("INVALID_REQUEST")));
+    }
+
+    @Test
+    void searchDevelopers_fail_invalidParameters() throws Exception {
+        //없는 enum 값, 범위 밖 연차, 숫자가 아닌 limit 모두 service까지 가지 않고 400
+        mockMvc.perform(get("/developers/search").param("level", "FOO"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("INVALID_REQUEST")));
+        mockMvc.perform(get("/developers/search").param("minYears", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("INVALID_REQUEST")));
+        mockMvc.perform(get("/developers").param("limit", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("INVALID_REQUEST")));
+        verify(dMakerService, never()).searchDevelopers(any());
+    }
+
+    @Test
+    void getAllDeveloper_ifNoneMatch() throws Exception {
+        given(dMakerService.getEmployedDevelopers(null, null))
+                .willReturn(DeveloperPage.builder()
+                        .developers(Collections.emptyList())
+                        .eTag("abc-3")
+                        .build());
+
+        //gzip 압축이 되도록 weak ETag
+        mockMvc.perform(get("/developers"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-3\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        //roster가 그대로면 body 없이 304
+        mockMvc.perform(get("/developers").header(HttpHeaders.IF_NONE_MATCH, "\"abc-2\", W/\"abc-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/developers").header(HttpHeaders.IF_NONE_MATCH, "\"abc-2\""))
+                .andExpect(status().isOk());
+    }
+
+    private void givenTwoDevelopersPage() {
+        given(dMakerService.getEmployedDevelopers(null, null))
+                .willReturn(DeveloperPage.builder()
+                        .developers(Arrays.asList(
+                                DeveloperDto.builder()
+                                        .developerLevel(DeveloperLevel.JUNIOR)
+                                        .developerSkillType(DeveloperSkillType.BACK_END)
+                                        .memberId("memberId1").build(),
+                                DeveloperDto.builder()
+                                        .developerLevel(DeveloperLevel.SENIOR)
+                                        .developerSkillType(DeveloperSkillType.FULL_STACK)
+                                        .memberId("memberId2").build()))
+                        .nextCursor(2L)
+                        .eTag("abc-3")
+                        .build());
+    }
+
+    @Test
+    void getAllDevelopersAsColumnarJson() throws Exception {
+        givenTwoDevelopersPage();
+
+        mockMvc.perform(get("/developers").accept(COLUMNAR_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(COLUMNAR_JSON_VALUE))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-3-columnar\""))
+                .andExpect(header().string(NEXT_CURSOR_HEADER, "2"))
+                .andExpect(content().json("{\"memberId\":[\"memberId1\",\"memberId2\"],"
+                        + "\"developerLevel\":[\"JUNIOR\",\"SENIOR\"],"
+                        + "\"developerSkillType\":[\"BACK_END\",\"FULL_STACK\"]}", true));
+
+        //형식마다 ETag가 다름
+        mockMvc.perform(get("/developers").accept(COLUMNAR_JSON_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc-3\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/developers").accept(COLUMNAR_JSON_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc-3-columnar\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllDevelopersAsCbor() throws Exception {
+        givenTwoDevelopersPage();
+
+        MvcResult result = mockMvc.perform(get("/developers").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-3-cbor\""))
+                .andReturn();
+
+        //enum은 ordinal
+        JsonNode columns = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("memberId2", columns.get("memberId").get(1).asText());
+        assertEquals(DeveloperLevel.JUNIOR.ordinal(), columns.get("developerLevel").get(0).asInt());
+        assertEquals(DeveloperSkillType.FULL_STACK.ordinal(), columns.get("developerSkillType").get(1).asInt());
+    }
+
+    @Test
+    void getDeveloperDetail_ifNoneMatch() throws Exception {
+        given(dMakerService.getDeveloperDetail("memberId1"))
+                .willReturn(DeveloperDetailDto.builder()
+                        .developerSkillType(DeveloperSkillType.BACK_END)
+                        .developerLevel(DeveloperLevel.SENIOR)
+                        .memberId("memberId1")
+                        .version(5L)
+                        .build());
+
+        MvcResult mvcResult = mockMvc.perform(get("/developers/memberId1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"5\""))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void streamDevelopersAsNdjson() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<DeveloperDto> consumer = invocation.getArgument(0);
+            consumer.accept(DeveloperDto.builder()
+                    .developerSkillType(DeveloperSkillType.BACK_END)
+                    .developerLevel(DeveloperLevel.JUNIOR)
+                    .memberId("memberId1").build());
+            consumer.accept(DeveloperDto.builder()
+                    .developerSkillType(DeveloperSkillType.FRONT_END)
+                    .developerLevel(DeveloperLevel.SENIOR)
+                    .memberId("memberId2").build());
+            return null;
+        }).given(dMakerService).streamEmployedDevelopers(any());
+
+        //StreamingResponseBody는 async로 처리되므로 asyncDispatch 필요
+        MvcResult mvcResult = mockMvc.perform(get("/developers/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"memberId\":\"memberId1\""));
+        assertTrue(lines[1].contains("\"memberId\":\"memberId2\""));
+    }
+
+    @Test
+    void exportDevelopersAsCsv() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<DeveloperRecord> consumer = invocation.getArgument(0);
+            consumer.accept(new DeveloperRecord("memberId1", "name, Jr", 30,
+                    DeveloperLevel.SENIOR, DeveloperSkillType.BACK_END, 12));
+            return null;
+        }).given(dMakerService).streamEmployedDeveloperRecords(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/developers/export")
+                        .accept(TEXT_CSV_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("memberId,name,age,developerLevel,developerSkillType,experienceYears\n"
+                + "memberId1,\"name, Jr\",30,SENIOR,BACK_END,12\n", body);
+    }
+
+    @Test
+    void importDevelopersFromNdjson() throws Exception {
+        given(dMakerService.createDevelopers(any()))
+                .willReturn(BulkCreateDeveloper.Response.fromResults(Collections.singletonList(
+                        BulkCreateDeveloper.Result.success(CreateDeveloper.Response.builder()
+                                .memberId("memberId2").build()))));
+        String body = "{\"memberId\":\"memberId1\",\"name\":\"name\",\"developerLevel\":\"SENIOR\","
+                + "\"developerSkillType\":\"BACK_END\",\"experienceYears\":12}\n"
+                + "{\"memberId\":\"memberId2\",\"name\":\"name\",\"developerLevel\":\"SENIOR\","
+                + "\"developerSkillType\":\"BACK_END\",\"experienceYears\":12}\n";
+
+        //1번 행은 이미 처리했으므로 건너뜀
+        mockMvc.perform(post("/developers/import?resumeAfter=1")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed", is(true)))
+                .andExpect(jsonPath("$.skippedCount", is(1)))
+                .andExpect(jsonPath("$.successCount", is(1)))
+                .andExpect(jsonPath("$.checkpoint", is(2)));
+    }
+
+    @Test
+    void editDeveloper_withIfMatch() throws Exception {
+        given(dMakerService.editDeveloper(eq("memberId1"), any(), eq(3L)))
+                .willReturn(DeveloperDetailDto.builder()
+                        .developerSkillType(DeveloperSkillType.BACK_END)
+                        .developerLevel(DeveloperLevel.SENIOR)
+                        .experienceYears(12)
+                        .memberId("memberId1")
+                        .version(4L)
+                        .build());
+
+        MvcResult mvcResult = mockMvc.perform(put("/developer/memberId1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(contentType)
+                        .content("{\"developerLevel\":\"SENIOR\","
+                                + "\"developerSkillType\":\"BACK_END\","
+                                + "\"experienceYears\":12}"))
+                .andReturn();
+
+        //DB 작업은 CompletableFuture로 돌려주므로 asyncDispatch
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                //수정 후 version이 새 ETag, body에는 version 없음
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void editDeveloper_fail_ifMatchNotMatched() throws Exception {
+        given(dMakerService.editDeveloper(eq("memberId1"), any(), eq(2L)))
+                .willThrow(new DMakerException(DMakerErrorCode.PRECONDITION_FAILED));
+        String body = "{\"developerLevel\":\"SENIOR\","
+                + "\"developerSkillType\":\"BACK_END\","
+                + "\"experienceYears\":12}";
+
+        mockMvc.perform(put("/developer/memberId1")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode", is("PRECONDITION_FAILED")));
+
+        //If-Match는 strong 비교. weak ETag는 service까지 가지 않고 412
+        mockMvc.perform(put("/developer/memberId1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode", is("PRECONDITION_FAILED")));
+        verify(dMakerService, never()).editDeveloper(any(), any(), eq(3L));
+    }
+
+    @Test
+    void getDeveloperDetail_fail_countsErrorCode() throws Exception {
+        given(dMakerService.getDeveloperDetail("unknown"))
+                .willThrow(new DMakerException(DMakerErrorCode.NO_DEVELOPER));
+        //registry는 test class 안에서 공유되므로 다른 상세 조회 test에서 기록된 만큼 빼고 비교
+        long queriesBefore = requestQueryCount("/developers/{memberId}");
+
+        mockMvc.perform(get("/developers/unknown").contentType(contentType))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode", is("NO_DEVELOPER")));
+
+        assertEquals(1.0, meterRegistry.get(ERROR_COUNTER)
+                .tag("errorCode", "NO_DEVELOPER").counter().count());
+        //memberId가 아닌 pattern으로 기록
+        assertEquals(queriesBefore + 1, requestQueryCount("/developers/{memberId}"));
+    }
+
+    @Test
+    void getDeveloperDetail_countsQueriesAcrossAsyncDispatch() throws Exception {
+        //service에서 SQL이 두번 나간 것처럼
+        given(dMakerService.getDeveloperDetail("memberId1")).willAnswer(invocation -> {
+            new QueryCountInspector().inspect("select 1");
+            new QueryCountInspector().inspect("select 2");
+            return DeveloperDetailDto.builder().memberId("memberId1").build();
+        });
+        double queriesBefore = requestQueryTotal("/developers/{memberId}");
+
+        MvcResult mvcResult = mockMvc.perform(get("/developers/memberId1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //ASYNC dispatch에서 reset되어 0으로 기록되지 않음
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+
+        assertEquals(queriesBefore + 2, requestQueryTotal("/developers/{memberId}"));
+    }
+
+    private double requestQueryTotal(String uri) {
+        DistributionSummary summary = meterRegistry.find(REQUEST_QUERY_SUMMARY)
+                .tag("uri", uri).summary();
+        return summary == null ? 0.0 : summary.totalAmount();
+    }
+
+    private long requestQueryCount(String uri) {
+        DistributionSummary summary = meterRegistry.find(REQUEST_QUERY_SUMMARY)
+                .tag("uri", uri).summary();
+        return summary == null ? 0L : summary.count();
+    }
+
+    @Test
+    void createDeveloper_fail_tooManyRequests() throws Exception {
+        //DB 작업 queue가 꽉 찬 경우
+        given(dMakerService.createDeveloper(any()))
+                .willThrow(new RejectedExecutionException("queue full"));
+
+        mockMvc.perform(post("/create-developer")
+                        .contentType(contentType)
+                        .content("{\"developerLevel\":\"SENIOR\","
+                                + "\"developerSkillType\":\"BACK_END\","
+                                + "\"experienceYears\":12,\"memberId\":\"memberId1\","
+                                + "\"name\":\"name\",\"age\":32}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.errorCode", is("TOO_MANY_REQUESTS")));
+    }
+
+    @Test
+    void createDeveloper_retryWithIdempotencyKey_replaysResponse() throws Exception {
+        given(dMakerService.createDeveloper(any()))
+                .willReturn(CreateDeveloper.Response.builder()
+                        .developerLevel(DeveloperLevel.SENIOR)
+                        .developerSkillType(DeveloperSkillType.BACK_END)
+                        .experienceYears(12)
+                        .memberId("memberId1")
+                        .build());
+        String body = "{\"developerLevel\":\"SENIOR\","
+                + "\"developerSkillType\":\"BACK_END\","
+                + "\"experienceYears\":12,\"memberId\":\"memberId1\","
+                + "\"name\":\"name\",\"age\":32}";
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            MvcResult mvcResult = mockMvc.perform(post("/create-developer")
+                            .header(IDEMPOTENCY_KEY_HEADER, "create-1")
+                            .contentType(contentType)
+                            .content(body))
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.memberId", is("memberId1")));
+        }
+        //두번째는 service를 타지 않고 저장된 응답
+        verify(dMakerService, times(1)).createDeveloper(any());
+
+        //같은 key로 다른 요청
+        mockMvc.perform(post("/create-developer")
+                        .header(IDEMPOTENCY_KEY_HEADER, "create-1")
+                        .contentType(contentType)
+                        .content(body.replace("memberId1", "memberId2")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode", is("IDEMPOTENCY_KEY_REUSED")));
+    }
+
+    @Test
+    void editDeveloper_retryWithIdempotencyKey_replaysETag() throws Exception {
+        given(dMakerService.editDeveloper(eq("memberId1"), any(), eq(null)))
+                .willReturn(DeveloperDetailDto.builder()
+                        .developerLevel(DeveloperLevel.SENIOR)
+                        .memberId("memberId1")
+                        .version(7L)
+                        .build());
+
+        MvcResult first = mockMvc.perform(put("/developer/memberId1")
+                        .header(IDEMPOTENCY_KEY_HEADER, "edit-1")
+                        .contentType(contentType)
+                        .content("{\"developerLevel\":\"SENIOR\","
+                                + "\"developerSkillType\":\"BACK_END\","
+                                + "\"experienceYears\":12}"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(first))
+                .andExpect(header().doesNotExist(IDEMPOTENT_REPLAYED_HEADER));
+
+        MvcResult retried = mockMvc.perform(put("/developer/memberId1")
+                        .header(IDEMPOTENCY_KEY_HEADER, "edit-1")
+                        .contentType(contentType)
+                        .content("{\"developerLevel\":\"SENIOR\","
+                                + "\"developerSkillType\":\"BACK_END\","
+                                + "\"experienceYears\":12}"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(retried))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+                .andExpect(jsonPath("$.memberId", is("memberId1")));
+        verify(dMakerService, times(1)).editDeveloper(eq("memberId1"), any(), eq(null));
+    }
+}
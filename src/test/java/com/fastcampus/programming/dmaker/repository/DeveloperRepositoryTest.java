@@ -0,0 +1,335 @@
+package com.fastcampus.programming.dmaker.repository;
+
+import com.fastcampus.programming.dmaker.code.OutboxEventType;
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeRowDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperRecord;
+import com.fastcampus.programming.dmaker.dto.DeveloperStatsRowDto;
+import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fastcampus.programming.dmaker.entity.DeveloperMemberId;
+import com.fastcampus.programming.dmaker.entity.DeveloperOutbox;
+import com.fastcampus.programming.dmaker.type.DeveloperLevel;
+import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.fastcampus.programming.dmaker.repository.DeveloperSpecifications.*;
+import static com.fastcampus.programming.dmaker.type.DeveloperLevel.*;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.BACK_END;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.FRONT_END;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//repository만 올려서 H2에 실제 query를 날려봄
+@DataJpaTest
+class DeveloperRepositoryTest {
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private DeveloperOutboxRepository developerOutboxRepository;
+
+    @Autowired
+    private ArchivedDeveloperRepository archivedDeveloperRepository;
+
+    @Autowired
+    private DeveloperMemberIdRepository developerMemberIdRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        List<Developer> developers = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            developers.add(developer("senior" + i, SENIOR, i % 2 == 0 ? BACK_END : FRONT_END,
+                    10 + i % 10, i % 4 == 0 ? StatusCode.RETIRED : StatusCode.EMPLOYED));
+            developers.add(developer("junior" + i, JUNIOR, BACK_END, i % 5, StatusCode.EMPLOYED));
+        }
+        developerRepository.saveAllAndFlush(developers);
+        entityManager.clear();
+    }
+
+    private Developer developer(String memberId, DeveloperLevel developerLevel,
+                                DeveloperSkillType developerSkillType,
+                                int experienceYears, StatusCode statusCode) {
+        return Developer.builder()
+                .memberId(memberId)
+                .developerLevel(developerLevel)
+                .developerSkillType(developerSkillType)
+                .experienceYears(experienceYears)
+                .statusCode(statusCode)
+                .name("name")
+                .age(30)
+                .build();
+    }
+
+    @Test
+    void findAllByKeyset_search() {
+        Specification<Developer> spec = Specification
+                .<Developer>where(hasDeveloperLevel(SENIOR))
+                .and(hasDeveloperSkillType(BACK_END))
+                .and(experienceYearsAtLeast(12))
+                .and(experienceYearsAtMost(16));
+
+        List<DeveloperDto> all = developerRepository.findAllByKeyset(StatusCode.EMPLOYED, spec, null, 100);
+        //EMPLOYED, SENIOR, BACK_END: i % 4 == 2
+        //12 <= 10 + i % 10 <= 16 -> i = 2, 6, 14, 22, 26, 34
+        assertEquals(Arrays.asList("senior2", "senior6", "senior14",
+                        "senior22", "senior26", "senior34"),
+                all.stream().map(DeveloperDto::getMemberId).collect(Collectors.toList()));
+        all.forEach(developer -> {
+            assertEquals(SENIOR, developer.getDeveloperLevel());
+            assertEquals(BACK_END, developer.getDeveloperSkillType());
+        });
+
+        //keyset: 앞 페이지의 마지막 id 이후부터
+        List<DeveloperDto> firstPage = developerRepository.findAllByKeyset(StatusCode.EMPLOYED, spec, null, 4);
+        List<DeveloperDto> secondPage = developerRepository.findAllByKeyset(
+                StatusCode.EMPLOYED, spec, firstPage.get(3).getId(), 4);
+        assertEquals(4, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertEquals(all.get(4).getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void findDtosByStatusCodeAndIdGreaterThan() {
+        List<DeveloperDto> firstPage = developerRepository.findDtosByStatusCodeAndIdGreaterThan(
+                StatusCode.EMPLOYED, 0L, PageRequest.of(0, 50));
+        List<DeveloperDto> secondPage = developerRepository.findDtosByStatusCodeAndIdGreaterThan(
+                StatusCode.EMPLOYED, firstPage.get(49).getId(), PageRequest.of(0, 50));
+
+        //80명 중 10명 퇴직
+        assertEquals(50, firstPage.size());
+        assertEquals(20, secondPage.size());
+        assertTrue(firstPage.get(49).getId() < secondPage.get(0).getId());
+        //DTO로 읽었으므로 persistence context에는 아무것도 없음
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void streamRecordsByStatusCode() {
+        List<DeveloperRecord> records;
+        try (Stream<DeveloperRecord> stream =
+                     developerRepository.streamRecordsByStatusCode(StatusCode.EMPLOYED)) {
+            records = stream.collect(Collectors.toList());
+        }
+
+        //가져오기에 필요한 열이 모두 있음
+        assertEquals(70, records.size());
+        DeveloperRecord first = records.get(0);
+        assertEquals("junior0", first.getMemberId());
+        assertEquals("name", first.getName());
+        assertEquals(30, first.getAge());
+        assertEquals(JUNIOR, first.getDeveloperLevel());
+        assertEquals(BACK_END, first.getDeveloperSkillType());
+        assertEquals(0, first.getExperienceYears());
+    }
+
+    @Test
+    void findDetailByMemberId() {
+        DeveloperDetailDto detail = developerRepository.findDetailByMemberId("junior3")
+                .orElseThrow(IllegalStateException::new);
+
+        assertEquals(JUNIOR, detail.getDeveloperLevel());
+        assertEquals(3, detail.getExperienceYears());
+        assertEquals(StatusCode.EMPLOYED, detail.getStatusCode());
+        assertEquals("name", detail.getName());
+        assertFalse(developerRepository.findDetailByMemberId("nobody").isPresent());
+    }
+
+    @Test
+    void countByLevelAndSkillTypeAndStatusCode() {
+        List<DeveloperStatsRowDto> stats =
+                developerRepository.countByLevelAndSkillTypeAndStatusCode();
+
+        DeveloperStatsRowDto juniors = stats.stream()
+                .filter(row -> row.getDeveloperLevel() == JUNIOR)
+                .findFirst().orElseThrow(IllegalStateException::new);
+        assertEquals(BACK_END, juniors.getDeveloperSkillType());
+        assertEquals(StatusCode.EMPLOYED, juniors.getStatusCode());
+        assertEquals(40L, juniors.getHeadcount());
+        //i % 5 -> 0~4 가 8번씩
+        assertEquals(2.0, juniors.getAverageExperienceYears());
+
+        //senior: BACK_END x EMPLOYED/RETIRED, FRONT_END x EMPLOYED + junior 1개
+        assertEquals(4, stats.size());
+        assertEquals(80L, stats.stream().mapToLong(DeveloperStatsRowDto::getHeadcount).sum());
+    }
+
+    @Test
+    void searchQueryUsesCompositeIndex() {
+        //H2 실행계획에 복합 index가 나오는지 확인
+        String plan = entityManager.createNativeQuery(
+                "EXPLAIN SELECT * FROM developer WHERE status_code = 'EMPLOYED'"
+                        + " AND developer_level = 'SENIOR' AND developer_skill_type = 0"
+                        + " AND experience_years BETWEEN 12 AND 16"
+        ).getSingleResult().toString();
+
+        assertTrue(plan.toUpperCase().contains("IX_DEVELOPER_STATUS_LEVEL_SKILL"), plan);
+    }
+
+    @Test
+    void keysetQueryReadsIndexInOrder() {
+        //재직자 목록/roster 로딩 쿼리: 정렬 없이 (statusCode, id) index 순서대로 읽는지
+        String plan = entityManager.createNativeQuery(
+                "EXPLAIN SELECT id FROM developer WHERE status_code = 'EMPLOYED'"
+                        + " AND id > 10 ORDER BY status_code, id LIMIT 100"
+        ).getSingleResult().toString();
+
+        assertTrue(plan.toUpperCase().contains("IX_DEVELOPER_STATUS_ID"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void bulkUpdateLevelAndSkillType_only_matching_years() {
+        List<String> memberIds = Arrays.asList("junior0", "junior1", "senior1", "nobody");
+
+        //junior0, junior1: 연차 0, 1 -> JUNIOR 범위. senior1: 연차 11 -> 범위 밖이라 안 바뀜
+        List<DeveloperChangeRowDto> developers = findChangeRowsToEdit(memberIds, JUNIOR, FRONT_END);
+        assertEquals(Arrays.asList("junior0", "junior1"), developers.stream()
+                .map(DeveloperChangeRowDto::getMemberId)
+                .sorted()
+                .collect(Collectors.toList()));
+
+        int updated = developerRepository.updateLevelAndSkillTypeByIdIn(idsOf(developers),
+                JUNIOR, FRONT_END, LocalDateTime.now());
+        entityManager.clear();
+
+        assertEquals(2, updated);
+        Developer junior0 = developerRepository.findByMemberId("junior0").get();
+        assertEquals(FRONT_END, junior0.getDeveloperSkillType());
+        //bulk UPDATE도 version을 올려서 낙관적 lock/ETag가 유지됨
+        assertEquals(1L, junior0.getVersion());
+        assertEquals(SENIOR, developerRepository.findByMemberId("senior1").get().getDeveloperLevel());
+
+        //이미 같은 값이면 조회 대상도, 바뀌는 row도 없음
+        assertTrue(findChangeRowsToEdit(memberIds, JUNIOR, FRONT_END).isEmpty());
+        assertEquals(0, developerRepository.updateLevelAndSkillTypeByIdIn(idsOf(developers),
+                JUNIOR, FRONT_END, LocalDateTime.now()));
+    }
+
+    @Test
+    void bulkUpdateLevelAndSkillType_skips_retired() {
+        //senior0: 퇴직자 (연차 10, BACK_END), senior2: 재직자 (연차 12, BACK_END)
+        List<DeveloperChangeRowDto> developers = findChangeRowsToEdit(
+                Arrays.asList("senior0", "senior2"), SENIOR, FRONT_END);
+        assertEquals(1, developers.size());
+        assertEquals("senior2", developers.get(0).getMemberId());
+
+        assertEquals(1, developerRepository.updateLevelAndSkillTypeByIdIn(idsOf(developers),
+                SENIOR, FRONT_END, LocalDateTime.now()));
+        entityManager.clear();
+
+        assertEquals(FRONT_END, developerRepository.findByMemberId("senior2").get().getDeveloperSkillType());
+        //퇴직자는 값도 version도 그대로
+        Developer senior0 = developerRepository.findByMemberId("senior0").get();
+        assertEquals(BACK_END, senior0.getDeveloperSkillType());
+        assertEquals(0L, senior0.getVersion());
+    }
+
+    private List<DeveloperChangeRowDto> findChangeRowsToEdit(
+            List<String> memberIds, DeveloperLevel developerLevel, DeveloperSkillType developerSkillType
+    ) {
+        return developerRepository.findChangeRowsToEdit(memberIds, StatusCode.EMPLOYED,
+                developerLevel, developerSkillType,
+                developerLevel.getMinExperienceYears(), developerLevel.getMaxExperienceYears());
+    }
+
+    private static List<Long> idsOf(List<DeveloperChangeRowDto> developers) {
+        return developers.stream()
+                .map(DeveloperChangeRowDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void bulkRetire_with_outbox_insert_select() {
+        //senior0은 이미 퇴직
+        List<DeveloperChangeRowDto> developers = developerRepository.findChangeRowsByMemberIdInAndStatusCode(
+                Arrays.asList("senior0", "senior1", "junior1", "nobody"), StatusCode.EMPLOYED);
+        assertEquals(2, developers.size());
+        assertTrue(developers.stream().allMatch(developer ->
+                developer.getExperienceYears() != null && developer.getVersion() == 0L));
+        List<Long> ids = developers.stream()
+                .map(DeveloperChangeRowDto::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(2, developerRepository.updateStatusCodeByIdIn(
+                ids, StatusCode.RETIRED, LocalDateTime.now()));
+        assertEquals(2, developerOutboxRepository.insertEventsByDeveloperIdIn(
+                ids, OutboxEventType.DEVELOPER_RETIRED.name()));
+        entityManager.clear();
+
+        assertEquals(StatusCode.RETIRED,
+                developerRepository.findByMemberId("junior1").get().getStatusCode());
+        List<DeveloperOutbox> events = developerOutboxRepository.findAll();
+        assertEquals(Arrays.asList("junior1", "senior1"), events.stream()
+                .map(DeveloperOutbox::getMemberId)
+                .sorted()
+                .collect(Collectors.toList()));
+        assertTrue(events.stream().allMatch(event ->
+                event.getEventType() == OutboxEventType.DEVELOPER_RETIRED
+                        && event.getCreatedAt() != null));
+    }
+
+    @Test
+    void developerMemberId_rejectsUsedMemberId() {
+        developerMemberIdRepository.saveAndFlush(DeveloperMemberId.of("claimed"));
+        entityManager.clear();
+
+        //merge(SELECT 후 UPDATE)가 아니라 INSERT -> PK 위반
+        assertThrows(DataIntegrityViolationException.class,
+                () -> developerMemberIdRepository.saveAndFlush(DeveloperMemberId.of("claimed")));
+    }
+
+    @Test
+    void archiveRetiredDevelopers() {
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.createQuery("update Developer d set d.updatedAt = :updatedAt")
+                .setParameter("updatedAt", now.minusDays(40))
+                .executeUpdate();
+
+        //퇴직자 senior0, 4, 8, ... 10명 중 id 순서로 3명
+        List<Long> ids = developerRepository.findIdsForArchive(
+                StatusCode.RETIRED, now.minusDays(30), PageRequest.of(0, 3));
+        assertEquals(3, ids.size());
+        assertEquals(3, archivedDeveloperRepository.insertFromDeveloperByIdIn(ids));
+        assertEquals(3, developerRepository.deleteByIdIn(ids));
+        entityManager.clear();
+
+        assertFalse(developerRepository.findByMemberId("senior0").isPresent());
+        DeveloperDetailDto archived = archivedDeveloperRepository.findDetailByMemberId("senior0")
+                .orElseThrow(IllegalStateException::new);
+        assertEquals(StatusCode.RETIRED, archived.getStatusCode());
+        assertEquals(SENIOR, archived.getDeveloperLevel());
+        //검색/통계에서 Developer 결과와 합칠 수 있게 같은 DTO로
+        assertEquals(ids, archivedDeveloperRepository
+                .findAllByKeyset(Specification.where(hasDeveloperLevel(SENIOR)), null, 10)
+                .stream().map(DeveloperDto::getId).collect(Collectors.toList()));
+        assertEquals(3L, archivedDeveloperRepository.countByLevelAndSkillTypeAndStatusCode().stream()
+                .mapToLong(DeveloperStatsRowDto::getHeadcount).sum());
+        assertEquals(7, developerRepository.findIdsForArchive(
+                StatusCode.RETIRED, now.minusDays(30), PageRequest.of(0, 100)).size());
+        //retention 안쪽이면 대상 아님
+        assertTrue(developerRepository.findIdsForArchive(
+                StatusCode.RETIRED, now.minusDays(50), PageRequest.of(0, 100)).isEmpty());
+    }
+}
@@ -0,0 +1,148 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
+import com.fastcampus.programming.dmaker.dto.EditDeveloper;
+import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.DEVELOPER_DETAIL_CACHE;
+import static com.fastcampus.programming.dmaker.type.DeveloperLevel.SENIOR;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.BACK_END;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.FRONT_END;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.FULL_STACK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//실제 DB(H2)에서 한 개발자를 여러 thread가 동시에 수정
+@SpringBootTest
+class DMakerServiceConcurrencyTest {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private DMakerService dMakerService;
+    @Autowired
+    private DeveloperRepository developerRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private void createDeveloper(String memberId) {
+        dMakerService.createDeveloper(CreateDeveloper.Request.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(BACK_END)
+                .experienceYears(10)
+                .memberId(memberId)
+                .name("name")
+                .age(32)
+                .build());
+    }
+
+    //thread마다 다른 값 (값이 같으면 dirty checking에서 UPDATE 자체가 안 나가서 version도 안 오름)
+    private EditDeveloper.Request editRequest(int thread) {
+        return EditDeveloper.Request.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(thread % 2 == 0 ? FRONT_END : FULL_STACK)
+                .experienceYears(11 + thread / 2)
+                .build();
+    }
+
+    private Long versionOf(String memberId) {
+        return developerRepository.findByMemberId(memberId).get().getVersion();
+    }
+
+    //모든 thread가 동시에 출발. 성공하면 true, 충돌이면 false
+    //(If-Match가 있으면 PRECONDITION_FAILED, 없으면 재시도를 다 쓴 CONFLICTING_UPDATE)
+    private List<Boolean> editConcurrently(String memberId, Long expectedVersion)
+            throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int thread = i;
+            futures.add(executorService.submit(() -> {
+                start.await();
+                try {
+                    dMakerService.editDeveloper(
+                            memberId, editRequest(thread), expectedVersion);
+                    return true;
+                } catch (DMakerException e) {
+                    assertEquals(expectedVersion == null
+                                    ? DMakerErrorCode.CONFLICTING_UPDATE
+                                    : DMakerErrorCode.PRECONDITION_FAILED,
+                            e.getDMakerErrorCode());
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures) results.add(future.get());
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        return results;
+    }
+
+    @Test
+    void concurrentEditsWithoutIfMatch_noLostUpdate() throws Exception {
+        createDeveloper("concurrent1");
+        Long before = versionOf("concurrent1");
+
+        List<Boolean> results = editConcurrently("concurrent1", null);
+
+        long successCount = results.stream().filter(success -> success).count();
+        assertTrue(successCount > 0);
+        //성공한 수정은 모두 한번씩 version을 올림 (덮어써서 사라진 수정 없음)
+        assertEquals(before + successCount, versionOf("concurrent1"));
+    }
+
+    @Test
+    void concurrentEditsWithSameIfMatch_onlyOneSucceeds() throws Exception {
+        createDeveloper("concurrent2");
+        Long before = versionOf("concurrent2");
+
+        List<Boolean> results = editConcurrently("concurrent2", before);
+
+        assertEquals(1, results.stream().filter(success -> success).count());
+        assertEquals(before + 1, versionOf("concurrent2"));
+    }
+
+    @Test
+    void staleDetailReadDoesNotOverwriteCachedEdit() {
+        createDeveloper("concurrent3");
+        Long before = versionOf("concurrent3");
+
+        //조회가 옛 row를 읽은 뒤, 그 transaction이 commit 되기 전에 다른 thread의 수정이 commit 됨
+        //-> 수정의 @CachePut 다음에 조회의 put(옛 값)이 cache에 도착
+        DeveloperDetailDto staleRead = transactionTemplate.execute(status -> {
+            DeveloperDetailDto detail = dMakerService.getDeveloperDetail("concurrent3");
+            CompletableFuture.runAsync(() ->
+                    dMakerService.editDeveloper("concurrent3", editRequest(0), null)).join();
+            return detail;
+        });
+        assertEquals(before, staleRead.getVersion());
+
+        DeveloperDetailDto cached = cacheManager.getCache(DEVELOPER_DETAIL_CACHE)
+                .get("concurrent3", DeveloperDetailDto.class);
+        assertEquals(before + 1, cached.getVersion());
+        assertEquals(FRONT_END, cached.getDeveloperSkillType());
+        assertEquals(FRONT_END, dMakerService.getDeveloperDetail("concurrent3").getDeveloperSkillType());
+    }
+}
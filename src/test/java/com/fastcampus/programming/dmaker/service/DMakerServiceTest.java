@@ -1,32 +1,70 @@
 package com.fastcampus.programming.dmaker.service;
 
+import com.fastcampus.programming.dmaker.code.DeveloperChangeType;
+import com.fastcampus.programming.dmaker.code.OutboxEventType;
 import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.config.ReadYourWrites;
+import com.fastcampus.programming.dmaker.dto.BulkCreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.BulkEditDeveloper;
 import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeEvent;
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeRowDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperChanges;
 import com.fastcampus.programming.dmaker.dto.DeveloperDetailDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperPage;
+import com.fastcampus.programming.dmaker.dto.EditDeveloper;
+import com.fastcampus.programming.dmaker.dto.RetireDevelopers;
+import com.fastcampus.programming.dmaker.dto.SearchDeveloper;
 import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fastcampus.programming.dmaker.entity.DeveloperOutbox;
 import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
 import com.fastcampus.programming.dmaker.exception.DMakerException;
+import com.fastcampus.programming.dmaker.repository.ArchivedDeveloperRepository;
+import com.fastcampus.programming.dmaker.repository.DeveloperMemberIdRepository;
+import com.fastcampus.programming.dmaker.repository.DeveloperOutboxRepository;
 import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
 import com.fastcampus.programming.dmaker.type.DeveloperLevel;
 import com.fastcampus.programming.dmaker.type.DeveloperSkillType;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_EDIT_ATTEMPTS;
 import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_JUNIOR_EXPERIENCE_YEARS;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MAX_PAGE_LIMIT;
 import static com.fastcampus.programming.dmaker.constant.DMakerConstant.MIN_SENIOR_EXPERIENCE_YEARS;
 import static com.fastcampus.programming.dmaker.type.DeveloperLevel.*;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.BACK_END;
 import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.FRONT_END;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -41,10 +79,30 @@ class DMakerServiceTest {
     //InjectMocks 했을 때 얘네 2개 자동으로 등록시켜준다.
     @Mock
     private DeveloperRepository developerRepository;
+    @Mock
+    private DeveloperOutboxRepository developerOutboxRepository;
+    @Mock
+    private ArchivedDeveloperRepository archivedDeveloperRepository;
+    @Mock
+    private DeveloperMemberIdRepository developerMemberIdRepository;
+    @Mock
+    private EmployedDeveloperRoster employedDeveloperRoster;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ReadYourWrites readYourWrites;
+    @Mock
+    private DeveloperChangeLog developerChangeLog;
 
     @InjectMocks//가짜를 inject 시켜주겠다고 하는 것.
     private DMakerService dMakerService;
 
+    //List<Developer> 같은 generic type은 ArgumentCaptor.forClass로 만들면 unchecked 경고 -> @Captor로 주입
+    @Captor
+    private ArgumentCaptor<List<Developer>> developersCaptor;
+    @Captor
+    private ArgumentCaptor<List<DeveloperChangeEvent>> eventsCaptor;
+
     private final Developer defaultDeveloper = Developer.builder()
             .developerLevel(SENIOR)
             .developerSkillType(FRONT_END)
@@ -52,8 +110,20 @@ class DMakerServiceTest {
             .statusCode(StatusCode.EMPLOYED)
             .name("name")
             .age(32)
+            .version(0L)
             .build();
 
+    private DeveloperChangeRowDto changeRow(Long id) {
+        return DeveloperChangeRowDto.builder()
+                .id(id)
+                .developerLevel(SENIOR)
+                .developerSkillType(FRONT_END)
+                .experienceYears(12)
+                .memberId("memberId" + id)
+                .version(0L)
+                .build();
+    }
+
     private CreateDeveloper.Request getCreateRequest(
             DeveloperLevel developerLevel,
             DeveloperSkillType developerSkillType,
@@ -76,8 +146,9 @@ class DMakerServiceTest {
         //developerRepository의 findByMemberId를 실행하면
         //아래에 설정해놓은 가짜 결과를 띄워주겠다고 하는 것.
 
-        given(developerRepository.findByMemberId(anyString()))
-                .willReturn(Optional.of(defaultDeveloper));
+        //상세 조회는 entity 대신 DTO projection으로 읽어옴
+        given(developerRepository.findDetailByMemberId(anyString()))
+                .willReturn(Optional.of(DeveloperDetailDto.fromEntity(defaultDeveloper)));
 
 
         DeveloperDetailDto developerDetail = dMakerService.getDeveloperDetail("memberId");
@@ -87,12 +158,119 @@ class DMakerServiceTest {
         assertEquals(12, developerDetail.getExperienceYears());
     }
     @Test
-    void createDeveloperTest_success() {
-        //given
-        given(developerRepository.findByMemberId(anyString()))
+    void getDeveloperDetailTest_archived() {
+        //Developer 테이블에 없으면 archive에서 읽음
+        defaultDeveloper.setStatusCode(StatusCode.RETIRED);
+        given(developerRepository.findDetailByMemberId(anyString()))
                 .willReturn(Optional.empty());
+        given(archivedDeveloperRepository.findDetailByMemberId(anyString()))
+                .willReturn(Optional.of(DeveloperDetailDto.fromEntity(defaultDeveloper)));
+
+        DeveloperDetailDto developerDetail = dMakerService.getDeveloperDetail("memberId");
+
+        assertEquals(StatusCode.RETIRED, developerDetail.getStatusCode());
+    }
+
+    @Test
+    void createDeveloperTest_fail_used_member_id() {
+        //archive로 옮겨간 퇴직자의 memberId도 DeveloperMemberId(PK)에 남아있음
+        given(developerMemberIdRepository.saveAllAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("duplicated member id"));
+
+        DMakerException dMakerException = assertThrows(DMakerException.class,
+                () -> dMakerService.createDeveloper(getCreateRequest(SENIOR, FRONT_END, 12)));
+
+        assertEquals(DMakerErrorCode.DUPLICATED_MEMBER_ID, dMakerException.getDMakerErrorCode());
+        verify(developerRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void getEmployedDevelopersTest_cursor() {
+        DeveloperDto first = DeveloperDto.builder()
+                .id(1L).developerLevel(SENIOR).developerSkillType(FRONT_END)
+                .memberId("memberId1").build();
+        DeveloperDto second = DeveloperDto.builder()
+                .id(2L).developerLevel(JUNIOR).developerSkillType(FRONT_END)
+                .memberId("memberId2").build();
+        given(developerRepository.findDtosByStatusCodeAndIdGreaterThan(
+                eq(StatusCode.EMPLOYED), eq(0L), any()))
+                .willReturn(Arrays.asList(first, second));
+
+        //limit 만큼 꽉 찼으면 다음 페이지가 있을 수 있으므로 마지막 id를 cursor로
+        DeveloperPage page = dMakerService.getEmployedDevelopers(null, 2);
+        assertEquals(2, page.getDevelopers().size());
+        assertEquals("memberId1", page.getDevelopers().get(0).getMemberId());
+        assertEquals(2L, page.getNextCursor());
+
+        //limit보다 적게 왔으면 마지막 페이지
+        page = dMakerService.getEmployedDevelopers(null, 3);
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getEmployedDevelopersTest_from_roster() {
+        //roster snapshot이 준비되어 있으면 DB 조회 없이 snapshot에서
+        DeveloperPage rosterPage = DeveloperPage.builder()
+                .developers(Collections.emptyList())
+                .build();
+        given(employedDeveloperRoster.isReady()).willReturn(true);
+        given(employedDeveloperRoster.page(5L, 10)).willReturn(rosterPage);
 
-        given(developerRepository.save(any()))
+        assertSame(rosterPage, dMakerService.getEmployedDevelopers(5L, 10));
+        verify(developerRepository, never())
+                .findDtosByStatusCodeAndIdGreaterThan(any(), any(), any());
+    }
+
+    @Test
+    void getEmployedDevelopersTest_fail_invalid_limit() {
+        DMakerException dMakerException = assertThrows(DMakerException.class,
+                () -> dMakerService.getEmployedDevelopers(null, MAX_PAGE_LIMIT + 1)
+        );
+        assertEquals(DMakerErrorCode.INVALID_REQUEST, dMakerException.getDMakerErrorCode());
+    }
+
+    @Test
+    void searchDevelopersTest_retired_includes_archived() {
+        given(developerRepository.findAllByKeyset(eq(StatusCode.RETIRED), any(), eq(2L), eq(3)))
+                .willReturn(Arrays.asList(developerDto(3L), developerDto(7L)));
+        given(archivedDeveloperRepository.findAllByKeyset(any(), eq(2L), eq(3)))
+                .willReturn(Arrays.asList(developerDto(4L), developerDto(5L), developerDto(6L)));
+
+        DeveloperPage page = dMakerService.searchDevelopers(SearchDeveloper.Request.builder()
+                .status(StatusCode.RETIRED)
+                .after(2L)
+                .limit(3)
+                .build());
+
+        //두 테이블을 id 순서로 합쳐서 limit 개
+        assertEquals(Arrays.asList(3L, 4L, 5L), page.getDevelopers().stream()
+                .map(DeveloperDto::getId).collect(Collectors.toList()));
+        assertEquals(5L, page.getNextCursor());
+
+        //재직자 검색은 archive를 보지 않음
+        dMakerService.searchDevelopers(SearchDeveloper.Request.builder()
+                .status(StatusCode.EMPLOYED)
+                .build());
+        verify(archivedDeveloperRepository, times(1)).findAllByKeyset(any(), any(), anyInt());
+    }
+
+    @Test
+    void searchDevelopersTest_fail_invalid_years_range() {
+        DMakerException dMakerException = assertThrows(DMakerException.class,
+                () -> dMakerService.searchDevelopers(SearchDeveloper.Request.builder()
+                        .minYears(10)
+                        .maxYears(5)
+                        .build())
+        );
+        assertEquals(DMakerErrorCode.INVALID_REQUEST, dMakerException.getDMakerErrorCode());
+        verify(developerRepository, never()).findAllByKeyset(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void createDeveloperTest_success() {
+        //given
+        //중복 체크용 SELECT 없이 바로 저장
+        given(developerRepository.saveAndFlush(any()))
                 .willReturn(defaultDeveloper);
 
         //저장한 애를 capture
@@ -106,12 +284,23 @@ class DMakerServiceTest {
         //times: mockito에서 verify를 해줌.
         //특정 mock이 몇번 호출되었는지를 검증해줌.
         verify(developerRepository, times(1))
-                .save(captor.capture());
+                .saveAndFlush(captor.capture());
+        verify(developerRepository, never()).findByMemberId(anyString());
         //capture된 데이터 확인
         Developer saveDeveloper = captor.getValue();
         assertEquals(SENIOR, saveDeveloper.getDeveloperLevel());
         assertEquals(FRONT_END, saveDeveloper.getDeveloperSkillType());
         assertEquals(10, saveDeveloper.getExperienceYears());
+        //transaction 밖이므로 바로 roster에 반영하고 변경 이벤트도 내보냄
+        verify(employedDeveloperRoster, times(1)).apply(any());
+        verify(developerChangeLog).publish(eventsCaptor.capture());
+        DeveloperChangeEvent event = eventsCaptor.getValue().get(0);
+        assertEquals(1, eventsCaptor.getValue().size());
+        assertEquals(DeveloperChangeType.DEVELOPER_CREATED, event.getEventType());
+        assertEquals(SENIOR, event.getDeveloperLevel());
+        //이벤트는 저장된(saveAndFlush가 돌려준) entity 값으로 만듦
+        assertEquals(defaultDeveloper.getExperienceYears(), event.getExperienceYears());
+        assertEquals(defaultDeveloper.getVersion(), event.getVersion());
     }
 
     @Test
@@ -146,10 +335,11 @@ class DMakerServiceTest {
     @Test
     void createDeveloperTest_failed_with_duplicated() {
 
-        given(developerRepository.findByMemberId(anyString()))
-                .willReturn(Optional.of(defaultDeveloper));
-        ArgumentCaptor<Developer> captor =
-                ArgumentCaptor.forClass(Developer.class);
+        //memberId unique 제약조건 위반
+        given(developerRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("duplicated",
+                        new ConstraintViolationException("duplicated", null,
+                                "PUBLIC.UK_DEVELOPER_MEMBER_ID_INDEX_8 ON PUBLIC.DEVELOPER(MEMBER_ID)")));
 
         //when
         //then
@@ -165,4 +355,241 @@ class DMakerServiceTest {
         assertEquals(DMakerErrorCode.DUPLICATED_MEMBER_ID, dMakerException.getDMakerErrorCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    void createDeveloperTest_failed_with_other_integrity_violation() {
+        //memberId 제약조건이 아닌 다른 위반은 그대로 던짐
+        given(developerRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("not null"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> dMakerService.createDeveloper(
+                        getCreateRequest(SENIOR, FRONT_END, MIN_SENIOR_EXPERIENCE_YEARS)
+                )
+        );
+    }
+
+    @Test
+    void createDevelopersTest_partial_failure() {
+        //DB에 이미 있는 memberId
+        given(developerMemberIdRepository.findMemberIdsByMemberIdIn(any()))
+                .willReturn(Collections.singletonList("existing"));
+
+        BulkCreateDeveloper.Response response = dMakerService.createDevelopers(Arrays.asList(
+                getCreateRequest("ok", SENIOR, MIN_SENIOR_EXPERIENCE_YEARS),
+                getCreateRequest("level", JUNIOR, MAX_JUNIOR_EXPERIENCE_YEARS + 1),
+                getCreateRequest("existing", SENIOR, MIN_SENIOR_EXPERIENCE_YEARS),
+                getCreateRequest("ok", SENIOR, MIN_SENIOR_EXPERIENCE_YEARS)
+        ));
+
+        assertEquals(1, response.getSuccessCount());
+        assertEquals(3, response.getFailureCount());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals(DMakerErrorCode.LEVEL_EXPERIENCE_YEARS_NOT_MATCHED,
+                response.getResults().get(1).getErrorCode());
+        assertEquals(DMakerErrorCode.DUPLICATED_MEMBER_ID,
+                response.getResults().get(2).getErrorCode());
+        //같은 요청 안에서 중복
+        assertEquals(DMakerErrorCode.DUPLICATED_MEMBER_ID,
+                response.getResults().get(3).getErrorCode());
+
+        //성공한 항목만 한번에 저장
+        verify(developerRepository, times(1)).saveAllAndFlush(developersCaptor.capture());
+        assertEquals(1, developersCaptor.getValue().size());
+        assertEquals("ok", developersCaptor.getValue().get(0).getMemberId());
+    }
+
+    private EditDeveloper.Request getEditRequest() {
+        return EditDeveloper.Request.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(FRONT_END)
+                .experienceYears(15)
+                .build();
+    }
+
+    //transactionTemplate이 callback을 바로 실행하도록
+    private void givenTransactionTemplateRunsCallback() {
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation
+                        .<TransactionCallback<?>>getArgument(0)
+                        .doInTransaction(null));
+    }
+
+    @Test
+    void editDeveloperTest_fail_version_not_matched() {
+        givenTransactionTemplateRunsCallback();
+        defaultDeveloper.setVersion(3L);
+        given(developerRepository.findByMemberId(anyString()))
+                .willReturn(Optional.of(defaultDeveloper));
+
+        DMakerException dMakerException = assertThrows(DMakerException.class,
+                () -> dMakerService.editDeveloper("memberId", getEditRequest(), 2L));
+
+        assertEquals(DMakerErrorCode.PRECONDITION_FAILED, dMakerException.getDMakerErrorCode());
+        //수정 안됨
+        assertEquals(12, defaultDeveloper.getExperienceYears());
+        verify(developerRepository, never()).flush();
+    }
+
+    @Test
+    void editDeveloperTest_retry_without_if_match() {
+        givenTransactionTemplateRunsCallback();
+        given(developerRepository.findByMemberId(anyString()))
+                .willReturn(Optional.of(defaultDeveloper));
+        //처음 두번은 다른 요청과 충돌
+        willThrow(new ObjectOptimisticLockingFailureException(Developer.class, 1L))
+                .willThrow(new ObjectOptimisticLockingFailureException(Developer.class, 1L))
+                .willDoNothing()
+                .given(developerRepository).flush();
+
+        DeveloperDetailDto developerDetail =
+                dMakerService.editDeveloper("memberId", getEditRequest(), null);
+
+        assertEquals(15, developerDetail.getExperienceYears());
+        verify(transactionTemplate, times(MAX_EDIT_ATTEMPTS)).execute(any());
+    }
+
+    @Test
+    void editDeveloperTest_fail_retry_exhausted() {
+        givenTransactionTemplateRunsCallback();
+        given(developerRepository.findByMemberId(anyString()))
+                .willReturn(Optional.of(defaultDeveloper));
+        willThrow(new ObjectOptimisticLockingFailureException(Developer.class, 1L))
+                .given(developerRepository).flush();
+
+        DMakerException dMakerException = assertThrows(DMakerException.class,
+                () -> dMakerService.editDeveloper("memberId", getEditRequest(), null));
+
+        assertEquals(DMakerErrorCode.CONFLICTING_UPDATE, dMakerException.getDMakerErrorCode());
+        verify(transactionTemplate, times(MAX_EDIT_ATTEMPTS)).execute(any());
+    }
+
+    @Test
+    void deleteDeveloperTest_writes_outbox() {
+        defaultDeveloper.setMemberId("memberId");
+        given(developerRepository.findByMemberId(anyString()))
+                .willReturn(Optional.of(defaultDeveloper));
+        ArgumentCaptor<DeveloperOutbox> captor = ArgumentCaptor.forClass(DeveloperOutbox.class);
+
+        DeveloperDetailDto developerDetail = dMakerService.deleteDeveloper("memberId");
+
+        //RetiredDeveloper는 바로 만들지 않고 outbox에 기록만
+        assertEquals(StatusCode.RETIRED, developerDetail.getStatusCode());
+        verify(developerOutboxRepository).save(captor.capture());
+        assertEquals(OutboxEventType.DEVELOPER_RETIRED, captor.getValue().getEventType());
+        assertEquals("memberId", captor.getValue().getMemberId());
+        assertEquals("name", captor.getValue().getName());
+
+        //이미 퇴직한 경우 outbox에 또 쌓지 않음
+        dMakerService.deleteDeveloper("memberId");
+        verify(developerOutboxRepository, times(1)).save(any());
+    }
+
+    @Test
+    void retireDevelopersTest_set_based() {
+        given(developerRepository.findChangeRowsByMemberIdInAndStatusCode(any(), eq(StatusCode.EMPLOYED)))
+                .willReturn(Arrays.asList(changeRow(1L), changeRow(2L)));
+        given(developerRepository.updateStatusCodeByIdIn(any(), eq(StatusCode.RETIRED), any()))
+                .willReturn(2);
+
+        RetireDevelopers.Response response = dMakerService.retireDevelopers(
+                RetireDevelopers.Request.builder()
+                        .memberIds(Arrays.asList("memberId1", "memberId2", "memberId2", "nobody"))
+                        .build());
+
+        //중복 memberId는 한번만 셈
+        assertEquals(3, response.getRequestedCount());
+        assertEquals(2, response.getRetiredCount());
+        verify(developerOutboxRepository).insertEventsByDeveloperIdIn(
+                Arrays.asList(1L, 2L), OutboxEventType.DEVELOPER_RETIRED.name());
+        //entity를 하나씩 올리지 않음
+        verify(developerRepository, never()).findByMemberId(anyString());
+        verify(developerChangeLog).publish(eventsCaptor.capture());
+        DeveloperChangeEvent event = eventsCaptor.getValue().get(0);
+        assertEquals(2, eventsCaptor.getValue().size());
+        assertEquals(DeveloperChangeType.DEVELOPER_RETIRED, event.getEventType());
+        assertEquals(StatusCode.RETIRED, event.getStatusCode());
+        assertEquals(12, event.getExperienceYears());
+        //bulk UPDATE가 올린 version
+        assertEquals(1L, event.getVersion());
+    }
+
+    @Test
+    void editDevelopersTest_events_only_for_updated() {
+        //조회 조건(재직 중, 연차 범위, 값이 바뀜)에 맞는 개발자만 UPDATE/이벤트 대상
+        given(developerRepository.findChangeRowsToEdit(any(), eq(StatusCode.EMPLOYED),
+                eq(SENIOR), eq(BACK_END), anyInt(), anyInt()))
+                .willReturn(Collections.singletonList(changeRow(1L)));
+        given(developerRepository.updateLevelAndSkillTypeByIdIn(
+                eq(Collections.singletonList(1L)), eq(SENIOR), eq(BACK_END), any()))
+                .willReturn(1);
+
+        BulkEditDeveloper.Response response = dMakerService.editDevelopers(
+                BulkEditDeveloper.Request.builder()
+                        .memberIds(Arrays.asList("memberId1", "memberId2"))
+                        .developerLevel(SENIOR)
+                        .developerSkillType(BACK_END)
+                        .build());
+
+        assertEquals(1, response.getUpdatedCount());
+        verify(developerChangeLog).publish(eventsCaptor.capture());
+        assertEquals(1, eventsCaptor.getValue().size());
+        DeveloperChangeEvent event = eventsCaptor.getValue().get(0);
+        assertEquals(DeveloperChangeType.DEVELOPER_EDITED, event.getEventType());
+        assertEquals("memberId1", event.getMemberId());
+        assertEquals(BACK_END, event.getDeveloperSkillType());
+        //bulk UPDATE가 올린 version
+        assertEquals(1L, event.getVersion());
+    }
+
+    @Test
+    void editDevelopersTest_nothing_to_update() {
+        given(developerRepository.findChangeRowsToEdit(any(), any(), any(), any(), anyInt(), anyInt()))
+                .willReturn(Collections.emptyList());
+
+        BulkEditDeveloper.Response response = dMakerService.editDevelopers(
+                BulkEditDeveloper.Request.builder()
+                        .memberIds(Collections.singletonList("memberId1"))
+                        .developerLevel(SENIOR)
+                        .developerSkillType(BACK_END)
+                        .build());
+
+        assertEquals(0, response.getUpdatedCount());
+        verify(developerRepository, never()).updateLevelAndSkillTypeByIdIn(any(), any(), any(), any());
+        verify(developerChangeLog, never()).publish(any());
+    }
+
+    @Test
+    void pollDeveloperChangesTest_without_since_seq() throws Exception {
+        given(developerChangeLog.getLatestSeq()).willReturn(42L);
+
+        //sinceSeq가 없으면 기다리지 않고 지금 seq만
+        DeveloperChanges changes = dMakerService.pollDeveloperChanges(null, null).get();
+
+        assertTrue(changes.getEvents().isEmpty());
+        assertEquals(42L, changes.getNextSeq());
+        verify(developerChangeLog, never()).poll(anyLong(), anyInt());
+    }
+
+    private DeveloperDto developerDto(Long id) {
+        Developer developer = Developer.builder()
+                .id(id)
+                .developerLevel(SENIOR)
+                .developerSkillType(FRONT_END)
+                .memberId("memberId" + id)
+                .statusCode(StatusCode.EMPLOYED)
+                .version(0L)
+                .build();
+        return DeveloperDto.fromEntity(developer);
+    }
+
+    private CreateDeveloper.Request getCreateRequest(
+            String memberId,
+            DeveloperLevel developerLevel,
+            Integer experienceYears
+    ){
+        CreateDeveloper.Request request =
+                getCreateRequest(developerLevel, FRONT_END, experienceYears);
+        request.setMemberId(memberId);
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.repository.ArchivedDeveloperRepository;
+import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.ARCHIVED_COUNTER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeveloperArchiverTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_BATCHES_PER_RUN = 2;
+
+    @Mock
+    private DeveloperRepository developerRepository;
+    @Mock
+    private ArchivedDeveloperRepository archivedDeveloperRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DeveloperArchiver developerArchiver;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        developerArchiver = new DeveloperArchiver(developerRepository, archivedDeveloperRepository,
+                transactionTemplate, meterRegistry, Duration.ofDays(30), BATCH_SIZE,
+                Duration.ZERO, MAX_BATCHES_PER_RUN);
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void archive_stops_at_max_batches_per_run() {
+        LocalDateTime before = LocalDateTime.now();
+        //남은 대상이 계속 있어도 한번 돌 때 MAX_BATCHES_PER_RUN 까지만
+        given(developerRepository.findIdsForArchive(eq(StatusCode.RETIRED), eq(before), any()))
+                .willReturn(Arrays.asList(1L, 2L))
+                .willReturn(Arrays.asList(3L, 4L))
+                .willReturn(Arrays.asList(5L, 6L));
+        given(developerRepository.deleteByIdIn(anyList())).willReturn(BATCH_SIZE);
+
+        assertEquals(4, developerArchiver.archive(before));
+
+        verify(archivedDeveloperRepository).insertFromDeveloperByIdIn(Arrays.asList(1L, 2L));
+        verify(developerRepository).deleteByIdIn(Arrays.asList(3L, 4L));
+        verify(transactionTemplate, times(MAX_BATCHES_PER_RUN)).execute(any());
+        assertEquals(4.0, meterRegistry.get(ARCHIVED_COUNTER).counter().count());
+    }
+
+    @Test
+    void archive_stops_when_nothing_left() {
+        LocalDateTime before = LocalDateTime.now();
+        given(developerRepository.findIdsForArchive(eq(StatusCode.RETIRED), eq(before), any()))
+                .willReturn(Collections.emptyList());
+
+        assertEquals(0, developerArchiver.archive(before));
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+}
@@ -0,0 +1,86 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.code.DeveloperChangeType;
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.CHANGES_DELIVERED_COUNTER;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.CHANGES_DROPPED_COUNTER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeveloperChangeDispatcherTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeveloperChangeLog developerChangeLog =
+            new DeveloperChangeLog(8, Duration.ofSeconds(1));
+
+    //받은 batch 크기를 기록. failNext면 한번 실패
+    private final List<List<Long>> batches = new ArrayList<>();
+    private boolean failNext;
+
+    private DeveloperChangeDispatcher dispatcher(int batchSize) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("developerChangeSink", (DeveloperChangeSink) events -> {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("sink is down");
+            }
+            batches.add(events.stream().map(DeveloperChangeEvent::getSeq).collect(Collectors.toList()));
+        });
+        return new DeveloperChangeDispatcher(developerChangeLog,
+                beanFactory.getBeanProvider(DeveloperChangeSink.class), meterRegistry, batchSize);
+    }
+
+    private void publish(int count) {
+        developerChangeLog.publish(IntStream.range(0, count)
+                .mapToObj(i -> DeveloperChangeEvent.builder()
+                        .eventType(DeveloperChangeType.DEVELOPER_EDITED)
+                        .memberId("memberId" + i)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void deliversInBatches() {
+        DeveloperChangeDispatcher developerChangeDispatcher = dispatcher(2);
+        publish(5);
+
+        assertEquals(5, developerChangeDispatcher.dispatch());
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), batches);
+        assertEquals(5.0, meterRegistry.counter(CHANGES_DELIVERED_COUNTER).count());
+        //새 이벤트가 없으면 아무것도 안 넘김
+        assertEquals(0, developerChangeDispatcher.dispatch());
+    }
+
+    @Test
+    void retriesFailedBatch() {
+        DeveloperChangeDispatcher developerChangeDispatcher = dispatcher(2);
+        publish(3);
+        failNext = true;
+
+        assertThrows(IllegalStateException.class, developerChangeDispatcher::dispatch);
+        //실패한 batch부터 다시
+        assertEquals(3, developerChangeDispatcher.dispatch());
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L)), batches);
+    }
+
+    @Test
+    void dropsOverwrittenEvents() {
+        DeveloperChangeDispatcher developerChangeDispatcher = dispatcher(100);
+        //buffer 8개보다 많이 밀림 -> 앞의 4개는 덮어써짐
+        publish(12);
+
+        assertEquals(8, developerChangeDispatcher.dispatch());
+        assertEquals(List.of(LongStream.rangeClosed(5, 12).boxed().collect(Collectors.toList())), batches);
+        assertEquals(4.0, meterRegistry.counter(CHANGES_DROPPED_COUNTER).count());
+    }
+}
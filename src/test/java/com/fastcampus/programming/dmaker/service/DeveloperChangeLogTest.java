@@ -0,0 +1,95 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.code.DeveloperChangeType;
+import com.fastcampus.programming.dmaker.dto.DeveloperChangeEvent;
+import com.fastcampus.programming.dmaker.dto.DeveloperChanges;
+import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeveloperChangeLogTest {
+    private DeveloperChangeEvent event(String memberId) {
+        return DeveloperChangeEvent.builder()
+                .eventType(DeveloperChangeType.DEVELOPER_CREATED)
+                .memberId(memberId)
+                .build();
+    }
+
+    private List<String> memberIds(DeveloperChanges changes) {
+        return changes.getEvents().stream()
+                .map(DeveloperChangeEvent::getMemberId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void publishAndRead() {
+        DeveloperChangeLog developerChangeLog = new DeveloperChangeLog(4, Duration.ofSeconds(1));
+        developerChangeLog.publish(Arrays.asList(event("a"), event("b"), event("c")));
+
+        DeveloperChanges changes = developerChangeLog.read(0, 2);
+        assertEquals(Arrays.asList("a", "b"), memberIds(changes));
+        assertEquals(2L, changes.getNextSeq());
+
+        changes = developerChangeLog.read(changes.getNextSeq(), 2);
+        assertEquals(Arrays.asList("c"), memberIds(changes));
+        assertEquals(3L, changes.getNextSeq());
+
+        //더 없으면 빈 목록에 같은 seq
+        changes = developerChangeLog.read(3, 2);
+        assertTrue(changes.getEvents().isEmpty());
+        assertEquals(3L, changes.getNextSeq());
+    }
+
+    @Test
+    void overwrittenSeqIsExpired() {
+        DeveloperChangeLog developerChangeLog = new DeveloperChangeLog(4, Duration.ofSeconds(1));
+        developerChangeLog.publish(Arrays.asList(
+                event("a"), event("b"), event("c"), event("d"), event("e"), event("f")));
+
+        //1, 2는 덮어써짐 -> 2 다음부터는 읽을 수 있음
+        assertEquals(3L, developerChangeLog.getOldestSeq());
+        assertEquals(Arrays.asList("c", "d", "e", "f"), memberIds(developerChangeLog.read(2, 10)));
+        DMakerException expired = assertThrows(DMakerException.class,
+                () -> developerChangeLog.read(1, 10));
+        assertEquals(DMakerErrorCode.CHANGE_SEQ_EXPIRED, expired.getDMakerErrorCode());
+        //아직 없는 seq (재시작 전 seq 등)
+        expired = assertThrows(DMakerException.class,
+                () -> developerChangeLog.read(7, 10));
+        assertEquals(DMakerErrorCode.CHANGE_SEQ_EXPIRED, expired.getDMakerErrorCode());
+    }
+
+    @Test
+    void pollWaitsUntilPublish() throws Exception {
+        DeveloperChangeLog developerChangeLog = new DeveloperChangeLog(4, Duration.ofSeconds(5));
+
+        CompletableFuture<DeveloperChanges> future = developerChangeLog.poll(0, 10);
+        assertFalse(future.isDone());
+
+        developerChangeLog.publish(Arrays.asList(event("a")));
+        DeveloperChanges changes = future.get(1, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("a"), memberIds(changes));
+        assertEquals(1L, changes.getNextSeq());
+    }
+
+    @Test
+    void pollTimesOutWithEmptyChanges() throws Exception {
+        DeveloperChangeLog developerChangeLog = new DeveloperChangeLog(4, Duration.ofMillis(100));
+
+        DeveloperChanges changes = developerChangeLog.poll(0, 10).get(5, TimeUnit.SECONDS);
+
+        assertTrue(changes.getEvents().isEmpty());
+        assertEquals(0L, changes.getNextSeq());
+    }
+}
@@ -0,0 +1,139 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.DeveloperRecord;
+import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.fastcampus.programming.dmaker.type.DeveloperLevel.JUNIOR;
+import static com.fastcampus.programming.dmaker.type.DeveloperLevel.SENIOR;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.BACK_END;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.FRONT_END;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeveloperRecordCodecTest {
+    private final DeveloperRecordCodec developerRecordCodec =
+            new DeveloperRecordCodec(new ObjectMapper());
+
+    private DeveloperRecordCodec.RecordReader reader(
+            DeveloperRecordCodec.Format format, String content
+    ) throws IOException {
+        return developerRecordCodec.reader(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void readCsvByHeaderName() throws Exception {
+        //열 순서가 달라도, 빈 줄이 있어도 됨. age는 없어도 됨
+        DeveloperRecordCodec.RecordReader reader = reader(DeveloperRecordCodec.Format.CSV,
+                "experienceYears,developerLevel,developerSkillType,memberId,name\n"
+                        + "12,SENIOR,BACK_END,member1,\"Kim, \"\"Jr\"\"\"\n"
+                        + "\n"
+                        + "3,JUNIOR,FRONT_END,member2,Lee\n");
+
+        DeveloperRecord first = reader.next();
+        assertEquals("member1", first.getMemberId());
+        assertEquals("Kim, \"Jr\"", first.getName());
+        assertEquals(SENIOR, first.getDeveloperLevel());
+        assertEquals(12, first.getExperienceYears());
+        assertNull(first.getAge());
+
+        DeveloperRecord second = reader.next();
+        assertEquals("member2", second.getMemberId());
+        assertEquals(2, reader.getRecordNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void invalidRecordDoesNotStopReading() throws Exception {
+        DeveloperRecordCodec.RecordReader reader = reader(DeveloperRecordCodec.Format.CSV,
+                "memberId,name,age,developerLevel,developerSkillType,experienceYears\n"
+                        + "member1,name,30,MASTER,BACK_END,12\n"
+                        + "member2,name,thirty,SENIOR,BACK_END,12\n"
+                        + "member3,name,30,SENIOR,BACK_END,12\n");
+
+        DMakerException e = assertThrows(DMakerException.class, reader::next);
+        assertEquals(DMakerErrorCode.INVALID_IMPORT_RECORD, e.getDMakerErrorCode());
+        assertEquals(1, reader.getRecordNumber());
+        assertThrows(DMakerException.class, reader::next);
+        assertEquals("member3", reader.next().getMemberId());
+        assertEquals(3, reader.getRecordNumber());
+    }
+
+    @Test
+    void csvWithoutRequiredColumnsIsRejected() {
+        DMakerException e = assertThrows(DMakerException.class,
+                () -> reader(DeveloperRecordCodec.Format.CSV, "memberId,name\nmember1,name\n"));
+        assertEquals(DMakerErrorCode.INVALID_REQUEST, e.getDMakerErrorCode());
+    }
+
+    @Test
+    void invalidNdjsonLine() throws Exception {
+        DeveloperRecordCodec.RecordReader reader = reader(DeveloperRecordCodec.Format.NDJSON,
+                "{\"memberId\":\"member1\"\n"
+                        + "null\n"
+                        + "{\"memberId\":\"member2\",\"developerLevel\":\"JUNIOR\"}\n");
+
+        assertThrows(DMakerException.class, reader::next);
+        assertThrows(DMakerException.class, reader::next);
+        DeveloperRecord record = reader.next();
+        assertEquals("member2", record.getMemberId());
+        assertEquals(JUNIOR, record.getDeveloperLevel());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void csvUnterminatedQuotedValue() throws Exception {
+        DeveloperRecordCodec.RecordReader reader = reader(DeveloperRecordCodec.Format.CSV,
+                "memberId,name,age,developerLevel,developerSkillType,experienceYears\n"
+                        + "member1,\"Kim,30,SENIOR,BACK_END,12\n"
+                        + "member2,Lee,30,SENIOR,BACK_END,12\n");
+
+        DMakerException e = assertThrows(DMakerException.class, reader::next);
+        assertEquals(DMakerErrorCode.INVALID_IMPORT_RECORD, e.getDMakerErrorCode());
+        assertNull(reader.next());
+    }
+
+    //내보낸 파일을 그대로 다시 가져올 수 있음
+    @ParameterizedTest
+    @EnumSource(DeveloperRecordCodec.Format.class)
+    void writeAndReadBack(DeveloperRecordCodec.Format format) throws Exception {
+        DeveloperRecord first = new DeveloperRecord("member1", "Kim, \"Jr\"", 30, SENIOR, BACK_END, 12);
+        DeveloperRecord second = new DeveloperRecord("member2", "Lee", null, JUNIOR, FRONT_END, 3);
+        //값 안의 줄바꿈, 빈 줄도 한 행으로 다시 읽힘
+        DeveloperRecord third = new DeveloperRecord("member3", "Park\n\n\"PM\", ops", 40, SENIOR, BACK_END, 15);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DeveloperRecordCodec.RecordWriter writer = developerRecordCodec.writer(format, outputStream);
+        for (DeveloperRecord record : Arrays.asList(first, second, third)) writer.write(record);
+        writer.finish();
+
+        DeveloperRecordCodec.RecordReader reader = reader(format,
+                new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+        DeveloperRecord readFirst = reader.next();
+        assertEquals("Kim, \"Jr\"", readFirst.getName());
+        assertEquals(30, readFirst.getAge());
+        assertEquals(SENIOR, readFirst.getDeveloperLevel());
+        DeveloperRecord readSecond = reader.next();
+        assertEquals("member2", readSecond.getMemberId());
+        assertNull(readSecond.getAge());
+        assertEquals(3, readSecond.getExperienceYears());
+        DeveloperRecord readThird = reader.next();
+        assertEquals("member3", readThird.getMemberId());
+        assertEquals("Park\n\n\"PM\", ops", readThird.getName());
+        assertEquals(15, readThird.getExperienceYears());
+        assertEquals(3, reader.getRecordNumber());
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,78 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.dto.DeveloperStatsDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperStatsRowDto;
+import com.fastcampus.programming.dmaker.repository.ArchivedDeveloperRepository;
+import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.fastcampus.programming.dmaker.type.DeveloperLevel.SENIOR;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.BACK_END;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeveloperStatsServiceTest {
+    @Mock
+    private DeveloperRepository developerRepository;
+    @Mock
+    private ArchivedDeveloperRepository archivedDeveloperRepository;
+
+    private DeveloperStatsService developerStatsService;
+
+    @BeforeEach
+    void setUp() {
+        developerStatsService = new DeveloperStatsService(
+                developerRepository, archivedDeveloperRepository, new SimpleMeterRegistry(),
+                Duration.ofMinutes(1), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void getDeveloperStats_cached() {
+        given(developerRepository.countByLevelAndSkillTypeAndStatusCode())
+                .willReturn(Collections.singletonList(new DeveloperStatsRowDto(
+                        SENIOR, BACK_END, StatusCode.EMPLOYED, 3L, 12.5)));
+
+        DeveloperStatsDto first = developerStatsService.getDeveloperStats();
+        DeveloperStatsDto second = developerStatsService.getDeveloperStats();
+
+        assertEquals(3L, first.getStats().get(0).getHeadcount());
+        assertEquals(12.5, first.getStats().get(0).getAverageExperienceYears());
+        //refresh-after 전에는 DB를 다시 치지 않음
+        assertSame(first, second);
+        verify(developerRepository, times(1)).countByLevelAndSkillTypeAndStatusCode();
+    }
+
+    @Test
+    void getDeveloperStats_includesArchived() {
+        given(developerRepository.countByLevelAndSkillTypeAndStatusCode())
+                .willReturn(Arrays.asList(
+                        new DeveloperStatsRowDto(SENIOR, BACK_END, StatusCode.EMPLOYED, 3L, 12.0),
+                        new DeveloperStatsRowDto(SENIOR, BACK_END, StatusCode.RETIRED, 1L, 10.0)));
+        given(archivedDeveloperRepository.countByLevelAndSkillTypeAndStatusCode())
+                .willReturn(Collections.singletonList(
+                        new DeveloperStatsRowDto(SENIOR, BACK_END, StatusCode.RETIRED, 3L, 14.0)));
+
+        List<DeveloperStatsRowDto> stats = developerStatsService.getDeveloperStats().getStats();
+
+        assertEquals(2, stats.size());
+        assertEquals(3L, stats.get(0).getHeadcount());
+        //같은 그룹은 인원수를 더하고 평균은 인원수로 가중 평균: (10 * 1 + 14 * 3) / 4
+        assertEquals(4L, stats.get(1).getHeadcount());
+        assertEquals(13.0, stats.get(1).getAverageExperienceYears());
+    }
+}
@@ -0,0 +1,159 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.BulkCreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.CreateDeveloper;
+import com.fastcampus.programming.dmaker.dto.ImportDevelopers;
+import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.INVALID_IMPORT_RECORD;
+import static com.fastcampus.programming.dmaker.exception.DMakerErrorCode.LEVEL_EXPERIENCE_YEARS_NOT_MATCHED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeveloperTransferServiceTest {
+    private static final String HEADER =
+            "memberId,name,age,developerLevel,developerSkillType,experienceYears\n";
+
+    @Mock
+    private DMakerService dMakerService;
+
+    private DeveloperTransferService developerTransferService;
+    //chunk 마다 받은 memberId
+    private final List<List<String>> chunks = new ArrayList<>();
+    private final List<Long> checkpoints = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        developerTransferService = new DeveloperTransferService(dMakerService,
+                new DeveloperRecordCodec(new ObjectMapper()),
+                Validation.buildDefaultValidatorFactory().getValidator(), 2);
+    }
+
+    //연차가 레벨에 안 맞는 항목만 실패로 돌려주는 createDevelopers
+    private void givenCreateDevelopersChecksLevel() {
+        given(dMakerService.createDevelopers(anyList())).willAnswer(invocation -> {
+            List<CreateDeveloper.Request> requests = invocation.getArgument(0);
+            chunks.add(requests.stream()
+                    .map(CreateDeveloper.Request::getMemberId)
+                    .collect(Collectors.toList()));
+            return BulkCreateDeveloper.Response.fromResults(requests.stream()
+                    .map(request -> request.getDeveloperLevel()
+                            .matches(request.getExperienceYears())
+                            ? BulkCreateDeveloper.Result.success(CreateDeveloper.Response.builder()
+                                    .memberId(request.getMemberId()).build())
+                            : BulkCreateDeveloper.Result.failure(request.getMemberId(),
+                                    DMakerException.of(LEVEL_EXPERIENCE_YEARS_NOT_MATCHED)))
+                    .collect(Collectors.toList()));
+        });
+    }
+
+    private ImportDevelopers.Response importCsv(String rows, long resumeAfter) throws IOException {
+        return developerTransferService.importDevelopers(DeveloperRecordCodec.Format.CSV,
+                new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8)),
+                resumeAfter, checkpoints::add);
+    }
+
+    @Test
+    void importInChunks() throws Exception {
+        givenCreateDevelopersChecksLevel();
+
+        ImportDevelopers.Response response = importCsv(
+                "member1,name,30,SENIOR,BACK_END,12\n"
+                        //name이 너무 짧음 -> validation에서 걸러짐 (chunk에 안 들어감)
+                        + "member2,ab,30,SENIOR,BACK_END,12\n"
+                        + "member3,name,30,SENIOR,BACK_END,1\n"
+                        + "member4,name,30,JUNIOR,BACK_END,2\n"
+                        + "member5,name,30,JUNIOR,FRONT_END,3\n", 0);
+
+        assertTrue(response.isCompleted());
+        assertEquals(Arrays.asList(
+                Arrays.asList("member1", "member3"),
+                Arrays.asList("member4", "member5")), chunks);
+        assertEquals(3, response.getSuccessCount());
+        assertEquals(2, response.getFailureCount());
+        //실패한 행 번호가 파일의 행 번호와 맞음
+        assertEquals(2, response.getFailures().get(0).getRecordNumber());
+        assertEquals(INVALID_IMPORT_RECORD, response.getFailures().get(0).getErrorCode());
+        assertEquals(3, response.getFailures().get(1).getRecordNumber());
+        assertEquals(LEVEL_EXPERIENCE_YEARS_NOT_MATCHED, response.getFailures().get(1).getErrorCode());
+        //chunk가 commit될 때마다 checkpoint
+        assertEquals(Arrays.asList(3L, 5L), checkpoints);
+        assertEquals(5, response.getCheckpoint());
+    }
+
+    @Test
+    void resumeAfterCheckpoint() throws Exception {
+        givenCreateDevelopersChecksLevel();
+
+        ImportDevelopers.Response response = importCsv(
+                "member1,name,30,SENIOR,BACK_END,12\n"
+                        + "member2,name,30,SENIOR,BACK_END,12\n"
+                        + "member3,name,30,SENIOR,BACK_END,12\n", 2);
+
+        assertEquals(2, response.getSkippedCount());
+        assertEquals(1, response.getSuccessCount());
+        assertEquals(Arrays.asList(Arrays.asList("member3")), chunks);
+        assertEquals(3, response.getCheckpoint());
+    }
+
+    @Test
+    void stopAtFailedChunk() throws Exception {
+        given(dMakerService.createDevelopers(anyList()))
+                .willReturn(BulkCreateDeveloper.Response.fromResults(Arrays.asList(
+                        BulkCreateDeveloper.Result.success(CreateDeveloper.Response.builder()
+                                .memberId("member1").build()),
+                        BulkCreateDeveloper.Result.success(CreateDeveloper.Response.builder()
+                                .memberId("member2").build()))))
+                .willThrow(new IllegalStateException("db is down"));
+
+        ImportDevelopers.Response response = importCsv(
+                "member1,name,30,SENIOR,BACK_END,12\n"
+                        + "member2,name,30,SENIOR,BACK_END,12\n"
+                        + "member3,name,30,SENIOR,BACK_END,12\n"
+                        + "member4,name,30,SENIOR,BACK_END,12\n"
+                        + "member5,name,30,SENIOR,BACK_END,12\n", 0);
+
+        //첫 chunk까지만 반영 -> 2번 행 다음부터 다시
+        assertFalse(response.isCompleted());
+        assertEquals(2, response.getSuccessCount());
+        assertEquals(2, response.getCheckpoint());
+        verify(dMakerService, times(2)).createDevelopers(anyList());
+    }
+
+    @Test
+    void retryChunkRolledBackByConcurrentDuplicate() throws Exception {
+        given(dMakerService.createDevelopers(anyList()))
+                .willThrow(DMakerException.of(DMakerErrorCode.DUPLICATED_MEMBER_ID))
+                .willReturn(BulkCreateDeveloper.Response.fromResults(Arrays.asList(
+                        BulkCreateDeveloper.Result.failure("member1",
+                                DMakerException.of(DMakerErrorCode.DUPLICATED_MEMBER_ID)))));
+
+        ImportDevelopers.Response response = importCsv("member1,name,30,SENIOR,BACK_END,12\n", 0);
+
+        assertTrue(response.isCompleted());
+        assertEquals(1, response.getFailureCount());
+        verify(dMakerService, times(2)).createDevelopers(anyList());
+    }
+}
@@ -0,0 +1,218 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.code.StatusCode;
+import com.fastcampus.programming.dmaker.dto.DeveloperDto;
+import com.fastcampus.programming.dmaker.dto.DeveloperPage;
+import com.fastcampus.programming.dmaker.entity.Developer;
+import com.fastcampus.programming.dmaker.repository.DeveloperRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static com.fastcampus.programming.dmaker.type.DeveloperLevel.JUNIOR;
+import static com.fastcampus.programming.dmaker.type.DeveloperLevel.SENIOR;
+import static com.fastcampus.programming.dmaker.type.DeveloperSkillType.BACK_END;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class EmployedDeveloperRosterTest {
+    @Mock
+    private DeveloperRepository developerRepository;
+
+    @InjectMocks
+    private EmployedDeveloperRoster employedDeveloperRoster;
+
+    private Developer developer(Long id, StatusCode statusCode) {
+        return Developer.builder()
+                .id(id)
+                .developerLevel(SENIOR)
+                .developerSkillType(BACK_END)
+                .memberId("memberId" + id)
+                .statusCode(statusCode)
+                .version(0L)
+                .build();
+    }
+
+    private Developer developer(Long id, StatusCode statusCode, long version) {
+        Developer developer = developer(id, statusCode);
+        developer.setVersion(version);
+        return developer;
+    }
+
+    private void givenEmployedInDb(Developer... developers) {
+        given(developerRepository.findDtosByStatusCodeAndIdGreaterThan(
+                eq(StatusCode.EMPLOYED), eq(0L), any()))
+                .willReturn(Arrays.stream(developers)
+                        .map(DeveloperDto::fromEntity)
+                        .collect(Collectors.toList()));
+    }
+
+    private List<String> memberIds(DeveloperPage page) {
+        return page.getDevelopers().stream()
+                .map(developerDto -> developerDto.getMemberId())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void rebuildAndPage() {
+        assertFalse(employedDeveloperRoster.isReady());
+        givenEmployedInDb(developer(1L, StatusCode.EMPLOYED),
+                developer(3L, StatusCode.EMPLOYED),
+                developer(5L, StatusCode.EMPLOYED));
+
+        employedDeveloperRoster.rebuild();
+
+        assertTrue(employedDeveloperRoster.isReady());
+        DeveloperPage page = employedDeveloperRoster.page(null, 2);
+        assertEquals(Arrays.asList("memberId1", "memberId3"), memberIds(page));
+        assertEquals(3L, page.getNextCursor());
+
+        //cursor가 snapshot에 없는 id여도 그 다음부터
+        page = employedDeveloperRoster.page(2L, 2);
+        assertEquals(Arrays.asList("memberId3", "memberId5"), memberIds(page));
+
+        page = employedDeveloperRoster.page(3L, 2);
+        assertEquals(Collections.singletonList("memberId5"), memberIds(page));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void applyChanges() {
+        givenEmployedInDb(developer(1L, StatusCode.EMPLOYED),
+                developer(3L, StatusCode.EMPLOYED));
+        employedDeveloperRoster.rebuild();
+        DeveloperPage before = employedDeveloperRoster.page(null, 10);
+
+        Developer edited = developer(3L, StatusCode.EMPLOYED, 1L);
+        edited.setDeveloperLevel(JUNIOR);
+        employedDeveloperRoster.apply(Arrays.asList(
+                EmployedDeveloperRoster.RosterEntry.of(developer(2L, StatusCode.EMPLOYED)),
+                EmployedDeveloperRoster.RosterEntry.of(developer(1L, StatusCode.RETIRED, 1L)),
+                EmployedDeveloperRoster.RosterEntry.of(edited)
+        ));
+
+        DeveloperPage after = employedDeveloperRoster.page(null, 10);
+        assertEquals(Arrays.asList("memberId2", "memberId3"), memberIds(after));
+        //snapshot이 바뀌면 ETag도 바뀜. 안 바뀌었으면 같은 ETag
+        assertNotEquals(before.getETag(), after.getETag());
+        assertEquals(after.getETag(), employedDeveloperRoster.page(3L, 10).getETag());
+        assertEquals(JUNIOR, after.getDevelopers().get(1).getDeveloperLevel());
+        //이전에 읽어간 결과는 바뀌지 않음 (copy-on-write)
+        assertEquals(Arrays.asList("memberId1", "memberId3"), memberIds(before));
+        assertThrows(UnsupportedOperationException.class,
+                () -> after.getDevelopers().remove(0));
+    }
+
+    @Test
+    void eTagDependsOnlyOnContent() {
+        Developer edited = developer(3L, StatusCode.EMPLOYED, 1L);
+        givenEmployedInDb(developer(2L, StatusCode.EMPLOYED), edited);
+        employedDeveloperRoster.rebuild();
+        String loaded = employedDeveloperRoster.page(null, 10).getETag();
+
+        //재시작/다른 인스턴스: 같은 DB 내용이면 같은 ETag
+        EmployedDeveloperRoster otherInstance = new EmployedDeveloperRoster(developerRepository);
+        otherInstance.rebuild();
+        assertEquals(loaded, otherInstance.page(null, 10).getETag());
+
+        //변경을 반영해서 만든 snapshot도 DB에서 새로 읽은 것과 같은 ETag
+        givenEmployedInDb(developer(3L, StatusCode.EMPLOYED));
+        otherInstance.rebuild();
+        otherInstance.apply(Arrays.asList(
+                EmployedDeveloperRoster.RosterEntry.of(developer(2L, StatusCode.EMPLOYED)),
+                EmployedDeveloperRoster.RosterEntry.of(edited)));
+        assertEquals(loaded, otherInstance.page(null, 10).getETag());
+    }
+
+    @Test
+    void verifyRebuildsWhenInconsistent() {
+        givenEmployedInDb(developer(1L, StatusCode.EMPLOYED));
+        employedDeveloperRoster.rebuild();
+        assertTrue(employedDeveloperRoster.verify());
+
+        //다른 인스턴스에서 생성되어 apply()로 들어오지 않은 개발자
+        givenEmployedInDb(developer(1L, StatusCode.EMPLOYED),
+                developer(2L, StatusCode.EMPLOYED));
+        assertFalse(employedDeveloperRoster.verify());
+        assertEquals(2, employedDeveloperRoster.size());
+        assertTrue(employedDeveloperRoster.verify());
+    }
+
+    @Test
+    void olderChangesArrivingLateAreIgnored() {
+        givenEmployedInDb(developer(1L, StatusCode.EMPLOYED),
+                developer(2L, StatusCode.EMPLOYED));
+        employedDeveloperRoster.rebuild();
+
+        //T1(v1)과 T2(v2)가 차례로 commit 했지만 T2의 afterCommit이 먼저 불림
+        Developer secondEdit = developer(1L, StatusCode.EMPLOYED, 2L);
+        secondEdit.setDeveloperLevel(JUNIOR);
+        employedDeveloperRoster.apply(Collections.singletonList(
+                EmployedDeveloperRoster.RosterEntry.of(secondEdit)));
+        String eTag = employedDeveloperRoster.page(null, 10).getETag();
+
+        employedDeveloperRoster.apply(Collections.singletonList(
+                EmployedDeveloperRoster.RosterEntry.of(developer(1L, StatusCode.EMPLOYED, 1L))));
+        DeveloperPage page = employedDeveloperRoster.page(null, 10);
+        assertEquals(JUNIOR, page.getDevelopers().get(0).getDeveloperLevel());
+        assertEquals(eTag, page.getETag());
+
+        //퇴직(v1) 뒤에 늦게 온 수정(v1 이전)은 roster에 다시 넣지 않음
+        employedDeveloperRoster.apply(Collections.singletonList(
+                EmployedDeveloperRoster.RosterEntry.retired(2L, 1L)));
+        employedDeveloperRoster.apply(Collections.singletonList(
+                EmployedDeveloperRoster.RosterEntry.of(developer(2L, StatusCode.EMPLOYED, 1L))));
+        assertEquals(Collections.singletonList("memberId1"),
+                memberIds(employedDeveloperRoster.page(null, 10)));
+    }
+
+    @Test
+    void verifyWaitsForRunningReloadInsteadOfReportingConsistent() throws Exception {
+        givenEmployedInDb(developer(1L, StatusCode.EMPLOYED));
+        employedDeveloperRoster.rebuild();
+
+        //첫번째 verify가 DB를 읽는 동안 두번째 verify가 들어옴
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<DeveloperDto> changedInDb = Arrays.asList(
+                DeveloperDto.fromEntity(developer(1L, StatusCode.EMPLOYED)),
+                DeveloperDto.fromEntity(developer(2L, StatusCode.EMPLOYED)));
+        given(developerRepository.findDtosByStatusCodeAndIdGreaterThan(
+                eq(StatusCode.EMPLOYED), eq(0L), any()))
+                .willAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return changedInDb;
+                })
+                .willReturn(changedInDb);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<Boolean> first = executorService.submit(employedDeveloperRoster::verify);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<Boolean> second = executorService.submit(employedDeveloperRoster::verify);
+
+        //검사를 하지 않고 일치했다고 바로 돌려주지 않음
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertFalse(first.get(5, TimeUnit.SECONDS));
+        //첫번째가 맞춰놓은 snapshot과 DB를 다시 비교
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,88 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.dto.IdempotencyRecord;
+import com.fastcampus.programming.dmaker.exception.DMakerErrorCode;
+import com.fastcampus.programming.dmaker.exception.DMakerException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotentRequestExecutorTest {
+    private final InMemoryIdempotencyStore idempotencyStore =
+            new InMemoryIdempotencyStore(Duration.ofHours(1), 100);
+    private final IdempotentRequestExecutor idempotentRequestExecutor = new IdempotentRequestExecutor(
+            idempotencyStore, new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofSeconds(30));
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private ResponseEntity<String> execute(String idempotencyKey, String requestBody) {
+        return idempotentRequestExecutor.execute(idempotencyKey, "POST /test", requestBody,
+                String.class, () -> ResponseEntity.ok("result" + executions.incrementAndGet()));
+    }
+
+    @Test
+    void withoutKey_alwaysExecutes() {
+        execute(null, "body");
+        execute(null, "body");
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void failedRequest_canBeRetried() {
+        DMakerException exception = assertThrows(DMakerException.class, () ->
+                idempotentRequestExecutor.execute("key", "POST /test", "body", String.class,
+                        () -> { throw DMakerException.of(DMakerErrorCode.CONFLICTING_UPDATE); }));
+        assertEquals(DMakerErrorCode.CONFLICTING_UPDATE, exception.getDMakerErrorCode());
+
+        //실패는 저장하지 않으므로 다시 실행되고, 그 다음부터는 저장된 응답
+        assertEquals("result1", execute("key", "body").getBody());
+        assertEquals("result1", execute("key", "body").getBody());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void inProgress_rejectsUntilAbandoned() {
+        idempotencyStore.tryStart("key", idempotentRequestExecutor.fingerprint("POST /test", "body"));
+
+        DMakerException exception =
+                assertThrows(DMakerException.class, () -> execute("key", "body"));
+        assertEquals(DMakerErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS, exception.getDMakerErrorCode());
+
+        //in-progress-timeout보다 오래 처리 중이면 버려진 것으로 보고 다시 실행
+        idempotencyStore.complete("key", IdempotencyRecord.builder()
+                .fingerprint(idempotentRequestExecutor.fingerprint("POST /test", "body"))
+                .createdAt(LocalDateTime.now().minusMinutes(1))
+                .build());
+        assertEquals("result1", execute("key", "body").getBody());
+    }
+
+    @Test
+    void abandonedKey_isTakenOverOnlyOnce() {
+        IdempotencyRecord abandoned = IdempotencyRecord.builder()
+                .fingerprint(idempotentRequestExecutor.fingerprint("POST /test", "body"))
+                .createdAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+        idempotencyStore.complete("key", abandoned);
+
+        //같은 버려진 기록을 본 두 요청 중 먼저 이어받은 쪽만 성공
+        assertTrue(idempotencyStore.tryTakeOver("key", abandoned));
+        assertFalse(idempotencyStore.tryTakeOver("key", abandoned));
+
+        //이어받은 요청이 처리 중이므로 다른 요청은 거절
+        DMakerException exception =
+                assertThrows(DMakerException.class, () -> execute("key", "body"));
+        assertEquals(DMakerErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS, exception.getDMakerErrorCode());
+        assertEquals(0, executions.get());
+    }
+}
@@ -0,0 +1,109 @@
+package com.fastcampus.programming.dmaker.service;
+
+import com.fastcampus.programming.dmaker.code.OutboxEventType;
+import com.fastcampus.programming.dmaker.entity.DeveloperOutbox;
+import com.fastcampus.programming.dmaker.entity.RetiredDeveloper;
+import com.fastcampus.programming.dmaker.repository.DeveloperOutboxRepository;
+import com.fastcampus.programming.dmaker.repository.RetiredDeveloperRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.OUTBOX_LAG_GAUGE;
+import static com.fastcampus.programming.dmaker.constant.DMakerConstant.OUTBOX_PROCESSED_COUNTER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RetirementOutboxProcessorTest {
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private DeveloperOutboxRepository developerOutboxRepository;
+    @Mock
+    private RetiredDeveloperRepository retiredDeveloperRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RetirementOutboxProcessor retirementOutboxProcessor;
+
+    @BeforeEach
+    void setUp() {
+        retirementOutboxProcessor = new RetirementOutboxProcessor(developerOutboxRepository,
+                retiredDeveloperRepository, transactionTemplate, meterRegistry, BATCH_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransactionTemplateRunsCallback() {
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private DeveloperOutbox retired(String memberId) {
+        return DeveloperOutbox.builder()
+                .eventType(OutboxEventType.DEVELOPER_RETIRED)
+                .memberId(memberId)
+                .name("name")
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processPending_in_batches_and_skip_already_retired() {
+        givenTransactionTemplateRunsCallback();
+        List<DeveloperOutbox> firstBatch = Arrays.asList(retired("memberId1"), retired("memberId2"));
+        List<DeveloperOutbox> secondBatch = Collections.singletonList(retired("memberId3"));
+        given(developerOutboxRepository.findByOrderByIdAsc(any()))
+                .willReturn(firstBatch, secondBatch);
+        //memberId2는 이미 처리됨 (다른 인스턴스가 먼저 처리했거나 재시도)
+        given(retiredDeveloperRepository.findMemberIdsByMemberIdIn(any()))
+                .willReturn(Collections.singletonList("memberId2"), Collections.emptyList());
+        ArgumentCaptor<List<RetiredDeveloper>> captor = ArgumentCaptor.forClass(List.class);
+
+        //batch가 꽉 찼으면 한번 더, 덜 찼으면 종료
+        assertEquals(3, retirementOutboxProcessor.processPending());
+
+        verify(retiredDeveloperRepository, times(2)).saveAll(captor.capture());
+        assertEquals(Arrays.asList("memberId1", "memberId3"), captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(RetiredDeveloper::getMemberId)
+                .collect(Collectors.toList()));
+        //처리한 outbox는 건너뛴 것까지 모두 삭제
+        verify(developerOutboxRepository).deleteAllInBatch(firstBatch);
+        verify(developerOutboxRepository).deleteAllInBatch(secondBatch);
+        assertEquals(3.0, meterRegistry.get(OUTBOX_PROCESSED_COUNTER).counter().count());
+    }
+
+    @Test
+    void lag_from_oldest_pending() {
+        given(developerOutboxRepository.findByOrderByIdAsc(any()))
+                .willReturn(Collections.emptyList());
+        givenTransactionTemplateRunsCallback();
+        given(developerOutboxRepository.findOldestCreatedAt())
+                .willReturn(LocalDateTime.now().minusSeconds(30));
+        given(developerOutboxRepository.count()).willReturn(1L);
+
+        retirementOutboxProcessor.processPeriodically();
+
+        assertTrue(retirementOutboxProcessor.lag().compareTo(Duration.ofSeconds(30)) >= 0);
+        assertTrue(meterRegistry.get(OUTBOX_LAG_GAUGE).timeGauge().value() >= 30);
+    }
+}